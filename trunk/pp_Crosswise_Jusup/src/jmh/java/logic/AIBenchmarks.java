@@ -0,0 +1,115 @@
+package logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the AI: AI_Player.evaluateToBestTurn and the possible
+ * turn generators of all wildcards.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmarks {
+
+    /**
+     * Game phase of saved position
+     */
+    @Param({"early", "mid", "late"})
+    public String phase;
+
+    /**
+     * AI_Player to move
+     */
+    private AI_Player player;
+    /**
+     * gameBoard of position
+     */
+    private GameBoard board;
+    /**
+     * GameTiles of gameBoard
+     */
+    private GameTiles[][] actualBoard;
+
+    /**
+     * Loads saved position.
+     */
+    @Setup
+    public void setup() {
+        GameData gameData = BenchmarkPositions.load(phase);
+        board = new GameBoard(gameData.getField());
+        actualBoard = board.getGameBoard();
+        player = BenchmarkPositions.createCurrentPlayer(gameData);
+        player.setBoard(board);
+    }
+
+    /**
+     * Evaluates best turn of player to move. Second phase of 2-Phase
+     * wildcards is discarded, so every call evaluates again.
+     *
+     * @return best turn | null
+     */
+    @Benchmark
+    public PossibleTurn evaluateToBestTurn() {
+        PossibleTurn turn = player.evaluateToBestTurn(board);
+        player.resetSecondPhaseTurn();
+        return turn;
+    }
+
+    /**
+     * Gets all possible turns of REMOVER.
+     *
+     * @return possible turns
+     */
+    @Benchmark
+    public List<PossibleTurn> allWildcardTurns_REMOVER() {
+        return player.allWildcardTurns_REMOVER(0, actualBoard);
+    }
+
+    /**
+     * Gets all possible turns of MOVER.
+     *
+     * @return possible turns
+     */
+    @Benchmark
+    public List<PossibleTurn> allWildcardTurns_MOVER() {
+        return player.allWildcardTurns_MOVER(0, actualBoard);
+    }
+
+    /**
+     * Gets all possible turns of SWAPONBOARD.
+     *
+     * @return possible turns
+     */
+    @Benchmark
+    public List<PossibleTurn> allWildcardTurns_SWAPONBOARD() {
+        return player.allWildcardTurns_SWAPONBOARD(0, actualBoard);
+    }
+
+    /**
+     * Gets all possible turns of SWAPWITHHAND.
+     *
+     * @return possible turns
+     */
+    @Benchmark
+    public List<PossibleTurn> allWildcardTurns_SWAPWITHHAND() {
+        return player.allWildcardTurns_SWAPWITHHAND(actualBoard);
+    }
+}
@@ -0,0 +1,66 @@
+package logic;
+
+/**
+ * Fixtures of the benchmarks. Loads saved game positions of different game phases
+ * from src/jmh/positions and builds the logic instances of them.
+ * <p>
+ * Phases: early (6 GameTiles), mid (18 GameTiles) and late (28 GameTiles) on a
+ * 6 x 6 gameBoard, taken from a seeded AI self-play game.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+final class BenchmarkPositions {
+
+    /**
+     * Path of saved positions, relative to the project directory
+     */
+    private static final String POSITION_PATH = "src/jmh/positions/%s.json";
+
+    /**
+     * Utility Class, not to be instantiated.
+     */
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * Loads saved position of specified game phase.
+     *
+     * @param phase game phase (early, mid, late)
+     * @return GameData of position
+     */
+    static GameData load(String phase) {
+        GameData gameData = GameFileManager.loadGame(String.format(POSITION_PATH, phase));
+        if (gameData == null) {
+            throw new IllegalArgumentException("No saved position for phase <" + phase + ">");
+        }
+
+        return gameData;
+    }
+
+    /**
+     * Creates players of a position. Each player is an AI_Player of its team.
+     *
+     * @param gameData GameData of position
+     * @return players of position
+     */
+    static Player[] createPlayers(GameData gameData) {
+        PlayerData[] playerData = gameData.getPlayers();
+        Player[] players = new Player[playerData.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new AI_Player(playerData[i].getName(), playerData[i].isActive(), true,
+                    playerData[i].getHand(), Utilities.isVerticalTeam(i));
+        }
+
+        return players;
+    }
+
+    /**
+     * Creates AI_Player of the player to move of a position.
+     *
+     * @param gameData GameData of position
+     * @return AI_Player to move
+     */
+    static AI_Player createCurrentPlayer(GameData gameData) {
+        return (AI_Player) createPlayers(gameData)[gameData.getCurrPlayer()];
+    }
+}
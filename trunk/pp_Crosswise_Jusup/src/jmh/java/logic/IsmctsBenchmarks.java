@@ -0,0 +1,105 @@
+package logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the IsmctsSearch. Runs on a single thread and counts every
+ * playout as an operation, so the score is playouts per second per core.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class IsmctsBenchmarks {
+
+    /**
+     * Playouts per search
+     */
+    private static final int PLAYOUTS = 200;
+
+    /**
+     * Game phase of saved position
+     */
+    @Param({"early", "mid", "late"})
+    public String phase;
+
+    /**
+     * Search of player to move
+     */
+    private IsmctsSearch search;
+    /**
+     * gameBoard of position
+     */
+    private GameBoard board;
+    /**
+     * playerHand of player to move
+     */
+    private List<GameTiles> playerHand;
+    /**
+     * index of player to move
+     */
+    private int playerIdx;
+    /**
+     * number of GameTiles in the playerHand of each active player
+     */
+    private int[] handSizes;
+    /**
+     * usedWildcards of position
+     */
+    private int[] usedWildcards;
+
+    /**
+     * Loads saved position.
+     */
+    @Setup
+    public void setup() {
+        GameData gameData = BenchmarkPositions.load(phase);
+        Player[] players = BenchmarkPositions.createPlayers(gameData);
+
+        int activePlayers = 0;
+        while (activePlayers < players.length && players[activePlayers].isActive()) {
+            activePlayers++;
+        }
+        handSizes = new int[activePlayers];
+        for (int i = 0; i < activePlayers; i++) {
+            handSizes[i] = (int) players[i].getHand().stream().filter(tile -> tile != GameTiles.EMPTY).count();
+        }
+
+        board = new GameBoard(gameData.getField());
+        playerIdx = gameData.getCurrPlayer();
+        playerHand = players[playerIdx].getHand();
+        usedWildcards = gameData.getUsedActionTiles();
+        search = new IsmctsSearch(PLAYOUTS, Long.MAX_VALUE / 1_000_000L, 1L);
+    }
+
+    /**
+     * Searches best turn of player to move with a fixed number of playouts.
+     *
+     * @return most visited packed move
+     */
+    @Benchmark
+    @OperationsPerInvocation(PLAYOUTS)
+    public long search() {
+        return search.search(board, playerHand, playerIdx, handSizes, usedWildcards);
+    }
+}
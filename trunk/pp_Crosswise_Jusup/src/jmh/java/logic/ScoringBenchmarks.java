@@ -0,0 +1,102 @@
+package logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of scoring and gameBoard access: Game.calculatePoints,
+ * Game.getTilesPerSegment and GameBoard.getGameBoard.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmarks {
+
+    /**
+     * Game phase of saved position
+     */
+    @Param({"early", "mid", "late"})
+    public String phase;
+
+    /**
+     * Game of position
+     */
+    private Game game;
+    /**
+     * gameBoard of position
+     */
+    private GameBoard board;
+    /**
+     * Histograms of all rows and columns of position
+     */
+    private int[][] segments;
+
+    /**
+     * Loads saved position.
+     */
+    @Setup
+    public void setup() {
+        GameData gameData = BenchmarkPositions.load(phase);
+        game = new Game(gameData.getField(), BenchmarkPositions.createPlayers(gameData), new FakeGUI());
+        board = new GameBoard(gameData.getField());
+
+        int size = gameData.getField().length;
+        segments = new int[2 * size][];
+        for (int i = 0; i < size; i++) {
+            segments[i] = game.getTilesPerSegment(i, true);
+            segments[size + i] = game.getTilesPerSegment(i, false);
+        }
+    }
+
+    /**
+     * Scores all rows and columns.
+     *
+     * @param bh Blackhole
+     */
+    @Benchmark
+    public void calculatePoints(Blackhole bh) {
+        for (int[] segment : segments) {
+            bh.consume(Game.calculatePoints(segment));
+        }
+    }
+
+    /**
+     * Gets histograms of all rows and columns.
+     *
+     * @param bh Blackhole
+     */
+    @Benchmark
+    public void getTilesPerSegment(Blackhole bh) {
+        for (int i = 0; i < segments.length / 2; i++) {
+            bh.consume(game.getTilesPerSegment(i, true));
+            bh.consume(game.getTilesPerSegment(i, false));
+        }
+    }
+
+    /**
+     * Gets copy of gameBoard.
+     *
+     * @return gameBoard copy
+     */
+    @Benchmark
+    public GameTiles[][] getGameBoard() {
+        return board.getGameBoard();
+    }
+}
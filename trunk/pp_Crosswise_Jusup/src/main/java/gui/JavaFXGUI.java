@@ -2,6 +2,7 @@ package gui;
 
 import javafx.animation.PathTransition;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
@@ -416,7 +417,12 @@ public class JavaFXGUI implements GUIConnector {
         pause.play();
     }
 
-    @Override
+    /**
+     * Sets a combination of DragAndDrop Handlers to specified ImageView Source.
+     * Only used by the JavaFXGUI itself, therefore not part of GUIConnector.
+     *
+     * @param source ImageView to set DragAndDrop Handlers
+     */
     public void setSourceDragHandler(ImageView source) {
         Image image = source.getImage();
         GameTiles tile = Utilities.imageURLToGameTile(image.getUrl());
@@ -594,4 +600,9 @@ public class JavaFXGUI implements GUIConnector {
     public void createAlert(ErrorType errorType, String msg) {
         Utilities.createAlert(errorType, msg);
     }
+
+    @Override
+    public void runOnGUIThread(Runnable action) {
+        Platform.runLater(action);
+    }
 }
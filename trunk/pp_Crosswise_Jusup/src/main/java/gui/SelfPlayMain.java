@@ -0,0 +1,305 @@
+package gui;
+
+import logic.AI_Player;
+import logic.Game;
+import logic.GameEngine;
+import logic.GameStates;
+import logic.Player;
+import logic.RandomStreams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Command line entry point for simulating complete games between AI_Players without GUI.
+ * Games are distributed over a pool of worker threads. Each game gets its own GameEngine,
+ * whose RandomStreams are derived from the master seed and the game index, so a run is
+ * reproducible, regardless of the number of threads.
+ * <p>
+ * Usage: SelfPlayMain [--games N] [--threads N] [--seed N] [--size N] [--players 2|4]
+ * [--lookahead N] [--nodes N] [--budget MS]
+ * <p>
+ * With lookahead, team vertical looks N turns ahead within a node budget per turn,
+ * while team horizontal plays greedy. Allows comparing both strategies. An additional
+ * time budget per turn bounds the duration of a run, but its results depend on machine
+ * load and thread count and are no longer reproducible.
+ * <p>
+ * Reports win rates per team, frequency of WinOfSixes, used wildcards and games per second.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class SelfPlayMain {
+
+    /**
+     * Default number of games
+     */
+    private static final int DEFAULT_GAMES = 1000;
+    /**
+     * Default gameBoard size
+     */
+    private static final int DEFAULT_SIZE = 6;
+    /**
+     * Default number of active players
+     */
+    private static final int DEFAULT_PLAYERS = 4;
+    /**
+     * Default master seed
+     */
+    private static final long DEFAULT_SEED = 42;
+    /**
+     * Default node budget per lookahead turn
+     */
+    private static final long DEFAULT_NODES = 20_000;
+    /**
+     * Time budget per lookahead turn in ms without --budget, never reached in practice
+     */
+    static final long UNTIMED_BUDGET = TimeUnit.DAYS.toMillis(1);
+    /**
+     * Names of wildcards in order of usedWildcards
+     */
+    private static final String[] WILDCARD_NAMES = {"Remover", "Mover", "SwapOnBoard", "SwapWithHand"};
+
+
+    /**
+     * Parses arguments, simulates all games and prints the aggregated results.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String... args) {
+        int games = DEFAULT_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = DEFAULT_SEED;
+        int size = DEFAULT_SIZE;
+        int playerCount = DEFAULT_PLAYERS;
+        int lookahead = 0;
+        long nodes = DEFAULT_NODES;
+        long budget = UNTIMED_BUDGET;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--games" -> games = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--players" -> playerCount = Integer.parseInt(value);
+                    case "--lookahead" -> lookahead = Integer.parseInt(value);
+                    case "--nodes" -> nodes = Long.parseLong(value);
+                    case "--budget" -> budget = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+                i++;
+            }
+            if (games < 1 || threads < 1 || size < 1 || (playerCount != 2 && playerCount != 4)
+                    || lookahead < 0 || nodes < 1 || budget < 1) {
+                throw new IllegalArgumentException("Invalid argument value");
+            }
+        } catch (NumberFormatException e) {
+            printUsage("Invalid argument value");
+            return;
+        } catch (IllegalArgumentException e) {
+            printUsage(e.getMessage());
+            return;
+        }
+
+        long start = System.nanoTime();
+        Results results = simulate(games, threads, seed, size, playerCount, lookahead, nodes, budget);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Games:            %d (size %d, %d players, %d threads, seed %d)%n",
+                results.games, size, playerCount, threads, seed);
+        if (lookahead > 0 && budget == UNTIMED_BUDGET) {
+            System.out.printf("Lookahead:        team vertical %d turns, %d nodes per turn%n", lookahead, nodes);
+        } else if (lookahead > 0) {
+            System.out.printf("Lookahead:        team vertical %d turns, %d nodes and %d ms per turn%n",
+                    lookahead, nodes, budget);
+            System.out.println("                  time budget: results are not reproducible");
+        }
+        System.out.printf("Team Vertical:    %6.2f %%%n", percent(results.verticalWins, results.games));
+        System.out.printf("Team Horizontal:  %6.2f %%%n", percent(results.horizontalWins, results.games));
+        System.out.printf("Draw:             %6.2f %%%n", percent(results.draws, results.games));
+        System.out.printf("Win of Sixes:     %6.2f %%%n", percent(results.winsOfSixes, results.games));
+        for (int i = 0; i < WILDCARD_NAMES.length; i++) {
+            System.out.printf("%-17s %6.2f per game%n", WILDCARD_NAMES[i] + ":",
+                    (double) results.usedWildcards[i] / results.games);
+        }
+        System.out.printf("Games per second: %.1f%n", results.games / seconds);
+    }
+
+    /**
+     * Simulates games on a pool of worker threads. Every worker aggregates
+     * its own results, which are merged after all workers are done.
+     *
+     * @param games       number of games
+     * @param threads     number of worker threads
+     * @param seed        master seed
+     * @param size        gameBoard size
+     * @param playerCount number of active players
+     * @param lookahead   lookahead turns of team vertical | 0, for greedy play
+     * @param nodes       node budget per lookahead turn
+     * @param budget      time budget per lookahead turn in ms | UNTIMED_BUDGET, for reproducible results
+     * @return aggregated results
+     */
+    static Results simulate(int games, int threads, long seed, int size, int playerCount,
+                            int lookahead, long nodes, long budget) {
+        RandomStreams master = new RandomStreams(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicInteger nextGame = new AtomicInteger();
+        List<Future<Results>> workers = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            workers.add(pool.submit(() -> {
+                Results results = new Results();
+                int gameIdx;
+                while ((gameIdx = nextGame.getAndIncrement()) < games) {
+                    results.add(playGame(master.game(gameIdx), size, playerCount, lookahead, nodes, budget));
+                }
+                return results;
+            }));
+        }
+
+        Results total = new Results();
+        try {
+            for (Future<Results> worker : workers) {
+                total.merge(worker.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return total;
+    }
+
+    /**
+     * Plays a single game between AI_Players to its end.
+     *
+     * @param streams     RandomStreams of game
+     * @param size        gameBoard size
+     * @param playerCount number of active players
+     * @param lookahead   lookahead turns of team vertical | 0, for greedy play
+     * @param nodes       node budget per lookahead turn
+     * @param budget      time budget per lookahead turn in ms
+     * @return finished GameEngine
+     */
+    private static GameEngine playGame(RandomStreams streams, int size, int playerCount, int lookahead,
+                                       long nodes, long budget) {
+        Player[] players = new Player[Game.MAX_PLAYER_COUNT];
+        for (int i = 0; i < players.length; i++) {
+            //Players 0 and 2 play for team vertical, players 1 and 3 for team horizontal
+            AI_Player player = new AI_Player("AI_" + (i + 1), i < playerCount, true, i % 2 == 0);
+            if (i % 2 == 0) {
+                player.setLookahead(lookahead, nodes, budget);
+            }
+            players[i] = player;
+        }
+
+        GameEngine engine = new GameEngine(size, players, streams, null);
+        engine.playToEnd();
+        return engine;
+    }
+
+    /**
+     * Calculates a percentage.
+     *
+     * @param count count
+     * @param total total
+     * @return count in percent of total
+     */
+    private static double percent(long count, long total) {
+        return 100.0 * count / total;
+    }
+
+    /**
+     * Prints an error and the usage.
+     *
+     * @param error error message
+     */
+    private static void printUsage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: SelfPlayMain [--games N] [--threads N] [--seed N] [--size N] [--players 2|4]"
+                + " [--lookahead N] [--nodes N] [--budget MS]");
+    }
+
+    /**
+     * Aggregated results of simulated games. Not thread-safe, every worker has its own.
+     */
+    static final class Results {
+        /**
+         * Number of games
+         */
+        long games;
+        /**
+         * Number of games won by team vertical
+         */
+        long verticalWins;
+        /**
+         * Number of games won by team horizontal
+         */
+        long horizontalWins;
+        /**
+         * Number of draws
+         */
+        long draws;
+        /**
+         * Number of games ended by a WinOfSixes
+         */
+        long winsOfSixes;
+        /**
+         * Summed usedWildcards of all games
+         */
+        final long[] usedWildcards = new long[WILDCARD_NAMES.length];
+
+        /**
+         * Adds the result of a finished game.
+         *
+         * @param engine finished GameEngine
+         */
+        void add(GameEngine engine) {
+            games++;
+            GameStates state = engine.getState();
+            switch (state) {
+                case TEAM_VERTICAL -> verticalWins++;
+                case TEAM_HORIZONTAL -> horizontalWins++;
+                case DRAW -> draws++;
+                default -> throw new IllegalStateException("Game not finished: " + state);
+            }
+
+            if (engine.getTeamPoints(true) == Integer.MAX_VALUE || engine.getTeamPoints(false) == Integer.MAX_VALUE) {
+                winsOfSixes++;
+            }
+
+            int[] wildcards = engine.getUsedWildcards();
+            for (int i = 0; i < usedWildcards.length; i++) {
+                usedWildcards[i] += wildcards[i];
+            }
+        }
+
+        /**
+         * Merges results of another worker.
+         *
+         * @param other results of another worker
+         */
+        void merge(Results other) {
+            games += other.games;
+            verticalWins += other.verticalWins;
+            horizontalWins += other.horizontalWins;
+            draws += other.draws;
+            winsOfSixes += other.winsOfSixes;
+            for (int i = 0; i < usedWildcards.length; i++) {
+                usedWildcards[i] += other.usedWildcards[i];
+            }
+        }
+    }
+}
@@ -44,15 +44,11 @@ public class UserInterfaceController implements Initializable {
      */
     private static final int BOARD_GRID_SIZE = 6;
     /**
-     * Constant: HandSize.
-     *
-     * <Experimental>
-     * Can be increased here (eg. 10, 50, 100)
+     * Constant: HandSize. Defined by the game logic, see Game.HAND_SIZE.
      * If HAND_SIZE is bigger than MAX_HAND_SIZE_FIT, Hand becomes
      * scrollable.
-     * </Experimental>
      */
-    public static final int HAND_SIZE = 4;
+    public static final int HAND_SIZE = Game.HAND_SIZE;
     /**
      * <Experimental>
      * Constant: MaxHandSizeFit
@@ -66,8 +62,9 @@ public class UserInterfaceController implements Initializable {
     private static final int CELL_GAP = 0;
     /**
      * Constant: MAX_PLAYER_COUNT: Maximal number of players.
+     * Defined by the game logic, see Game.MAX_PLAYER_COUNT.
      */
-    public static final int MAX_PLAYER_COUNT = 4;
+    public static final int MAX_PLAYER_COUNT = Game.MAX_PLAYER_COUNT;
 
 
     /**
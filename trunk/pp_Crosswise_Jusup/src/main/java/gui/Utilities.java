@@ -7,7 +7,7 @@ import logic.GameTiles;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Utilities for the gui package. Contains helpful utility methods
@@ -27,6 +27,12 @@ public final class Utilities {
      */
     private static final Map<String, GameTiles> gameTilesURLMap = new HashMap<>();
 
+    /**
+     * Randomizer of random Images. Only used by the GUI thread,
+     * so a single instance is shared by all calls.
+     */
+    private static final SplittableRandom IMAGE_RANDOM = new SplittableRandom();
+
 
     /**
      * Initializes all Maps, that contains Images. Must only be called, when
@@ -97,7 +103,7 @@ public final class Utilities {
      * @return random GameTile Image
      */
     static Image getRandomImage() {
-        return switch (new Random().nextInt(0, 8)) {
+        return switch (IMAGE_RANDOM.nextInt(0, 8)) {
             case 0 -> gameTilesImageMap.get(GameTiles.T_SUN);
             case 1 -> gameTilesImageMap.get(GameTiles.T_CROSS);
             case 2 -> gameTilesImageMap.get(GameTiles.T_TRIANGLE);
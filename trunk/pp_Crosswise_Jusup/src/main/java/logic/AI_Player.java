@@ -3,12 +3,11 @@ package logic;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +34,11 @@ import java.util.stream.Collectors;
  */
 public class AI_Player extends Player {
 
+    /**
+     * Deadline of an evaluation without time control
+     */
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
     /**
      * Team Flag for the AI to know, which team it's assigned to.
      */
@@ -42,16 +46,56 @@ public class AI_Player extends Player {
     /**
      * GameBoard Instance, only for analyzing the gameBoard.
      * Never manipulates the gameBoard by setting or removing
-     * a gameTile. All board manipulation happens locally on
-     * board copies.
+     * a gameTile. Possible turns are scored via TurnScorer.
+     * The lookahead only applies and reverts turns temporarily.
      */
     private GameBoard board;
+    /**
+     * Delta scorer of possible turns on current board
+     */
+    private TurnScorer scorer;
+    /**
+     * Generator of packed moves, buffer is reused between decisions
+     */
+    private MoveGenerator generator;
+    /**
+     * Expectimax lookahead | null, if AI plays greedy
+     */
+    private ExpectimaxSearch search;
+    /**
+     * Transposition table of the lookahead | null, if positions are not remembered
+     */
+    private TranspositionTable table;
+    /**
+     * Exact solver of the endgame | null, if the endgame is played like the rest of the game
+     */
+    private EndgameSolver endgameSolver;
+    /**
+     * Deadline of the current evaluation, checked while wildcard turns are generated
+     */
+    private long turnDeadline = NO_DEADLINE;
     /**
      * Second Phase Flag for 2-Phase Wildcard turns.
      * 2-Phase Wildcard turns are 2 separate turns and
      * must be returned separately.
      */
     private PossibleTurn secondPhaseTurn;
+    /**
+     * Key of the position of the cached decision: gameBoard, playerHand multiset and team
+     */
+    private long cachedKey;
+    /**
+     * gameBoard size of cached decision
+     */
+    private int cachedSize;
+    /**
+     * playerHand of cached decision | null, if no decision is cached
+     */
+    private List<GameTiles> cachedHand;
+    /**
+     * Cached decision, before it is split into phases | null, if no turn was possible
+     */
+    private PossibleTurn cachedTurn;
 
 
     /**
@@ -81,6 +125,71 @@ public class AI_Player extends Player {
         this.isVerticalTeam = isVerticalTeam;
     }
 
+    /**
+     * Configures lookahead of the AI. Without lookahead, the AI plays greedy and maximizes
+     * the points of the current turn. With lookahead, the AI searches the following turns
+     * of the other players via ExpectimaxSearch within the specified budgets. If the budget
+     * is exhausted before any turn is searched completely, the greedy turn is played.
+     *
+     * @param plies      turns of other players to look ahead | 0, for greedy play
+     * @param nodeBudget maximal number of evaluated positions per turn
+     * @param timeBudget maximal time per turn in ms
+     */
+    public void setLookahead(int plies, long nodeBudget, long timeBudget) {
+        setLookahead(plies, nodeBudget, timeBudget, null);
+    }
+
+    /**
+     * Configures lookahead of the AI, which splits the turns to search across a ForkJoinPool.
+     * A lookahead, which completes within its budgets, plays the same turn as a sequential one.
+     *
+     * @param plies      turns of other players to look ahead | 0, for greedy play
+     * @param nodeBudget maximal number of evaluated positions per turn, for all threads
+     * @param timeBudget maximal time per turn in ms
+     * @param pool       pool of the lookahead | null, for a sequential lookahead
+     */
+    public void setLookahead(int plies, long nodeBudget, long timeBudget, ForkJoinPool pool) {
+        search = plies > 0 ? new ExpectimaxSearch(isVerticalTeam, plies + 1, nodeBudget, timeBudget, pool) : null;
+        if (search != null) {
+            search.setTranspositionTable(table);
+        }
+        clearCachedTurn();
+    }
+
+    /**
+     * Sets transposition table of the lookahead. The table keeps the values of searched
+     * positions across turns, including the lookahead of game evaluations.
+     *
+     * @param table transposition table | null, if positions should not be remembered
+     */
+    public void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+        if (search != null) {
+            search.setTranspositionTable(table);
+        }
+        clearCachedTurn();
+    }
+
+    /**
+     * Sets exact solver of the endgame. Once the tileBag is exhausted, a GameEngine lets
+     * the solver decide, as long as it completes within its budgets.
+     *
+     * @param endgameSolver endgame solver | null, if the endgame should be played like the rest of the game
+     */
+    public void setEndgameSolver(EndgameSolver endgameSolver) {
+        this.endgameSolver = endgameSolver;
+        clearCachedTurn();
+    }
+
+    /**
+     * endgameSolver Getter.
+     *
+     * @return endgame solver | null, if none is set
+     */
+    EndgameSolver getEndgameSolver() {
+        return endgameSolver;
+    }
+
     /**
      * board Setter. Just for testing purposes.
      *
@@ -112,6 +221,56 @@ public class AI_Player extends Player {
      * @return Single optimal turn | If not possible -> null
      */
     PossibleTurn evaluateToBestTurn(GameBoard gameBoard) {
+        return evaluateToBestTurn(gameBoard, NO_DEADLINE);
+    }
+
+    /**
+     * Checks, if the AI is able to make any turn. Stops at the first possible turn
+     * instead of evaluating all of them. Equivalent to evaluateToBestTurn not returning null.
+     *
+     * @param gameBoard gameBoard Instance to check
+     * @return AI can make a turn -> TRUE
+     */
+    boolean hasAnyTurn(GameBoard gameBoard) {
+        if (secondPhaseTurn != null) {
+            return true;
+        } else if (gameBoard.isFull()) {
+            return false;
+        }
+
+        int usedSpaces = gameBoard.usedSpaces();
+        for (int i = 0; i < getHandSize(); i++) {
+            GameTiles tile = getGameTileAt(i);
+
+            //Standard GameTiles fit on any free cell, wildcards need GameTiles on gameBoard
+            boolean possible = switch (tile) {
+                case EMPTY -> false;
+                case WC_REMOVER, WC_MOVER -> usedSpaces > 0;
+                case WC_SWAPONBOARD -> usedSpaces > 1;
+                //Only possible with a standard GameTile in hand, which can be placed anyway
+                case WC_SWAPWITHHAND -> false;
+                default -> true;
+            };
+            if (possible) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Evaluates the optimal AI Turn within a deadline of the caller (time-controlled mode).
+     * The greedy turn of all standard GameTiles is always evaluated first, wildcard turns
+     * are only added while the deadline has not passed. Afterwards, the lookahead deepens
+     * iteratively and replaces the turn by the best one of its deepest completed iteration.
+     * Search and turn generation check the deadline on their own, nothing is interrupted.
+     *
+     * @param gameBoard gameBoard Instance to evaluate best turn on
+     * @param deadline  deadline as System.nanoTime() value | NO_DEADLINE, for a full evaluation
+     * @return Single optimal turn | If not possible -> null
+     */
+    PossibleTurn evaluateToBestTurn(GameBoard gameBoard, long deadline) {
         //Early returns, if secondPhaseTurn exists or gameBoard is already full
         if (secondPhaseTurn != null) {
             PossibleTurn secondPhase = secondPhaseTurn;
@@ -122,22 +281,173 @@ public class AI_Player extends Player {
         }
 
         this.board = gameBoard;
+
+        //Full evaluations of an equal position are only made once, even on a copy of the gameBoard
+        List<GameTiles> playerHand = this.getHandView();
+        long key = gameBoard.getZobristKey() ^ Zobrist.handKey(playerHand)
+                ^ Zobrist.sideToMoveKey(isVerticalTeam ? 0 : 1);
+        PossibleTurn finalTurn;
+        if (deadline == NO_DEADLINE && cachedHand != null
+                && key == cachedKey && gameBoard.getSize() == cachedSize) {
+            finalTurn = remapHandSlot(cachedTurn, playerHand);
+        } else {
+            finalTurn = getFinalTurn(gameBoard, deadline);
+            //Interrupted evaluations may be incomplete and are not cached
+            if (deadline == NO_DEADLINE && !Thread.currentThread().isInterrupted()) {
+                cachedKey = key;
+                cachedSize = gameBoard.getSize();
+                cachedHand = this.getHand();
+                cachedTurn = finalTurn;
+            }
+        }
+
+        //Differentiate between 1- and 2-Phase Turns
+        if (finalTurn != null && finalTurn.hasSecondPhase()) {
+            //2-Phase Turn
+
+            boolean keepInHand = finalTurn.wildcard().equals(GameTiles.WC_MOVER) ||
+                    finalTurn.wildcard().equals(GameTiles.WC_SWAPONBOARD);
+
+            //Store 2. Phase use it next time
+            secondPhaseTurn = new PossibleTurn(
+                    finalTurn.pos(),
+                    finalTurn.toPlace(),
+                    keepInHand ? null : finalTurn.handSlot(),
+                    finalTurn.lastPosition(),
+                    finalTurn.toSwap(),
+                    finalTurn.points_team(),
+                    finalTurn.points_opponent(),
+                    finalTurn.points_team_gain(),
+                    false,
+                    null
+            );
+
+            //Return 1. Phase Turn
+            GameTiles tile = this.getGameTileAt(finalTurn.handSlot());
+            return new PossibleTurn(
+                    finalTurn.pos(),
+                    finalTurn.wildcard() == null ? tile : finalTurn.wildcard(),
+                    finalTurn.handSlot(),
+                    finalTurn.lastPosition(),
+                    finalTurn.toSwap(),
+                    finalTurn.points_team(),
+                    finalTurn.points_opponent(),
+                    finalTurn.points_team_gain(),
+                    finalTurn.hasSecondPhase(),
+                    finalTurn.wildcard());
+        } else {
+            //1-Phase Turn
+            return finalTurn;
+        }
+    }
+
+
+    /**
+     * Checks, if the deadline of the current evaluation has passed.
+     *
+     * @return deadline passed -> TRUE | no deadline -> FALSE
+     */
+    private boolean isPastDeadline() {
+        return turnDeadline != NO_DEADLINE && System.nanoTime() - turnDeadline > 0;
+    }
+
+    /**
+     * Discards the cached decision, e.g. after the configuration of the AI changed.
+     */
+    private void clearCachedTurn() {
+        cachedHand = null;
+        cachedTurn = null;
+    }
+
+    /**
+     * Maps the handSlot of a cached decision onto the current playerHand. An equal
+     * multiset of GameTiles may be ordered differently than the cached playerHand.
+     *
+     * @param turn       cached decision | null
+     * @param playerHand current playerHand
+     * @return decision with handSlot of its GameTile in current playerHand
+     */
+    private PossibleTurn remapHandSlot(PossibleTurn turn, List<GameTiles> playerHand) {
+        if (turn == null || turn.handSlot() == null) {
+            return turn;
+        }
+
+        GameTiles tile = cachedHand.get(turn.handSlot());
+        if (playerHand.get(turn.handSlot()) == tile) {
+            return turn;
+        }
+
+        return new PossibleTurn(turn.pos(), turn.toPlace(), this.indexOfGameTile(tile), turn.lastPosition(),
+                turn.toSwap(), turn.points_team(), turn.points_opponent(), turn.points_team_gain(),
+                turn.hasSecondPhase(), turn.wildcard());
+    }
+
+    /**
+     * Evaluates final Turn, either greedy or by lookahead.
+     *
+     * @param gameBoard gameBoard Instance to evaluate best turn on
+     * @param deadline  deadline as System.nanoTime() value | NO_DEADLINE
+     * @return final Turn, before it is split into phases | If not possible -> null
+     */
+    private PossibleTurn getFinalTurn(GameBoard gameBoard, long deadline) {
+        //Packed moves only fit gameBoards up to MoveGenerator.MAX_SIZE
+        turnDeadline = deadline;
+        PossibleTurn finalTurn = MoveGenerator.supports(gameBoard.getSize())
+                ? getFinalTurn_packed(deadline)
+                : getFinalTurn_list(deadline);
+        turnDeadline = NO_DEADLINE;
+
+        //Lookahead replaces greedy turn, if search completes in budget
+        if (finalTurn != null && search != null && MoveGenerator.supports(gameBoard.getSize())) {
+            long move = deadline == NO_DEADLINE
+                    ? search.search(gameBoard, getScorer(), this.getHandView())
+                    : search.searchIterative(gameBoard, getScorer(), this.getHandView(), deadline);
+            if (move != ExpectimaxSearch.NO_MOVE) {
+                finalTurn = MoveGenerator.toPossibleTurn(move);
+            }
+        }
+
+        return finalTurn;
+    }
+
+    /**
+     * Evaluates all possible Turns to a single final Turn by building Lists of
+     * PossibleTurns. Used for gameBoards, which are too big for packed moves.
+     * <p>
+     * With a deadline, standard GameTiles are evaluated first. Wildcard turns are
+     * only generated until the deadline, like in getFinalTurn_packed. Without any turn
+     * yet, a wildcard is evaluated regardless of the deadline, so a turn is always found.
+     *
+     * @param deadline deadline as System.nanoTime() value | NO_DEADLINE
+     * @return final Turn | If not possible -> null
+     */
+    private PossibleTurn getFinalTurn_list(long deadline) {
         List<PossibleTurn> possibleTurns = new ArrayList<>();
+        boolean timed = deadline != NO_DEADLINE;
 
         //Get optimal Turn of each GameTile in AI playerHand::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
 
         //Iterate through own playerHand & reduce to 4 optimal Turns
         //There is only one optimal turn per handItem
-        List<GameTiles> playerHand = this.getHand();
-        for (int i = 0; i < playerHand.size(); i++) {
-            GameTiles tile = playerHand.get(i);
-
-            //In lateGame, there can be EMPTY GameTiles in hand
-            if (tile != GameTiles.EMPTY) {
-                if (GameTiles.isStandardGameTile(tile)) {
-                    possibleTurns.addAll(getAllTurns_basic(tile, i));
-                } else if (GameTiles.isWildcard(tile)) {
-                    possibleTurns.addAll(getTurns_wildcard(tile, i));
+        List<GameTiles> playerHand = this.getHandView();
+        for (int pass = 0; pass < (timed ? 2 : 1); pass++) {
+            for (int i = 0; i < playerHand.size(); i++) {
+                GameTiles tile = playerHand.get(i);
+
+                //Timed: standard GameTiles in first pass, wildcards in second pass until deadline
+                //Without any turn yet, the deadline is ignored
+                turnDeadline = possibleTurns.isEmpty() ? NO_DEADLINE : deadline;
+                if (timed && (GameTiles.isWildcard(tile) != (pass == 1) || (pass == 1 && isPastDeadline()))) {
+                    continue;
+                }
+
+                //In lateGame, there can be EMPTY GameTiles in hand
+                if (tile != GameTiles.EMPTY) {
+                    if (GameTiles.isStandardGameTile(tile)) {
+                        possibleTurns.addAll(getAllTurns_basic(tile, i));
+                    } else if (GameTiles.isWildcard(tile)) {
+                        possibleTurns.addAll(getTurns_wildcard(tile, i));
+                    }
                 }
             }
         }
@@ -164,18 +474,18 @@ public class AI_Player extends Player {
                     //Consider Points of Position, where Tile is moved from, NOT where it's moved to
 
                     //Detect opponent WinOfSixes Hazard
-                    if (Game.calculatePoints(getTilesPerSegment(
+                    if (board.hasSixesThreat(
                             isVerticalTeam ? possibleTurn.lastPosition().row() : possibleTurn.lastPosition().column(),
-                            !isVerticalTeam, gameBoard.getGameBoard())) == 7) {
+                            !isVerticalTeam)) {
 
                         //Prevent Win on Sixes
                         if (possibleTurn.points_opponent() <= 7) {
                             //Possible Win of Sixes for opponent Team was prevented due to points staying the same
                             //Segment of opponent is now full of GameTiles
 
-                            if (board.getGameTileOccurrencesAtSegment(
+                            if (board.getTileCountAtSegment(possibleTurn.toPlace(),
                                     isVerticalTeam ? possibleTurn.pos().row() : possibleTurn.pos().column(),
-                                    !isVerticalTeam).get(possibleTurn.toPlace()) == 0) {
+                                    !isVerticalTeam) == 0) {
 
                                 sixesTurn = possibleTurn;
 
@@ -185,18 +495,18 @@ public class AI_Player extends Player {
                 } else {
 
                     //Detect opponent WinOfSixes Hazard
-                    if (Game.calculatePoints(getTilesPerSegment(
+                    if (board.hasSixesThreat(
                             isVerticalTeam ? possibleTurn.pos().row() : possibleTurn.pos().column(),
-                            !isVerticalTeam, gameBoard.getGameBoard())) == 7) {
+                            !isVerticalTeam)) {
 
                         //Prevent Win on Sixes
                         if (possibleTurn.points_opponent() <= 7) {
                             //Possible Win of Sixes for opponent Team was prevented due to points staying the same
                             //Segment of opponent is now full of GameTiles
 
-                            if (board.getGameTileOccurrencesAtSegment(
+                            if (board.getTileCountAtSegment(possibleTurn.toPlace(),
                                     isVerticalTeam ? possibleTurn.pos().row() : possibleTurn.pos().column(),
-                                    !isVerticalTeam).get(possibleTurn.toPlace()) == 0) {
+                                    !isVerticalTeam) == 0) {
 
                                 sixesTurn = possibleTurn;
 
@@ -238,48 +548,221 @@ public class AI_Player extends Player {
 
 
         //Handle Possibility, that no turn is possible or that there are multiple final Turns
-        PossibleTurn finalTurn = finalTurns.isEmpty() ? null : finalTurns.get(0);
+        return finalTurns.isEmpty() ? null : finalTurns.get(0);
+    }
 
-        //Differentiate between 1- and 2-Phase Turns
-        if (finalTurn != null && finalTurn.hasSecondPhase()) {
-            //2-Phase Turn
+    /**
+     * Evaluates all possible Turns to a single final Turn on packed moves. Follows the
+     * same rules as getFinalTurn_list, but tie-breaking happens in a single pass over the
+     * move buffer and only the final Turn is unpacked into a PossibleTurn.
+     * <p>
+     * With a deadline, standard GameTiles are generated first. Wildcards, whose turns
+     * grow with the fourth power of the gameBoard size, are only generated until the deadline,
+     * which is checked between handSlots and per cell within a handSlot. Without any move
+     * yet, a wildcard is generated regardless of the deadline, so a turn is always found.
+     *
+     * @param deadline deadline as System.nanoTime() value | NO_DEADLINE
+     * @return final Turn | If not possible -> null
+     */
+    private PossibleTurn getFinalTurn_packed(long deadline) {
+        MoveGenerator moves = getGenerator();
+        boolean timed = deadline != NO_DEADLINE;
+
+        //Generate moves of each GameTile in AI playerHand, wildcards may collapse to a sixes turn
+        List<GameTiles> playerHand = this.getHandView();
+        for (int pass = 0; pass < (timed ? 2 : 1); pass++) {
+            for (int i = 0; i < playerHand.size(); i++) {
+                GameTiles tile = playerHand.get(i);
+
+                //In lateGame, there can be EMPTY GameTiles in hand
+                if (tile == GameTiles.EMPTY) {
+                    continue;
+                }
 
-            boolean keepInHand = finalTurn.wildcard().equals(GameTiles.WC_MOVER) ||
-                    finalTurn.wildcard().equals(GameTiles.WC_SWAPONBOARD);
+                //Timed: standard GameTiles in first pass, wildcards in second pass until deadline
+                //Without any move yet, the deadline is ignored
+                turnDeadline = moves.size() == 0 ? NO_DEADLINE : deadline;
+                if (timed && (GameTiles.isWildcard(tile) != (pass == 1)
+                        || (pass == 1 && isPastDeadline()))) {
+                    continue;
+                }
 
-            //Store 2. Phase use it next time
-            secondPhaseTurn = new PossibleTurn(
-                    finalTurn.pos(),
-                    finalTurn.toPlace(),
-                    keepInHand ? null : finalTurn.handSlot(),
-                    finalTurn.lastPosition(),
-                    finalTurn.toSwap(),
-                    finalTurn.points_team(),
-                    finalTurn.points_opponent(),
-                    finalTurn.points_team_gain(),
-                    false,
-                    null
-            );
+                int start = moves.size();
+                moves.generate(tile, i, playerHand, turnDeadline);
 
-            //Return 1. Phase Turn
-            GameTiles tile = this.getHand().get(finalTurn.handSlot());
-            return new PossibleTurn(
-                    finalTurn.pos(),
-                    finalTurn.wildcard() == null ? tile : finalTurn.wildcard(),
-                    finalTurn.handSlot(),
-                    finalTurn.lastPosition(),
-                    finalTurn.toSwap(),
-                    finalTurn.points_team(),
-                    finalTurn.points_opponent(),
-                    finalTurn.points_team_gain(),
-                    finalTurn.hasSecondPhase(),
-                    finalTurn.wildcard());
-        } else {
-            //1-Phase Turn
-            return finalTurn;
+                if (GameTiles.isWildcard(tile)) {
+                    int sixesIndex = getWildcardSixesIndex(moves, start);
+                    if (sixesIndex >= 0) {
+                        moves.keepOnly(start, sixesIndex);
+                    }
+                }
+            }
+        }
+
+        //A Sixes Turn will be preferred over all other possible turns
+        for (int i = 0; i < moves.size(); i++) {
+            if (isSixesMove(moves.get(i))) {
+                return MoveGenerator.toPossibleTurn(moves.get(i));
+            }
+        }
+
+        //Occurrences per GameTile ordinal for tie-breaking
+        int[] handOccurrences = new int[GameTiles.values().length];
+        for (GameTiles tile : playerHand) {
+            handOccurrences[tile.ordinal()]++;
+        }
+
+        //Single pass: most gain, standard GameTile, most in hand, least on board, lowest ordinal, lowest position
+        int bestIndex = -1;
+        for (int i = 0; i < moves.size(); i++) {
+            if (bestIndex < 0 || compareMoves(moves.get(i), moves.get(bestIndex), handOccurrences) < 0) {
+                bestIndex = i;
+            }
+        }
+
+        return bestIndex < 0 ? null : MoveGenerator.toPossibleTurn(moves.get(bestIndex));
+    }
+
+    /**
+     * Finds a wildcard move, which achieves or prevents a WinOfSixes. Equivalent to
+     * the sixes detection of getTurns_wildcard on the moves of a single handSlot.
+     *
+     * @param moves generated moves
+     * @param start first buffer index of the moves of the wildcard
+     * @return buffer index of sixes move | -1, if none exists
+     */
+    private int getWildcardSixesIndex(MoveGenerator moves, int start) {
+        for (int i = start; i < moves.size(); i++) {
+            long move = moves.get(i);
+
+            //If WinOfSixes can be achieved
+            if (MoveGenerator.pointsTeam(move) == Integer.MAX_VALUE) {
+                return i;
+            }
+
+            //MOVER considers Position, where Tile is moved from, NOT where it's moved to
+            boolean isMover = MoveGenerator.type(move) == MoveGenerator.TYPE_MOVER;
+            int hazardSegment = isVerticalTeam
+                    ? (isMover ? MoveGenerator.fromRow(move) : MoveGenerator.toRow(move))
+                    : (isMover ? MoveGenerator.fromColumn(move) : MoveGenerator.toColumn(move));
+
+            //Detect opponent WinOfSixes Hazard
+            if (board.hasSixesThreat(hazardSegment, !isVerticalTeam)
+                    && isBlockingMove(move) && isMostOpponentLoss(move, moves, start)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks, if a packed move achieves or prevents a WinOfSixes. Equivalent to the
+     * sixes detection of getFinalTurn_list.
+     *
+     * @param move packed move
+     * @return move is a sixes turn -> TRUE
+     */
+    private boolean isSixesMove(long move) {
+        if (MoveGenerator.pointsTeam(move) == Integer.MAX_VALUE) {
+            return true;
+        }
+
+        //MOVER considers Position, where Tile is moved from, NOT where it's moved to
+        boolean isMover = MoveGenerator.type(move) == MoveGenerator.TYPE_MOVER;
+        int hazardSegment = isVerticalTeam
+                ? (isMover ? MoveGenerator.fromRow(move) : MoveGenerator.toRow(move))
+                : (isMover ? MoveGenerator.fromColumn(move) : MoveGenerator.toColumn(move));
+
+        return board.hasSixesThreat(hazardSegment, !isVerticalTeam) && isBlockingMove(move);
+    }
+
+    /**
+     * Checks, if a packed move blocks a WinOfSixes Hazard of the opponent. Points of the
+     * opponent must not rise and the placed GameTile cannot be the one the Hazard is made of.
+     *
+     * @param move packed move
+     * @return move blocks Hazard -> TRUE
+     */
+    private boolean isBlockingMove(long move) {
+        int segment = isVerticalTeam ? MoveGenerator.toRow(move) : MoveGenerator.toColumn(move);
+
+        return MoveGenerator.pointsOpponent(move) <= 7
+                && board.getTileCountAtSegment(MoveGenerator.toPlace(move), segment, !isVerticalTeam) == 0;
+    }
+
+    /**
+     * Checks, if a packed move results in the most point loss for the opponent
+     * out of all moves of the same wildcard.
+     *
+     * @param move  packed move
+     * @param moves generated moves
+     * @param start first buffer index of the moves of the wildcard
+     * @return move has the lowest opponent points -> TRUE
+     */
+    private boolean isMostOpponentLoss(long move, MoveGenerator moves, int start) {
+        int points = MoveGenerator.pointsOpponent(move);
+        for (int i = start; i < moves.size(); i++) {
+            if (MoveGenerator.pointsOpponent(moves.get(i)) < points) {
+                return false;
+            }
         }
+
+        return true;
     }
 
+    /**
+     * Compares two packed moves by the AI rules. A lower result is preferred.
+     * <p>
+     * 1. Prefer most team points gain
+     * 2. Prefer Standard GameTiles over Wildcards
+     * 3. Prefer most occurring GameTiles in playerHand
+     * 4. Prefer least occurring GameTiles on gameBoard
+     * 5. Prefer GameTile with the lowest ordinal value
+     * 6. Prefer the lowest possible Turn
+     *
+     * @param move            packed move
+     * @param other           packed move to compare with
+     * @param handOccurrences occurrences per GameTile ordinal in playerHand
+     * @return negative, if move is preferred | 0, if equal | positive otherwise
+     */
+    private int compareMoves(long move, long other, int[] handOccurrences) {
+        int result = Integer.compare(MoveGenerator.gain(other), MoveGenerator.gain(move));
+
+        GameTiles tile = getRelevantTile(move);
+        GameTiles otherTile = getRelevantTile(other);
+        if (result == 0) {
+            result = Boolean.compare(GameTiles.isWildcard(tile), GameTiles.isWildcard(otherTile));
+        }
+        if (result == 0) {
+            result = Integer.compare(handOccurrences[otherTile.ordinal()], handOccurrences[tile.ordinal()]);
+        }
+        if (result == 0) {
+            result = Integer.compare(board.getGameTileOccurrences(tile), board.getGameTileOccurrences(otherTile));
+        }
+        if (result == 0) {
+            result = Integer.compare(tile.ordinal(), otherTile.ordinal());
+        }
+        if (result == 0) {
+            result = Integer.compare(MoveGenerator.toRow(move), MoveGenerator.toRow(other));
+        }
+        if (result == 0) {
+            result = Integer.compare(MoveGenerator.toColumn(move), MoveGenerator.toColumn(other));
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets GameTile, which is relevant for tie-breaking. Played wildcard or placed GameTile.
+     *
+     * @param move packed move
+     * @return relevant GameTile
+     */
+    private GameTiles getRelevantTile(long move) {
+        GameTiles wildcard = MoveGenerator.wildcard(move);
+        return wildcard == null ? MoveGenerator.toPlace(move) : wildcard;
+    }
 
     /**
      * Gets all basic non-wildcard AI-Turns by potentially placing the specified
@@ -291,25 +774,20 @@ public class AI_Player extends Player {
      * @return Optimal basic AI Turns
      */
     List<PossibleTurn> getAllTurns_basic(GameTiles tile, int handSlot) {
-        GameTiles[][] actualBoard = board.getGameBoard();
+        int size = board.getSize();
         ArrayList<PossibleTurn> possibleTurns = new ArrayList<>();
 
 
         //First get all possible Turns
-        for (int x = 0; x < actualBoard.length; x++) {
-            for (int y = 0; y < actualBoard[x].length; y++) {
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
                 Position pos = new Position(x, y);
 
                 if (board.isFreeAt(pos)) {
-                    GameTiles[][] potentialBoard = board.getGameBoard();
-                    potentialBoard[pos.column()][pos.row()] = tile;
-
-                    int points_team_old = Game.calculatePoints(
-                            getTilesPerSegment(isVerticalTeam ? x : y, isVerticalTeam, actualBoard));
-                    int points_team_new = Game.calculatePoints(
-                            getTilesPerSegment(isVerticalTeam ? x : y, isVerticalTeam, potentialBoard));
-                    int points_opponent = Game.calculatePoints(
-                            getTilesPerSegment(!isVerticalTeam ? x : y, !isVerticalTeam, potentialBoard));
+                    TurnScorer scorer = getScorer();
+                    int points_team_old = scorer.currentPoints(isVerticalTeam ? x : y, isVerticalTeam);
+                    int points_team_new = scorer.pointsAfterPlacement(tile, x, y, isVerticalTeam);
+                    int points_opponent = scorer.pointsAfterPlacement(tile, x, y, !isVerticalTeam);
 
                     int points_team_gain = points_team_new - points_team_old;
                     possibleTurns.add(new PossibleTurn(pos, tile, handSlot, null, null,
@@ -365,17 +843,17 @@ public class AI_Player extends Player {
                     //AI ideally want to eliminate the WinOfSixes Hazard by moving a part of it to somewhere else
 
                     //Detect opponent WinOfSixes Hazard
-                    if (Game.calculatePoints(getTilesPerSegment(
+                    if (board.hasSixesThreat(
                             isVerticalTeam ? turn.lastPosition().row() : turn.lastPosition().column(),
-                            !isVerticalTeam, actualBoard)) == 7) {
+                            !isVerticalTeam)) {
 
                         sixesTurn = getBestWinOfSixesPrevention(turn, possibleTurns);
                     }
                 } else {
                     //Detect opponent WinOfSixes Hazard
-                    if (Game.calculatePoints(getTilesPerSegment(
+                    if (board.hasSixesThreat(
                             isVerticalTeam ? turn.pos().row() : turn.pos().column(),
-                            !isVerticalTeam, actualBoard)) == 7) {
+                            !isVerticalTeam)) {
 
                         sixesTurn = getBestWinOfSixesPrevention(turn, possibleTurns);
                     }
@@ -402,9 +880,9 @@ public class AI_Player extends Player {
         if (turn.points_opponent() <= 7) {
 
             //Blocking GameTile cannot be the same GameTile the WinOfSixes Hazard of opponent is made of
-            if (board.getGameTileOccurrencesAtSegment(
+            if (board.getTileCountAtSegment(turn.toPlace(),
                     isVerticalTeam ? turn.pos().row() : turn.pos().column(),
-                    !isVerticalTeam).get(turn.toPlace()) == 0) {
+                    !isVerticalTeam) == 0) {
 
                 //Get Turn, that results in most point loss for opponent
                 OptionalInt mostLossPoints = allTurns.stream()
@@ -429,25 +907,19 @@ public class AI_Player extends Player {
      * @return all possible Turns for Wildcard REMOVER
      */
     List<PossibleTurn> allWildcardTurns_REMOVER(int handSlot, GameTiles[][] actualBoard) {
-        GameTiles[][] potentialBoard;
         List<PossibleTurn> result = new ArrayList<>();
 
-        //Iterate through whole gameBoard
-        for (int x = 0; x < actualBoard.length; x++) {
+        //Iterate through whole gameBoard, until the deadline of the evaluation has passed
+        for (int x = 0; x < actualBoard.length && !isPastDeadline(); x++) {
             for (int y = 0; y < actualBoard[x].length; y++) {
-                potentialBoard = board.getGameBoard();
                 Position pos = new Position(x, y);
 
                 //REMOVER can only be placed on non-EMPTY gameTiles
                 if (!board.isFreeAt(pos)) {
-                    potentialBoard[pos.column()][pos.row()] = GameTiles.EMPTY;
-
-                    int points_team_old = Game.calculatePoints(
-                            getTilesPerSegment(isVerticalTeam ? x : y, isVerticalTeam, actualBoard));
-                    int points_team_new = Game.calculatePoints(
-                            getTilesPerSegment(isVerticalTeam ? x : y, isVerticalTeam, potentialBoard));
-                    int points_opponent_new = Game.calculatePoints(
-                            getTilesPerSegment(!isVerticalTeam ? x : y, !isVerticalTeam, potentialBoard));
+                    TurnScorer scorer = getScorer();
+                    int points_team_old = scorer.currentPoints(isVerticalTeam ? x : y, isVerticalTeam);
+                    int points_team_new = scorer.pointsAfterRemove(x, y, isVerticalTeam);
+                    int points_opponent_new = scorer.pointsAfterRemove(x, y, !isVerticalTeam);
 
                     int points_team_gain = points_team_new - points_team_old;
 
@@ -471,7 +943,6 @@ public class AI_Player extends Player {
      * @return all possible Turns for Wildcard MOVER
      */
     List<PossibleTurn> allWildcardTurns_MOVER(int handSlot, GameTiles[][] actualBoard) {
-        GameTiles[][] potentialBoard;
         List<PossibleTurn> result = new ArrayList<>();
 
         //Iterate through whole gameBoard
@@ -479,27 +950,25 @@ public class AI_Player extends Player {
             for (int y = 0; y < actualBoard[x].length; y++) {
                 Position lastPosition = new Position(x, y);
 
-                //MOVER can only be played on non-EMPTY GameTile
-                if (!board.isFreeAt(lastPosition)) {
+                //MOVER can only be played on non-EMPTY GameTile, until the deadline of the evaluation has passed
+                if (!board.isFreeAt(lastPosition) && !isPastDeadline()) {
                     GameTiles toPlace = board.getGameTileAt(lastPosition);
 
                     //All free Positions to place "placeTo" GameTile on
                     for (int x2 = 0; x2 < actualBoard.length; x2++) {
                         for (int y2 = 0; y2 < actualBoard[x2].length; y2++) {
-                            potentialBoard = board.getGameBoard();
                             Position newPos = new Position(x2, y2);
 
                             //MOVER can only move GameTile to new Position, which is free on gameBoard
                             if (!newPos.equals(lastPosition) && board.isFreeAt(newPos)) {
-                                potentialBoard[lastPosition.column()][lastPosition.row()] = GameTiles.EMPTY;
-                                potentialBoard[newPos.column()][newPos.row()] = toPlace;
-
-                                int points_team_old = Game.calculatePoints(getTilesPerSegment(
-                                        isVerticalTeam ? x2 : y2, isVerticalTeam, actualBoard));
-                                int points_team_new = Game.calculatePoints(getTilesPerSegment(
-                                        isVerticalTeam ? x2 : y2, isVerticalTeam, potentialBoard));
-                                int points_opponent_new = Game.calculatePoints(getTilesPerSegment(
-                                        !isVerticalTeam ? x : y, !isVerticalTeam, potentialBoard));
+                                //Team is scored at new Position, opponent at last Position
+                                TurnScorer scorer = getScorer();
+                                int points_team_old = scorer.currentPoints(
+                                        isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                int points_team_new = scorer.pointsAfterMove(x, y, x2, y2,
+                                        isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                int points_opponent_new = scorer.pointsAfterMove(x, y, x2, y2,
+                                        !isVerticalTeam ? x : y, !isVerticalTeam);
 
                                 //Add new possible Turn
                                 int points_team_gain = points_team_new - points_team_old;
@@ -525,7 +994,6 @@ public class AI_Player extends Player {
      * @return all possible Turns for Wildcard SWAPONBOARD
      */
     List<PossibleTurn> allWildcardTurns_SWAPONBOARD(int handSlot, GameTiles[][] actualBoard) {
-        GameTiles[][] potentialBoard;
         List<PossibleTurn> result = new ArrayList<>();
 
         //In order to swapOnBoard, at least 2 GameTiles must be on gameBoard
@@ -536,28 +1004,26 @@ public class AI_Player extends Player {
                 for (int y = 0; y < actualBoard[x].length; y++) {
                     Position lastPosition = new Position(x, y);
 
-                    //SWAPONBOARD can only be played on non-EMPTY GameTile on gameBoard
-                    if (!board.isFreeAt(lastPosition)) {
+                    //SWAPONBOARD can only be played on non-EMPTY GameTile, until the deadline of the evaluation has passed
+                    if (!board.isFreeAt(lastPosition) && !isPastDeadline()) {
                         GameTiles toPlace = board.getGameTileAt(lastPosition);
 
                         //All used Positions to swap "placeTo" GameTile with "swapWith"
                         for (int x2 = 0; x2 < actualBoard.length; x2++) {
                             for (int y2 = 0; y2 < actualBoard[x2].length; y2++) {
-                                potentialBoard = board.getGameBoard();
                                 Position newPos = new Position(x2, y2);
 
                                 //Can only swap with non-EMPTY GameTile on another Position than self on gameBoard
                                 if (!newPos.equals(lastPosition) && !board.isFreeAt(newPos)) {
                                     GameTiles toSwap = board.getGameTileAt(newPos);
-                                    potentialBoard[newPos.column()][newPos.row()] = toPlace;
-                                    potentialBoard[lastPosition.column()][lastPosition.row()] = toSwap;
 
-                                    int points_team_old = Game.calculatePoints(getTilesPerSegment(
-                                            isVerticalTeam ? x2 : y2, isVerticalTeam, actualBoard));
-                                    int points_team_new = Game.calculatePoints(getTilesPerSegment(
-                                            isVerticalTeam ? x2 : y2, isVerticalTeam, potentialBoard));
-                                    int points_opponent_new = Game.calculatePoints(getTilesPerSegment(
-                                            !isVerticalTeam ? x2 : y2, !isVerticalTeam, potentialBoard));
+                                    TurnScorer scorer = getScorer();
+                                    int points_team_old = scorer.currentPoints(
+                                            isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                    int points_team_new = scorer.pointsAfterSwap(x2, y2, x, y,
+                                            isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                    int points_opponent_new = scorer.pointsAfterSwap(x2, y2, x, y,
+                                            !isVerticalTeam ? x2 : y2, !isVerticalTeam);
 
                                     //Add new possible Turn
                                     int points_team_gain = points_team_new - points_team_old;
@@ -583,14 +1049,14 @@ public class AI_Player extends Player {
      * @return all possible Turns for Wildcard SWAPWITHHAND
      */
     List<PossibleTurn> allWildcardTurns_SWAPWITHHAND(GameTiles[][] actualBoard) {
-        GameTiles[][] potentialBoard;
         List<PossibleTurn> result = new ArrayList<>();
+        List<GameTiles> playerHand = this.getHandView();
 
         //There must be at least one standard GameTile in playerHand to swap with
         if (getNumberOfStandardGameTiles() >= 1) {
 
-            //Iterate through whole gameBoard
-            for (int x = 0; x < actualBoard.length; x++) {
+            //Iterate through whole gameBoard, until the deadline of the evaluation has passed
+            for (int x = 0; x < actualBoard.length && !isPastDeadline(); x++) {
                 for (int y = 0; y < actualBoard[x].length; y++) {
                     Position pos = new Position(x, y);
 
@@ -599,22 +1065,17 @@ public class AI_Player extends Player {
                         GameTiles toSwap = board.getGameTileAt(pos);
 
                         //Iterate through whole hand
-                        for (int i = 0; i < this.getHand().size(); i++) {
+                        for (int i = 0; i < playerHand.size(); i++) {
 
                             //Can only swap with standard GameTile in playerHand
-                            if (GameTiles.isStandardGameTile(this.getHand().get(i))) {
-                                potentialBoard = board.getGameBoard();
+                            if (GameTiles.isStandardGameTile(playerHand.get(i))) {
+                                GameTiles toPlace = playerHand.get(i);
 
-                                GameTiles toPlace = this.getHand().get(i);
-                                potentialBoard[pos.column()][pos.row()] = toPlace;
                                 //Irrelevant what happens, when placer gets GameTile in its own hand
-
-                                int points_team_old = Game.calculatePoints(getTilesPerSegment(
-                                        isVerticalTeam ? x : y, isVerticalTeam, actualBoard));
-                                int points_team_new = Game.calculatePoints(getTilesPerSegment(
-                                        isVerticalTeam ? x : y, isVerticalTeam, potentialBoard));
-                                int points_opponent_new = Game.calculatePoints(getTilesPerSegment(
-                                        !isVerticalTeam ? x : y, !isVerticalTeam, potentialBoard));
+                                TurnScorer scorer = getScorer();
+                                int points_team_old = scorer.currentPoints(isVerticalTeam ? x : y, isVerticalTeam);
+                                int points_team_new = scorer.pointsAfterPlacement(toPlace, x, y, isVerticalTeam);
+                                int points_opponent_new = scorer.pointsAfterPlacement(toPlace, x, y, !isVerticalTeam);
 
                                 //Add new possible Turn
                                 int points_team_gain = points_team_new - points_team_old;
@@ -631,7 +1092,6 @@ public class AI_Player extends Player {
         return result;
     }
 
-
     /**
      * Reduce given List of possibleTurns to (ideally) one single optimal turn.
      * Returns List, just in case, that the reduction let multiple Turns pass through.
@@ -743,32 +1203,17 @@ public class AI_Player extends Player {
      */
     Set<GameTiles> getMostOccurringGameTiles(Set<GameTiles> relevantGameTiles) {
 
-        //Initializes Map occurrences of relevant GameTiles
-        Map<GameTiles, Integer> occurrences = new HashMap<>();
+        //Get the highest occurrence, counts of playerHand are maintained by Player
+        int highestOccurrence = -1;
         for (GameTiles tile : relevantGameTiles) {
-            occurrences.put(tile, 0);
+            highestOccurrence = Math.max(highestOccurrence, getNumberOfGameTiles(tile));
         }
 
-        //Get all occurrences of relevant GameTiles in playerHand
-        for (GameTiles tile : this.getHand()) {
-            if (occurrences.containsKey(tile)) {
-                occurrences.replace(tile, occurrences.get(tile) + 1);
-            }
-        }
-
-        //Get the highest occurrence
-        OptionalInt optional = occurrences.values().stream().mapToInt(o -> o).max();
-        int highestOccurrence;
-
+        //Add all GameTiles, whose occurrence is equal to the highestOccurrence
         Set<GameTiles> result = new HashSet<>();
-        if (optional.isPresent()) {
-            highestOccurrence = optional.getAsInt();
-
-            //Add all GameTiles, whose occurrence is equal to the highestOccurrence
-            for (GameTiles tile : relevantGameTiles) {
-                if (occurrences.get(tile) == highestOccurrence) {
-                    result.add(tile);
-                }
+        for (GameTiles tile : relevantGameTiles) {
+            if (getNumberOfGameTiles(tile) == highestOccurrence) {
+                result.add(tile);
             }
         }
 
@@ -817,22 +1262,12 @@ public class AI_Player extends Player {
      * @return GameTile with the lowest ordinal value
      */
     GameTiles getMinOrdinalGameTiles(List<GameTiles> relevantTiles) {
-        //Get all ordinal Values of each GameTile in playerHand
-        List<Integer> ordinals = this.getHand().stream()
-                .filter(relevantTiles::contains).mapToInt(Enum::ordinal).boxed().toList();
-
-        //Get minimum ordinal Value (only from relevant tiles)
-        OptionalInt optional = ordinals.stream().mapToInt(o -> o).min();
-
         GameTiles result = null;
-        if (optional.isPresent()) {
-            for (int i = 0; i < ordinals.size() && result == null; i++) {
-                int minOrdinal = optional.getAsInt();
 
-                //Add all GameTiles, whose ordinal values equal the minimum ordinal value
-                if (ordinals.get(i).equals(minOrdinal)) {
-                    result = relevantTiles.get(i);
-                }
+        //Get GameTile with minimum ordinal Value (only from relevant tiles in playerHand)
+        for (GameTiles tile : this.getHandView()) {
+            if (relevantTiles.contains(tile) && (result == null || tile.ordinal() < result.ordinal())) {
+                result = tile;
             }
         }
 
@@ -851,26 +1286,30 @@ public class AI_Player extends Player {
     }
 
     /**
-     * Calculates GameTile Count per Type for a given segment (Row / Column)
+     * Gets TurnScorer of current board. Creates a new one, if board has changed.
      *
-     * @param segment        segment of Row / Column
-     * @param isVerticalTeam is Row or Column
-     * @return GameTile Count per Type
+     * @return TurnScorer of current board
      */
-    private int[] getTilesPerSegment(int segment, boolean isVerticalTeam, GameTiles[][] board) {
-        int[] gameTileTypes = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+    private TurnScorer getScorer() {
+        if (scorer == null || scorer.getBoard() != board) {
+            scorer = new TurnScorer(board);
+        }
 
-        for (int i = 0; i < board.length; i++) {
-            switch (board[isVerticalTeam ? segment : i][isVerticalTeam ? i : segment]) {
-                case T_SUN -> gameTileTypes[0]++;
-                case T_CROSS -> gameTileTypes[1]++;
-                case T_TRIANGLE -> gameTileTypes[2]++;
-                case T_SQUARE -> gameTileTypes[3]++;
-                case T_PENTAGON -> gameTileTypes[4]++;
-                case T_STAR -> gameTileTypes[5]++;
-            }
+        return scorer;
+    }
+
+    /**
+     * Gets MoveGenerator with a cleared buffer for current board. Buffer is reused
+     * between decisions.
+     *
+     * @return cleared MoveGenerator
+     */
+    private MoveGenerator getGenerator() {
+        if (generator == null) {
+            generator = new MoveGenerator(isVerticalTeam);
         }
+        generator.reset(board, getScorer());
 
-        return gameTileTypes;
+        return generator;
     }
 }
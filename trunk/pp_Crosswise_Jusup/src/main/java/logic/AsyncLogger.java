@@ -0,0 +1,403 @@
+package logic;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous logger of a single logFile. Log entries are put into a bounded ring buffer
+ * and written by a single background writer thread, which drains the buffer in batches
+ * and flushes once per batch. The logFile stays open between batches.
+ * <p>
+ * If the buffer is full, the Policy decides: DROP discards the entry and counts it, the
+ * number of dropped entries is written to the logFile with the next batch. BLOCK lets the
+ * logging thread wait until the writer has made space.
+ * <p>
+ * Clearing the logFile is queued like an entry, so entries logged before are not
+ * written into the new logFile. Pending entries are written on close, which is
+ * registered as shutdown hook for the default logger. Close waits for entries, which
+ * are being handed over, so no entry is queued behind the stop marker.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+final class AsyncLogger {
+
+    /**
+     * Policy, if ring buffer is full
+     */
+    enum Policy {
+        /**
+         * Discard entry
+         */
+        DROP,
+        /**
+         * Wait for writer
+         */
+        BLOCK
+    }
+
+    /**
+     * Path of default logFile
+     */
+    static final String LOG_FILE_PATH = "./src/log/Log.txt";
+    /**
+     * Capacity of default ring buffer
+     */
+    private static final int DEFAULT_CAPACITY = 8192;
+    /**
+     * Maximal entries per batch
+     */
+    private static final int MAX_BATCH = 512;
+    /**
+     * Maximal time to wait for pending entries on close in ms
+     */
+    private static final long CLOSE_TIMEOUT = 2000;
+    /**
+     * Interval of a waiting logging thread to check, if the writer has stopped in ms
+     */
+    private static final long BLOCK_INTERVAL = 50;
+    /**
+     * Marker entry for clearing the logFile. Compared by identity
+     */
+    private static final String CLEAR = new String("<clear>");
+    /**
+     * Marker entry for stopping the writer thread. Compared by identity
+     */
+    private static final String STOP = new String("<stop>");
+
+    /**
+     * Path of logFile
+     */
+    private final String path;
+    /**
+     * Policy, if ring buffer is full
+     */
+    private final Policy policy;
+    /**
+     * Bounded ring buffer of pending entries
+     */
+    private final BlockingQueue<String> buffer;
+    /**
+     * Background writer thread
+     */
+    private final Thread writerThread;
+    /**
+     * Reused batch of drained entries. Only accessed by writer thread
+     */
+    private final List<String> batch = new ArrayList<>(MAX_BATCH);
+    /**
+     * Open logFile | null, if not opened yet or broken. Only accessed by writer thread
+     */
+    private Writer writer;
+    /**
+     * Number of entries handed over to the buffer
+     */
+    private long enqueued;
+    /**
+     * Number of entries processed by the writer thread
+     */
+    private long written;
+    /**
+     * Number of dropped entries, which are not reported in the logFile yet
+     */
+    private long dropped;
+    /**
+     * Number of entries, which are being handed over to the buffer right now
+     */
+    private int handingOver;
+    /**
+     * Flag, if logger is closed
+     */
+    private volatile boolean closed;
+
+
+    /**
+     * AsyncLogger Constructor. Writer thread must be started separately.
+     *
+     * @param path     path of logFile
+     * @param capacity capacity of ring buffer
+     * @param policy   Policy, if ring buffer is full
+     */
+    AsyncLogger(String path, int capacity, Policy policy) {
+        this.path = path;
+        this.policy = policy;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::writeLoop, "log-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Gets default logger of LOG_FILE_PATH. Created and started on first use.
+     *
+     * @return default logger
+     */
+    static AsyncLogger getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Starts writer thread.
+     */
+    void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Logs a single line. Ignored, if logger is closed.
+     *
+     * @param line line to log, without line separator
+     */
+    void log(String line) {
+        enqueue(line, policy == Policy.BLOCK);
+    }
+
+    /**
+     * Clears logFile. Entries logged before are discarded. Never dropped.
+     */
+    void clear() {
+        enqueue(CLEAR, true);
+    }
+
+    /**
+     * Waits, until all entries logged so far are written and flushed.
+     *
+     * @param timeout maximal time to wait in ms
+     * @return true, if all entries are written in time
+     */
+    synchronized boolean flush(long timeout) {
+        long target = enqueued;
+        long deadline = System.currentTimeMillis() + timeout;
+        long remaining = timeout;
+
+        while (written < target && remaining > 0 && writerThread.isAlive()) {
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            remaining = deadline - System.currentTimeMillis();
+        }
+
+        return written >= target;
+    }
+
+    /**
+     * Closes logger. Pending entries are written, later entries are ignored.
+     */
+    void close() {
+        try {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+
+                //Entries being handed over must precede the stop marker
+                while (handingOver > 0) {
+                    wait();
+                }
+            }
+
+            if (writerThread.isAlive()) {
+                //Stop marker must not be dropped
+                buffer.put(STOP);
+                writerThread.join(CLOSE_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Number of dropped entries Getter, which are not reported in the logFile yet.
+     *
+     * @return number of dropped entries
+     */
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Hands entry over to ring buffer. Ignored, if logger is closed. Counts entry as dropped,
+     * if ring buffer is full and waiting is not permitted, or if the writer stopped while waiting.
+     *
+     * @param entry entry or marker
+     * @param block Flag, if waiting for space is permitted
+     */
+    private void enqueue(String entry, boolean block) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            handingOver++;
+        }
+
+        boolean added = false;
+        try {
+            if (block) {
+                //Writer does not make space anymore after close
+                while (!added && !(closed && !writerThread.isAlive())) {
+                    added = buffer.offer(entry, BLOCK_INTERVAL, TimeUnit.MILLISECONDS);
+                }
+            } else {
+                added = buffer.offer(entry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (added) {
+                enqueued++;
+            } else {
+                dropped++;
+            }
+            handingOver--;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Loop of writer thread. Waits for entries and writes them in batches until stopped.
+     */
+    private void writeLoop() {
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(buffer.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            buffer.drainTo(batch, MAX_BATCH - 1);
+
+            running = writeBatch();
+            batch.clear();
+        }
+
+        closeWriter();
+    }
+
+    /**
+     * Writes current batch and flushes logFile. Entries of a batch, which
+     * can't be written, are discarded. Dropped entries are reported after the
+     * last clear marker of the batch, so the report is not cleared away.
+     *
+     * @return false, if stop marker is reached
+     */
+    private boolean writeBatch() {
+        boolean running = true;
+        int lastClear = -1;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) == STOP) {
+                running = false;
+            } else if (batch.get(i) == CLEAR) {
+                lastClear = i;
+            }
+        }
+
+        long droppedBefore;
+        synchronized (this) {
+            droppedBefore = dropped;
+            dropped = 0;
+        }
+
+        try {
+            if (lastClear < 0) {
+                writeDropped(droppedBefore);
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                String entry = batch.get(i);
+                if (entry == CLEAR) {
+                    closeWriter();
+                    writer = new BufferedWriter(new FileWriter(path, false));
+                } else if (entry != STOP) {
+                    write(entry);
+                }
+
+                if (i == lastClear) {
+                    writeDropped(droppedBefore);
+                }
+            }
+
+            if (writer != null) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            closeWriter();
+        }
+
+        synchronized (this) {
+            //Stop marker is not counted as entry
+            written += running ? batch.size() : batch.size() - 1;
+            notifyAll();
+        }
+
+        return running;
+    }
+
+    /**
+     * Writes a single line into the logFile. Opens logFile, if not opened yet.
+     *
+     * @param line line to write
+     * @throws IOException if logFile can't be written
+     */
+    private void write(String line) throws IOException {
+        if (writer == null) {
+            writer = new BufferedWriter(new FileWriter(path, true));
+        }
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    /**
+     * Writes the number of dropped entries into the logFile, if any entries were dropped.
+     *
+     * @param count number of dropped entries
+     * @throws IOException if logFile can't be written
+     */
+    private void writeDropped(long count) throws IOException {
+        if (count > 0) {
+            write(String.format("%d log entries dropped", count));
+        }
+    }
+
+    /**
+     * Closes logFile, if opened.
+     */
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Lazy holder of default logger. Flushes pending entries on shutdown.
+     */
+    private static final class DefaultHolder {
+        /**
+         * Default logger Instance
+         */
+        private static final AsyncLogger INSTANCE = new AsyncLogger(LOG_FILE_PATH, DEFAULT_CAPACITY, Policy.DROP);
+
+        static {
+            INSTANCE.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::close, "log-shutdown"));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package logic;
+
+/**
+ * Bitboard backend of the GameBoard. Stores one occupancy mask per GameTile
+ * type, where every cell of the gameBoard is represented by a single bit.
+ * A standard 6 x 6 gameBoard only needs 36 bits of each mask.
+ * <p>
+ * Bit Index of a cell is (column * size + row). Therefore, a column is a
+ * contiguous block of bits and a row is a strided set of bits. Counting
+ * GameTiles of a segment is reduced to masking and a popcount, occupancy
+ * checks of the whole gameBoard to a comparison.
+ * <p>
+ * Only supports gameBoards up to 8 x 8, because each mask is a single long.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+class BitBoard {
+
+    /**
+     * Maximal gameBoard size, which still fits into a single long
+     */
+    static final int MAX_SIZE = 8;
+
+    /**
+     * gameBoard size
+     */
+    private final int size;
+    /**
+     * Occupancy mask per GameTile type, indexed by GameTile ordinal value
+     */
+    private final long[] tileMasks = new long[GameTiles.values().length];
+    /**
+     * Occupancy mask of all non-EMPTY GameTiles
+     */
+    private long occupied;
+    /**
+     * Mask with a bit set for every cell of the gameBoard
+     */
+    private final long fullMask;
+    /**
+     * Mask of each column, indexed by column
+     */
+    private final long[] columnMasks;
+    /**
+     * Mask of each row, indexed by row
+     */
+    private final long[] rowMasks;
+
+
+    /**
+     * BitBoard Constructor. Initializes an EMPTY bitboard of specified size.
+     *
+     * @param size gameBoard size
+     */
+    BitBoard(int size) {
+        if (!supports(size)) {
+            throw new IllegalArgumentException("BitBoard Size must be between 1 and " + MAX_SIZE);
+        }
+
+        this.size = size;
+        this.fullMask = size * size == Long.SIZE ? -1L : (1L << (size * size)) - 1;
+        this.columnMasks = new long[size];
+        this.rowMasks = new long[size];
+
+        for (int column = 0; column < size; column++) {
+            for (int row = 0; row < size; row++) {
+                long bit = 1L << (column * size + row);
+                columnMasks[column] |= bit;
+                rowMasks[row] |= bit;
+            }
+        }
+
+        tileMasks[GameTiles.EMPTY.ordinal()] = fullMask;
+    }
+
+    /**
+     * Checks, if gameBoard of specified size can be represented as BitBoard.
+     *
+     * @param size gameBoard size
+     * @return size fits into a single long -> TRUE
+     */
+    static boolean supports(int size) {
+        return size > 0 && size <= MAX_SIZE;
+    }
+
+    /**
+     * Replaces GameTile of a cell. The previous GameTile must be specified,
+     * so only the two affected masks have to be updated.
+     *
+     * @param column   column of cell
+     * @param row      row of cell
+     * @param previous GameTile, which was on cell before
+     * @param tile     GameTile to set
+     */
+    void set(int column, int row, GameTiles previous, GameTiles tile) {
+        long bit = 1L << (column * size + row);
+
+        tileMasks[previous.ordinal()] &= ~bit;
+        tileMasks[tile.ordinal()] |= bit;
+
+        if (tile == GameTiles.EMPTY) {
+            occupied &= ~bit;
+        } else {
+            occupied |= bit;
+        }
+    }
+
+    /**
+     * Counts occurrences of specified GameTile on specified segment.
+     *
+     * @param tile       GameTile to count
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return occurrences of GameTile on segment
+     */
+    int countAtSegment(GameTiles tile, int segment, boolean isVertical) {
+        return Long.bitCount(tileMasks[tile.ordinal()] & (isVertical ? columnMasks[segment] : rowMasks[segment]));
+    }
+
+    /**
+     * Counts occurrences of specified GameTile on whole gameBoard.
+     *
+     * @param tile GameTile to count
+     * @return occurrences of GameTile
+     */
+    int getGameTileOccurrences(GameTiles tile) {
+        return Long.bitCount(tileMasks[tile.ordinal()]);
+    }
+
+    /**
+     * Check if every cell is occupied by a non-EMPTY GameTile.
+     *
+     * @return No EMPTY GameTiles left -> TRUE
+     */
+    boolean isFull() {
+        return occupied == fullMask;
+    }
+
+    /**
+     * Check if no cell is occupied by a non-EMPTY GameTile.
+     *
+     * @return All EMPTY GameTiles -> TRUE
+     */
+    boolean isEmpty() {
+        return occupied == 0;
+    }
+
+    /**
+     * Counts non-EMPTY GameTiles on gameBoard.
+     *
+     * @return number of non-EMPTY GameTiles
+     */
+    int usedSpaces() {
+        return Long.bitCount(occupied);
+    }
+}
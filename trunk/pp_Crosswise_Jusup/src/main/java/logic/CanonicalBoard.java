@@ -0,0 +1,520 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Canonical form of a gameBoard under its symmetries. Permuting the rows or the columns of
+ * a gameBoard changes no segment score, so all such gameBoards are equivalent. Transposing
+ * a gameBoard keeps the scores as well, but swaps the segments of team vertical and team
+ * horizontal. Caches and opening books keyed by the canonical form share their entries
+ * across all equivalent gameBoards.
+ * <p>
+ * Columns are ordered by their segment signature first: the histogram of the column and the
+ * histograms of the rows its GameTiles lie on. Signatures don't change under permutations,
+ * so only columns of equal signature are permuted, columns of equal content only once. For
+ * every such column order, the rows are sorted, which is the smallest gameBoard for this
+ * column order. The smallest of these gameBoards is the canonical form. If transposition
+ * is allowed, the transposed gameBoard is canonicalized as well and the smaller form wins.
+ * <p>
+ * Highly regular gameBoards, e.g. cyclic layouts, have many columns of equal signature and
+ * would need up to size! column orders. The enumeration stops after MAX_COLUMN_ORDERS orders
+ * per orientation and keeps the smallest gameBoard found so far. Such a form is still an
+ * equivalent gameBoard with a valid mapping, but equivalent gameBoards may get different
+ * keys, see isCanonical().
+ * <p>
+ * The permutation of the canonical form and its inverse map cells and packed moves between
+ * the original and the canonical gameBoard. If the canonical form is transposed, values from
+ * the view of a team belong to the other team on the canonical gameBoard.
+ * <p>
+ * Canonicalizing is far more expensive than a Zobrist key update, it is meant for keys of
+ * positions at the root of a search, not for every searched position.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+final class CanonicalBoard {
+
+    /**
+     * Bits per GameTile ordinal of a packed row
+     */
+    private static final int TILE_BITS = 4;
+    /**
+     * Base of a packed histogram, exceeds every count of a segment
+     */
+    private static final long HISTOGRAM_BASE = MoveGenerator.MAX_SIZE + 1;
+    /**
+     * All GameTiles, indexed by ordinal
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+    /**
+     * Maximal number of column orders per orientation, all orders of 7 equivalent columns
+     */
+    static final int MAX_COLUMN_ORDERS = 5040;
+
+    /**
+     * Flag, if canonical form is the transposed gameBoard
+     */
+    private final boolean transposed;
+    /**
+     * Flag, if all column orders were tried, so the form is the same for all equivalent gameBoards
+     */
+    private final boolean canonical;
+    /**
+     * Column of the (possibly transposed) original gameBoard for each canonical column
+     */
+    private final int[] columnOrder;
+    /**
+     * Row of the (possibly transposed) original gameBoard for each canonical row
+     */
+    private final int[] rowOrder;
+    /**
+     * Canonical column for each column of the (possibly transposed) original gameBoard
+     */
+    private final int[] columnInverse;
+    /**
+     * Canonical row for each row of the (possibly transposed) original gameBoard
+     */
+    private final int[] rowInverse;
+    /**
+     * GameTile ordinals of the canonical gameBoard, indexed by [column][row]
+     */
+    private final int[][] cells;
+    /**
+     * Zobrist key of the canonical gameBoard
+     */
+    private final long key;
+
+
+    /**
+     * CanonicalBoard Constructor. Derives inverse permutation, cells and key.
+     *
+     * @param board       original gameBoard
+     * @param transposed  flag, if canonical form is transposed
+     * @param canonical   flag, if all column orders were tried
+     * @param columnOrder original column (row, if transposed) of each canonical column
+     * @param rowOrder    original row (column, if transposed) of each canonical row
+     */
+    private CanonicalBoard(GameBoard board, boolean transposed, boolean canonical, int[] columnOrder, int[] rowOrder) {
+        int size = board.getSize();
+        this.transposed = transposed;
+        this.canonical = canonical;
+        this.columnOrder = columnOrder;
+        this.rowOrder = rowOrder;
+        this.columnInverse = new int[size];
+        this.rowInverse = new int[size];
+        this.cells = new int[size][size];
+
+        long canonicalKey = 0;
+        for (int i = 0; i < size; i++) {
+            columnInverse[columnOrder[i]] = i;
+            rowInverse[rowOrder[i]] = i;
+        }
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                Position original = toOriginal(new Position(x, y));
+                GameTiles tile = board.getGameTileAt(original);
+                cells[x][y] = tile.ordinal();
+                canonicalKey ^= Zobrist.tileKey(x, y, tile);
+            }
+        }
+        this.key = canonicalKey;
+    }
+
+    /**
+     * Canonicalizes a gameBoard.
+     *
+     * @param board          gameBoard, up to MoveGenerator.MAX_SIZE
+     * @param allowTranspose flag, if transposed gameBoards are equivalent as well
+     * @return canonical form of gameBoard
+     */
+    static CanonicalBoard of(GameBoard board, boolean allowTranspose) {
+        //Packed rows and moves only fit gameBoards up to MoveGenerator.MAX_SIZE
+        if (board.getSize() > MoveGenerator.MAX_SIZE) {
+            throw new IllegalArgumentException("gameBoard is too big to be canonicalized");
+        }
+
+        Candidate best = canonicalize(toOrdinals(board, false));
+        boolean canonical = best.isComplete();
+        boolean transposed = false;
+
+        if (allowTranspose) {
+            Candidate other = canonicalize(toOrdinals(board, true));
+            canonical &= other.isComplete();
+            if (compareRows(other.rows, best.rows) < 0) {
+                best = other;
+                transposed = true;
+            }
+        }
+
+        return new CanonicalBoard(board, transposed, canonical, best.columnOrder, best.rowOrder);
+    }
+
+    //Getters:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Key Getter. Equivalent gameBoards have equal keys, as long as they are canonical.
+     * Equals the Zobrist key of a gameBoard holding the canonical form.
+     *
+     * @return Zobrist key of canonical gameBoard
+     */
+    long getKey() {
+        return key;
+    }
+
+    /**
+     * Transposed Flag Getter.
+     *
+     * @return true, if team vertical of the original gameBoard is team horizontal of the canonical one
+     */
+    boolean isTransposed() {
+        return transposed;
+    }
+
+    /**
+     * Canonical Flag Getter.
+     *
+     * @return true, if all equivalent gameBoards have this form | false, if the enumeration was capped
+     */
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    /**
+     * Creates a gameBoard holding the canonical form.
+     *
+     * @return canonical gameBoard
+     */
+    GameBoard toBoard() {
+        return new GameBoard(cells);
+    }
+
+    //Mapping:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Maps a Position of the original gameBoard to the canonical gameBoard.
+     *
+     * @param pos Position on original gameBoard
+     * @return Position on canonical gameBoard
+     */
+    Position toCanonical(Position pos) {
+        return transposed
+                ? new Position(columnInverse[pos.row()], rowInverse[pos.column()])
+                : new Position(columnInverse[pos.column()], rowInverse[pos.row()]);
+    }
+
+    /**
+     * Maps a Position of the canonical gameBoard back to the original gameBoard.
+     *
+     * @param pos Position on canonical gameBoard
+     * @return Position on original gameBoard
+     */
+    Position toOriginal(Position pos) {
+        return transposed
+                ? new Position(rowOrder[pos.row()], columnOrder[pos.column()])
+                : new Position(columnOrder[pos.column()], rowOrder[pos.row()]);
+    }
+
+    /**
+     * Maps the cells of a packed move of the original gameBoard to the canonical gameBoard.
+     * GameTiles, handSlot and points are kept.
+     *
+     * @param move packed move on original gameBoard
+     * @return packed move on canonical gameBoard
+     */
+    long toCanonical(long move) {
+        Position to = toCanonical(new Position(MoveGenerator.toColumn(move), MoveGenerator.toRow(move)));
+        Position from = MoveGenerator.hasFrom(move)
+                ? toCanonical(new Position(MoveGenerator.fromColumn(move), MoveGenerator.fromRow(move)))
+                : to;
+
+        return MoveGenerator.withCells(move, to.column(), to.row(), from.column(), from.row());
+    }
+
+    /**
+     * Maps the cells of a packed move of the canonical gameBoard back to the original gameBoard,
+     * e.g. a move of an opening book. GameTiles, handSlot and points are kept.
+     *
+     * @param move packed move on canonical gameBoard
+     * @return packed move on original gameBoard
+     */
+    long toOriginal(long move) {
+        Position to = toOriginal(new Position(MoveGenerator.toColumn(move), MoveGenerator.toRow(move)));
+        Position from = MoveGenerator.hasFrom(move)
+                ? toOriginal(new Position(MoveGenerator.fromColumn(move), MoveGenerator.fromRow(move)))
+                : to;
+
+        return MoveGenerator.withCells(move, to.column(), to.row(), from.column(), from.row());
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Canonicalizes a gameBoard under permutations of rows and columns.
+     *
+     * @param board GameTile ordinals, indexed by [column][row]
+     * @return smallest candidate
+     */
+    private static Candidate canonicalize(int[][] board) {
+        int size = board.length;
+
+        //Order columns by signature, equal signatures form a class
+        long[][] signatures = new long[size][];
+        Integer[] byColumnSignature = new Integer[size];
+        for (int x = 0; x < size; x++) {
+            signatures[x] = columnSignature(board, x);
+            byColumnSignature[x] = x;
+        }
+        Arrays.sort(byColumnSignature, (a, b) -> Arrays.compare(signatures[a], signatures[b]));
+
+        int[] classStart = new int[size];
+        long[] contents = new long[size];
+        for (int i = 0; i < size; i++) {
+            classStart[i] = i > 0 && Arrays.equals(signatures[byColumnSignature[i]],
+                    signatures[byColumnSignature[i - 1]]) ? classStart[i - 1] : i;
+            contents[i] = packColumn(board, byColumnSignature[i]);
+        }
+
+        Candidate best = new Candidate(size);
+        permute(board, byColumnSignature, classStart, contents, 0, new int[size], new boolean[size], best);
+
+        return best;
+    }
+
+    /**
+     * Permutes columns within their signature class and keeps the smallest gameBoard.
+     * Columns of equal content result in equal gameBoards and are only tried once per position.
+     * Stops after MAX_COLUMN_ORDERS column orders.
+     *
+     * @param board      GameTile ordinals, indexed by [column][row]
+     * @param sorted     columns ordered by signature
+     * @param classStart index of first column of the signature class of each index of sorted
+     * @param contents   packed content of each column of sorted
+     * @param position   next canonical column to choose
+     * @param order      chosen column order so far
+     * @param used       flags, if index of sorted is already chosen
+     * @param best       smallest candidate so far
+     */
+    private static void permute(int[][] board, Integer[] sorted, int[] classStart, long[] contents,
+                                int position, int[] order, boolean[] used, Candidate best) {
+        int size = board.length;
+        if (position == size) {
+            best.offer(board, order);
+            return;
+        }
+
+        for (int i = classStart[position]; i < size && classStart[i] == classStart[position]
+                && !best.isCapped(); i++) {
+            if (used[i] || isTriedContent(contents, used, classStart[position], i)) {
+                continue;
+            }
+
+            used[i] = true;
+            order[position] = sorted[i];
+            permute(board, sorted, classStart, contents, position + 1, order, used, best);
+            used[i] = false;
+        }
+    }
+
+    /**
+     * Checks, if an unused column of equal content precedes a column within its class.
+     *
+     * @param contents packed content of each column of sorted
+     * @param used     flags, if index of sorted is already chosen
+     * @param from     first index of class
+     * @param index    index of column
+     * @return column of equal content was already tried -> TRUE
+     */
+    private static boolean isTriedContent(long[] contents, boolean[] used, int from, int index) {
+        for (int i = from; i < index; i++) {
+            if (!used[i] && contents[i] == contents[index]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets signature of a column, which doesn't change under permutations: its histogram
+     * followed by the sorted pairs of histogram of row and GameTile of each of its cells.
+     *
+     * @param board  GameTile ordinals, indexed by [column][row]
+     * @param column column Index
+     * @return signature of column
+     */
+    private static long[] columnSignature(int[][] board, int column) {
+        int size = board.length;
+        long[] signature = new long[size + 1];
+
+        long[] histogram = new long[TILES.length];
+        for (int y = 0; y < size; y++) {
+            histogram[board[column][y]]++;
+
+            long[] rowHistogram = new long[TILES.length];
+            for (int x = 0; x < size; x++) {
+                rowHistogram[board[x][y]]++;
+            }
+            signature[y + 1] = (packHistogram(rowHistogram) << TILE_BITS) | board[column][y];
+        }
+        signature[0] = packHistogram(histogram);
+        Arrays.sort(signature, 1, signature.length);
+
+        return signature;
+    }
+
+    /**
+     * Packs a histogram of a segment into a single number.
+     *
+     * @param histogram counts, indexed by GameTile ordinal
+     * @return packed histogram
+     */
+    private static long packHistogram(long[] histogram) {
+        long packed = 0;
+        for (long count : histogram) {
+            packed = packed * HISTOGRAM_BASE + count;
+        }
+
+        return packed;
+    }
+
+    /**
+     * Packs GameTiles of a column, first row in the highest bits.
+     *
+     * @param board  GameTile ordinals, indexed by [column][row]
+     * @param column column Index
+     * @return packed column
+     */
+    private static long packColumn(int[][] board, int column) {
+        long packed = 0;
+        for (int y = 0; y < board.length; y++) {
+            packed = (packed << TILE_BITS) | board[column][y];
+        }
+
+        return packed;
+    }
+
+    /**
+     * Compares two sorted packed gameBoards row by row.
+     *
+     * @param first  packed rows of first gameBoard
+     * @param second packed rows of second gameBoard
+     * @return negative, if first is smaller | 0, if equal | positive, if second is smaller
+     */
+    private static int compareRows(long[] first, long[] second) {
+        return Arrays.compareUnsigned(first, second);
+    }
+
+    /**
+     * Copies GameTile ordinals of a gameBoard.
+     *
+     * @param board      gameBoard
+     * @param transposed flag, if copy is transposed
+     * @return GameTile ordinals, indexed by [column][row]
+     */
+    private static int[][] toOrdinals(GameBoard board, boolean transposed) {
+        int size = board.getSize();
+        int[][] ordinals = new int[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                ordinals[x][y] = (transposed ? board.getGameTileAt(y, x) : board.getGameTileAt(x, y)).ordinal();
+            }
+        }
+
+        return ordinals;
+    }
+
+    /**
+     * Smallest gameBoard of the column orders tried so far.
+     */
+    private static final class Candidate {
+        /**
+         * Sorted packed rows, each in canonical column order
+         */
+        private long[] rows;
+        /**
+         * Column order of smallest gameBoard
+         */
+        private int[] columnOrder;
+        /**
+         * Row order of smallest gameBoard
+         */
+        private int[] rowOrder;
+        /**
+         * Number of tried column orders
+         */
+        private int orders;
+        /**
+         * Flag, if column orders were left out after MAX_COLUMN_ORDERS
+         */
+        private boolean capped;
+
+        /**
+         * Candidate Constructor.
+         *
+         * @param size gameBoard size
+         */
+        private Candidate(int size) {
+            this.rows = null;
+            this.columnOrder = new int[size];
+            this.rowOrder = new int[size];
+        }
+
+        /**
+         * Checks, if no further column orders may be tried, because a column order
+         * after the last allowed one was offered.
+         *
+         * @return column orders left out -> TRUE
+         */
+        private boolean isCapped() {
+            return capped;
+        }
+
+        /**
+         * Checks, if all column orders were tried.
+         *
+         * @return all column orders tried -> TRUE
+         */
+        private boolean isComplete() {
+            return !capped;
+        }
+
+        /**
+         * Sorts the rows of a column order and keeps the resulting gameBoard, if it is smaller.
+         * Column orders after MAX_COLUMN_ORDERS are not tried.
+         *
+         * @param board GameTile ordinals, indexed by [column][row]
+         * @param order column order
+         */
+        private void offer(int[][] board, int[] order) {
+            //Column order after the last allowed one is left out and marks the candidate as incomplete
+            if (orders == MAX_COLUMN_ORDERS) {
+                capped = true;
+                return;
+            }
+
+            int size = board.length;
+            orders++;
+            long[] packed = new long[size];
+            Integer[] byRow = new Integer[size];
+            for (int y = 0; y < size; y++) {
+                for (int position = 0; position < size; position++) {
+                    packed[y] = (packed[y] << TILE_BITS) | board[order[position]][y];
+                }
+                byRow[y] = y;
+            }
+            Arrays.sort(byRow, (a, b) -> Long.compareUnsigned(packed[a], packed[b]));
+
+            long[] sortedRows = new long[size];
+            for (int i = 0; i < size; i++) {
+                sortedRows[i] = packed[byRow[i]];
+            }
+
+            if (rows == null || compareRows(sortedRows, rows) < 0) {
+                rows = sortedRows;
+                columnOrder = order.clone();
+                for (int i = 0; i < size; i++) {
+                    rowOrder[i] = byRow[i];
+                }
+            }
+        }
+    }
+}
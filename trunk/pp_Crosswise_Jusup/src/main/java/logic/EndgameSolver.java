@@ -0,0 +1,698 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static logic.Game.HAND_SIZE;
+
+/**
+ * Exact endgame solver of the AI. Once the tileBag is exhausted, no GameTile is drawn
+ * anymore and the unseen GameTiles are exactly the GameTiles in the other playerHands.
+ * They follow from the GameTiles on the gameBoard, in the own playerHand and the used
+ * wildcards.
+ * <p>
+ * The solver enumerates every assignment of the unseen GameTiles to the other playerHands,
+ * which is consistent with their number of GameTiles. Each assignment is weighted by its
+ * probability under a random deal. Every assignment is solved with perfect information to
+ * the end of the game by alpha-beta search over all turns of all players, including
+ * wildcards. A game ends on a WinOfSixes, a full gameBoard or when the player to move is
+ * unable to make a turn, just as in GameEngine.
+ * <p>
+ * Outcomes are rewards of the searching team: 1 for a win, 0.5 for a draw, 0 for a loss.
+ * The best turn is the one with the highest expected reward over all assignments. A root
+ * turn stops being searched, as soon as it cannot beat the best turn anymore, even if it
+ * wins all remaining assignments.
+ * <p>
+ * Turns are searched in order of their immediate gain, the best turn of a cached position
+ * first. Positions are cached in a TranspositionTable, keyed by gameBoard, all playerHands
+ * and the player to move, so transpositions within and across assignments are solved once.
+ * A search is limited by a node budget and a time budget, an interrupt of the calling thread
+ * ends it as well. If a limit is hit, the best root turn, which was searched completely, is
+ * returned.
+ * <p>
+ * Not thread-safe.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class EndgameSolver {
+
+    /**
+     * Result of a search without any completely searched turn
+     */
+    static final long NO_MOVE = -1L;
+    /**
+     * Reward of a won game
+     */
+    private static final double WIN = 1;
+    /**
+     * Reward of a drawn game
+     */
+    private static final double DRAW = 0.5;
+    /**
+     * Reward of a lost game
+     */
+    private static final double LOSS = 0;
+    /**
+     * Marker of a position, which does not end the game
+     */
+    private static final double ONGOING = -1;
+    /**
+     * Number of nodes between two checks of the time budget
+     */
+    private static final int TIME_CHECK_INTERVAL = 256;
+    /**
+     * Memory cap of the own transposition table in MB
+     */
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    /**
+     * Seed of the keys of solved positions, separates them from positions of the lookahead
+     */
+    private static final long SOLVER_SEED = 0x456E6467616D65L;
+    /**
+     * All GameTiles, indexed by ordinal
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+
+    /**
+     * Maximal number of evaluated positions per search
+     */
+    private final long nodeBudget;
+    /**
+     * Maximal time per search in ns
+     */
+    private final long timeBudget;
+    /**
+     * Cache of solved positions
+     */
+    private final TranspositionTable table;
+    /**
+     * Reused entry of transposition table probes
+     */
+    private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+    /**
+     * Move generators of team vertical [0] and team horizontal [1]
+     */
+    private final MoveGenerator[] generators = {new MoveGenerator(true), new MoveGenerator(false)};
+    /**
+     * Reused histogram of a segment
+     */
+    private final int[] segmentTiles = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+
+    /**
+     * Solved copy of the gameBoard
+     */
+    private GameBoard board;
+    /**
+     * TurnScorer of solved gameBoard
+     */
+    private TurnScorer scorer;
+    /**
+     * playerHands of all players, the other ones as dealt by current assignment
+     */
+    private GameTiles[][] hands;
+    /**
+     * List views of playerHands, for generating moves
+     */
+    private List<List<GameTiles>> handViews;
+    /**
+     * GameTile counts of playerHands, indexed by [player][GameTile ordinal]
+     */
+    private int[][] handCounts;
+    /**
+     * Index of player to move
+     */
+    private int currentPlayer;
+    /**
+     * Team Flag of the searching player
+     */
+    private boolean isVerticalTeam;
+    /**
+     * Key of solved positions of the searching team, rewards of both teams differ
+     */
+    private long solverKey;
+    /**
+     * Number of evaluated positions of current search
+     */
+    private long nodes;
+    /**
+     * End of time budget of current search in ns
+     */
+    private long deadline;
+    /**
+     * Flag, if a budget of current search is exhausted
+     */
+    private boolean aborted;
+    /**
+     * Expected reward of the best turn of last search
+     */
+    private double expectedOutcome;
+    /**
+     * Number of consistent assignments of last search
+     */
+    private int assignments;
+
+
+    /**
+     * EndgameSolver Constructor with an own transposition table.
+     *
+     * @param nodeBudget maximal number of evaluated positions per search
+     * @param timeBudget maximal time per search in ms
+     */
+    public EndgameSolver(long nodeBudget, long timeBudget) {
+        this(nodeBudget, timeBudget, new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+
+    /**
+     * EndgameSolver Constructor. The table may be shared with the lookahead of the AI,
+     * solved positions are keyed apart from searched ones.
+     *
+     * @param nodeBudget maximal number of evaluated positions per search
+     * @param timeBudget maximal time per search in ms
+     * @param table      cache of solved positions
+     */
+    public EndgameSolver(long nodeBudget, long timeBudget, TranspositionTable table) {
+        if (nodeBudget < 1 || timeBudget < 1) {
+            throw new IllegalArgumentException("Budgets must be positive");
+        }
+        if (table == null) {
+            throw new IllegalArgumentException("EndgameSolver needs a transposition table");
+        }
+
+        this.nodeBudget = nodeBudget;
+        this.timeBudget = timeBudget * 1_000_000L;
+        this.table = table;
+    }
+
+    //Getters:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Expected outcome Getter of the last search.
+     *
+     * @return expected reward of the returned turn within [0, 1] | reward of the game end, if no turn was possible
+     */
+    public double getExpectedOutcome() {
+        return expectedOutcome;
+    }
+
+    /**
+     * Number of evaluated positions Getter of the last search.
+     *
+     * @return number of evaluated positions
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Number of consistent assignments Getter of the last search.
+     *
+     * @return number of assignments of the unseen GameTiles to the other playerHands
+     */
+    public int getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Flag Getter, if the last search exhausted a budget.
+     *
+     * @return true, if a budget was exhausted
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    //Search::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Solves the best turn of a player. The tileBag must be exhausted.
+     *
+     * @param board         gameBoard, must be supported by MoveGenerator. Not manipulated
+     * @param playerHand    playerHand of searching player
+     * @param playerIdx     index of searching player
+     * @param handSizes     number of GameTiles in the playerHand of each active player
+     * @param usedWildcards usedWildcards
+     * @return best packed move | NO_MOVE, if no turn is possible, the unseen GameTiles don't
+     * fit into the other playerHands or no turn could be searched completely
+     */
+    long solve(GameBoard board, List<GameTiles> playerHand, int playerIdx, int[] handSizes, int[] usedWildcards) {
+        this.board = new GameBoard(board);
+        this.scorer = new TurnScorer(this.board);
+        this.isVerticalTeam = Utilities.isVerticalTeam(playerIdx);
+        this.solverKey = Zobrist.mix(SOLVER_SEED ^ (isVerticalTeam ? 1 : 0));
+        this.nodes = 0;
+        this.aborted = false;
+        this.deadline = System.nanoTime() + timeBudget;
+        initHands(playerHand, playerIdx, handSizes.length);
+
+        //Unseen GameTiles must fill the other playerHands exactly
+        TileInventory unseen = new TileInventory();
+        unseen.removeBoard(board);
+        unseen.removeAll(playerHand);
+        unseen.removeUsedWildcards(usedWildcards);
+
+        int othersTotal = 0;
+        for (int i = 0; i < handSizes.length; i++) {
+            othersTotal += i == playerIdx ? 0 : handSizes[i];
+        }
+
+        List<int[][]> deals = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        if (unseen.getTotal() == othersTotal) {
+            int[] remaining = new int[TILES.length];
+            for (int ordinal = 0; ordinal < remaining.length; ordinal++) {
+                remaining[ordinal] = unseen.getCount(ordinal);
+            }
+            enumerate(0, GameTiles.T_SUN.ordinal(), handSizes[0], remaining,
+                    new int[handSizes.length][TILES.length], 1, playerIdx, handSizes, deals, weights);
+        }
+        assignments = deals.size();
+
+        long[] rootMoves = generate();
+        if (assignments == 0 || rootMoves.length == 0) {
+            expectedOutcome = outcome();
+            return NO_MOVE;
+        }
+
+        //Weights are summed in the same order as values, so a sure win is exactly totalWeight
+        double totalWeight = 0;
+        for (double weight : weights) {
+            totalWeight += weight;
+        }
+        long bestMove = NO_MOVE;
+        double bestValue = -1;
+
+        //Root moves with a higher gain are searched first
+        for (int i = rootMoves.length - 1; i >= 0 && !aborted; i--) {
+            double sum = 0;
+            double remainingWeight = totalWeight;
+
+            for (int d = 0; d < deals.size() && !aborted; d++) {
+                deal(deals.get(d), playerIdx);
+                sum += weights.get(d) * valueAfter(rootMoves[i], LOSS, WIN);
+                remainingWeight -= weights.get(d);
+
+                //Turn can't beat best turn anymore, even if it wins the remaining assignments
+                if (sum + remainingWeight * WIN <= bestValue) {
+                    break;
+                }
+            }
+
+            //Only completely searched turns are comparable
+            if (!aborted && sum > bestValue) {
+                bestValue = sum;
+                bestMove = rootMoves[i];
+            }
+        }
+
+        expectedOutcome = bestMove == NO_MOVE ? 0 : bestValue / totalWeight;
+        return bestMove;
+    }
+
+    /**
+     * Gets value of current position, with the current player to move.
+     *
+     * @param alpha lower bound of interest
+     * @param beta  upper bound of interest
+     * @return reward of searching team
+     */
+    private double value(double alpha, double beta) {
+        if (isExhausted()) {
+            aborted = true;
+            return 0;
+        }
+
+        long hash = board.getZobristKey() ^ handsKey() ^ Zobrist.sideToMoveKey(currentPlayer) ^ solverKey;
+        int tilesLeft = getTilesLeft();
+        int firstIndex = TranspositionTable.NO_MOVE;
+        if (table.probe(hash, entry)) {
+            if (entry.bound == TranspositionTable.EXACT
+                    || (entry.bound == TranspositionTable.LOWER && entry.score >= beta)
+                    || (entry.bound == TranspositionTable.UPPER && entry.score <= alpha)) {
+                return entry.score;
+            }
+            firstIndex = entry.bestMove;
+        }
+
+        //Player, who is unable to make a turn, ends the game
+        long[] moves = generate();
+        if (moves.length == 0) {
+            double outcome = outcome();
+            table.store(hash, tilesLeft, TranspositionTable.EXACT, TranspositionTable.NO_MOVE, outcome);
+            return outcome;
+        }
+
+        boolean maximizing = Utilities.isVerticalTeam(currentPlayer) == isVerticalTeam;
+        double alphaBefore = alpha;
+        double betaBefore = beta;
+        double best = maximizing ? LOSS - 1 : WIN + 1;
+        int bestIndex = TranspositionTable.NO_MOVE;
+        if (firstIndex >= moves.length) {
+            firstIndex = TranspositionTable.NO_MOVE;
+        }
+
+        //Best move of transposition table first, then all moves by descending gain
+        for (int k = firstIndex == TranspositionTable.NO_MOVE ? moves.length - 1 : moves.length; k >= 0; k--) {
+            int index = k == moves.length ? firstIndex : k;
+            if (k < moves.length && index == firstIndex) {
+                continue;
+            }
+
+            double value = valueAfter(moves[index], alpha, beta);
+            if (aborted) {
+                return 0;
+            }
+
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestIndex = index;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = best <= alphaBefore ? TranspositionTable.UPPER
+                : best >= betaBefore ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(hash, tilesLeft, bound, bestIndex < TranspositionTable.NO_MOVE ? bestIndex : TranspositionTable.NO_MOVE,
+                best);
+
+        return best;
+    }
+
+    /**
+     * Plays a move of the current player, gets value of the resulting position and
+     * reverts the move.
+     *
+     * @param move  packed move
+     * @param alpha lower bound of interest
+     * @param beta  upper bound of interest
+     * @return reward of searching team
+     */
+    private double valueAfter(long move, double alpha, double beta) {
+        int player = currentPlayer;
+        int handSlot = MoveGenerator.handSlot(move);
+        int toColumn = MoveGenerator.toColumn(move);
+        int toRow = MoveGenerator.toRow(move);
+        int wildcardSlot = -1;
+
+        //playerHand: wildcards and played GameTiles are not refilled anymore
+        switch (MoveGenerator.type(move)) {
+            case MoveGenerator.TYPE_REMOVER -> setHandTile(player, handSlot, board.getGameTileAt(toColumn, toRow));
+            case MoveGenerator.TYPE_SWAPWITHHAND -> {
+                wildcardSlot = indexOf(player, GameTiles.WC_SWAPWITHHAND);
+                setHandTile(player, wildcardSlot, GameTiles.EMPTY);
+                setHandTile(player, handSlot, MoveGenerator.toSwap(move));
+            }
+            default -> setHandTile(player, handSlot, GameTiles.EMPTY);
+        }
+        long token = MoveGenerator.apply(board, move);
+        currentPlayer = (player + 1) % hands.length;
+
+        double value = result();
+        if (value == ONGOING) {
+            value = value(alpha, beta);
+        }
+
+        //Revert in reverse order
+        currentPlayer = player;
+        board.undo(token);
+        switch (MoveGenerator.type(move)) {
+            case MoveGenerator.TYPE_REMOVER -> setHandTile(player, handSlot, GameTiles.WC_REMOVER);
+            case MoveGenerator.TYPE_SWAPWITHHAND -> {
+                setHandTile(player, handSlot, MoveGenerator.toPlace(move));
+                setHandTile(player, wildcardSlot, GameTiles.WC_SWAPWITHHAND);
+            }
+            default -> setHandTile(player, handSlot, MoveGenerator.type(move) == MoveGenerator.TYPE_BASIC
+                    ? MoveGenerator.toPlace(move)
+                    : MoveGenerator.wildcard(move));
+        }
+
+        return value;
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Enumerates all assignments of the unseen GameTiles to the other playerHands, GameTile
+     * type by GameTile type and player by player. The weight of an assignment is proportional
+     * to the number of deals resulting in it: the product of 1 / count! over all playerHands
+     * and GameTile types.
+     *
+     * @param player    player to assign GameTiles to
+     * @param ordinal   GameTile type to assign next
+     * @param left      GameTiles still missing in playerHand of player
+     * @param remaining unassigned GameTiles, indexed by ordinal
+     * @param deal      current assignment, indexed by [player][GameTile ordinal]
+     * @param weight    weight of current assignment so far
+     * @param playerIdx index of searching player, who is not dealt
+     * @param handSizes number of GameTiles in the playerHand of each active player
+     * @param deals     list to add complete assignments to
+     * @param weights   list to add weights of complete assignments to
+     */
+    private static void enumerate(int player, int ordinal, int left, int[] remaining, int[][] deal, double weight,
+                                  int playerIdx, int[] handSizes, List<int[][]> deals, List<Double> weights) {
+        //Searching player and completed playerHands continue with the next player
+        if (player == playerIdx || left == 0) {
+            if (player + 1 < handSizes.length) {
+                int next = player + 1;
+                enumerate(next, GameTiles.T_SUN.ordinal(), next == playerIdx ? 0 : handSizes[next],
+                        remaining, deal, weight, playerIdx, handSizes, deals, weights);
+            } else {
+                int[][] copy = new int[deal.length][];
+                for (int i = 0; i < deal.length; i++) {
+                    copy[i] = deal[i].clone();
+                }
+                deals.add(copy);
+                weights.add(weight);
+            }
+            return;
+        }
+        if (ordinal >= TILES.length) {
+            return;
+        }
+
+        double factorial = 1;
+        for (int count = 0; count <= Math.min(left, remaining[ordinal]); count++) {
+            if (count > 0) {
+                factorial *= count;
+            }
+            deal[player][ordinal] = count;
+            remaining[ordinal] -= count;
+            enumerate(player, ordinal + 1, left - count, remaining, deal, weight / factorial,
+                    playerIdx, handSizes, deals, weights);
+            remaining[ordinal] += count;
+        }
+        deal[player][ordinal] = 0;
+    }
+
+    /**
+     * Initializes playerHands. The playerHand of the searching player keeps its handSlots,
+     * the other ones are filled by deal.
+     *
+     * @param playerHand playerHand of searching player
+     * @param playerIdx  index of searching player
+     * @param players    number of active players
+     */
+    private void initHands(List<GameTiles> playerHand, int playerIdx, int players) {
+        hands = new GameTiles[players][];
+        handViews = new ArrayList<>(players);
+        handCounts = new int[players][TILES.length];
+        currentPlayer = playerIdx;
+
+        for (int i = 0; i < players; i++) {
+            hands[i] = new GameTiles[i == playerIdx ? playerHand.size() : HAND_SIZE];
+            handViews.add(Arrays.asList(hands[i]));
+        }
+
+        for (int i = 0; i < playerHand.size(); i++) {
+            setHandTile(playerIdx, i, playerHand.get(i));
+        }
+    }
+
+    /**
+     * Deals an assignment to the other playerHands.
+     *
+     * @param deal      assignment, indexed by [player][GameTile ordinal]
+     * @param playerIdx index of searching player, who is not dealt
+     */
+    private void deal(int[][] deal, int playerIdx) {
+        for (int i = 0; i < hands.length; i++) {
+            if (i == playerIdx) {
+                continue;
+            }
+
+            //playerHands of test setups may hold more GameTiles than handSlots
+            int dealt = Arrays.stream(deal[i]).sum();
+            if (hands[i].length < dealt) {
+                hands[i] = new GameTiles[dealt];
+                handViews.set(i, Arrays.asList(hands[i]));
+            }
+
+            Arrays.fill(hands[i], GameTiles.EMPTY);
+            Arrays.fill(handCounts[i], 0);
+            handCounts[i][GameTiles.EMPTY.ordinal()] = hands[i].length;
+
+            int slot = 0;
+            for (int ordinal = GameTiles.T_SUN.ordinal(); ordinal < TILES.length; ordinal++) {
+                for (int count = 0; count < deal[i][ordinal]; count++) {
+                    setHandTile(i, slot++, TILES[ordinal]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates all moves of the current player. Equal GameTiles in several
+     * handSlots are only generated once.
+     *
+     * @return packed moves, ascending by gain
+     */
+    private long[] generate() {
+        MoveGenerator generator = generators[Utilities.isVerticalTeam(currentPlayer) ? 0 : 1];
+        generator.reset(board, scorer);
+
+        GameTiles[] hand = hands[currentPlayer];
+        List<GameTiles> view = handViews.get(currentPlayer);
+        for (int i = 0; i < hand.length; i++) {
+            if (hand[i] != GameTiles.EMPTY && view.indexOf(hand[i]) == i) {
+                generator.generate(hand[i], i, view);
+            }
+        }
+
+        //Gain is stored in the topmost bits, so sorting packed moves orders them by gain
+        long[] moves = new long[generator.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = generator.get(i);
+        }
+        Arrays.sort(moves);
+
+        return moves;
+    }
+
+    /**
+     * Checks, if current position ends the game by a WinOfSixes or a full gameBoard.
+     *
+     * @return reward of searching team | ONGOING, if game goes on
+     */
+    private double result() {
+        int vertical = getTeamPoints(true);
+        int horizontal = getTeamPoints(false);
+
+        if (vertical != Integer.MAX_VALUE && horizontal != Integer.MAX_VALUE && !board.isFull()) {
+            return ONGOING;
+        }
+        return reward(vertical, horizontal);
+    }
+
+    /**
+     * Gets reward of searching team, if the game ends in current position.
+     *
+     * @return reward of searching team
+     */
+    private double outcome() {
+        return reward(getTeamPoints(true), getTeamPoints(false));
+    }
+
+    /**
+     * Gets reward of searching team by team points, just as GameEngine determines the winner.
+     *
+     * @param vertical   points of team vertical
+     * @param horizontal points of team horizontal
+     * @return reward of searching team
+     */
+    private double reward(int vertical, int horizontal) {
+        if (vertical == horizontal) {
+            return DRAW;
+        }
+        return (vertical > horizontal) == isVerticalTeam ? WIN : LOSS;
+    }
+
+    /**
+     * Calculates points of specified team. A WinOfSixes results in Integer.MAX_VALUE.
+     *
+     * @param isVertical team Flag
+     * @return team points
+     */
+    private int getTeamPoints(boolean isVertical) {
+        int pointSum = 0;
+        for (int i = 0; i < board.getSize(); i++) {
+            board.copyTilesPerSegment(i, isVertical, segmentTiles);
+            pointSum = Game.addSegmentPoints(pointSum, PointsTable.points(segmentTiles));
+        }
+
+        return pointSum;
+    }
+
+    /**
+     * Counts an evaluated position and checks budgets and interrupts of the caller.
+     *
+     * @return true, if a budget is exhausted or the caller was interrupted
+     */
+    private boolean isExhausted() {
+        nodes++;
+        return aborted || nodes > nodeBudget || (nodes % TIME_CHECK_INTERVAL == 0
+                && (System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted()));
+    }
+
+    /**
+     * Counts GameTiles left in all playerHands. Equal positions always have
+     * equal counts, used as remaining depth of cached positions.
+     *
+     * @return number of GameTiles in playerHands, at most 255
+     */
+    private int getTilesLeft() {
+        int tilesLeft = 0;
+        for (int i = 0; i < hands.length; i++) {
+            tilesLeft += hands[i].length - handCounts[i][GameTiles.EMPTY.ordinal()];
+        }
+
+        return Math.min(tilesLeft, 255);
+    }
+
+    /**
+     * Gets key of all playerHands. Only the multiset of each playerHand matters.
+     *
+     * @return key of playerHands
+     */
+    private long handsKey() {
+        long key = 0;
+        for (int i = 0; i < handCounts.length; i++) {
+            key ^= Zobrist.mix(Zobrist.handKey(handCounts[i]) ^ i);
+        }
+
+        return key;
+    }
+
+    /**
+     * Looks for first handSlot of specified GameTile in a playerHand.
+     *
+     * @param player index of player
+     * @param tile   GameTile to look for
+     * @return handSlot | -1, if not in playerHand
+     */
+    private int indexOf(int player, GameTiles tile) {
+        return handViews.get(player).indexOf(tile);
+    }
+
+    /**
+     * Sets GameTile of a handSlot and keeps the counts of the playerHand up to date.
+     *
+     * @param player   index of player
+     * @param handSlot handSlot Index
+     * @param tile     new GameTile
+     */
+    private void setHandTile(int player, int handSlot, GameTiles tile) {
+        GameTiles previous = hands[player][handSlot];
+        if (previous != null) {
+            handCounts[player][previous.ordinal()]--;
+        }
+        hands[player][handSlot] = tile;
+        handCounts[player][tile.ordinal()]++;
+    }
+}
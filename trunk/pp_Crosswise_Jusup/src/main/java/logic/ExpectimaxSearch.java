@@ -0,0 +1,772 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expectimax lookahead of the AI_Player. Searches a configurable number of plies, where
+ * a ply is the turn of one player. Teams alternate every ply, the root ply is the turn
+ * of the AI itself with its known playerHand.
+ * <p>
+ * The AI cannot see other playerHands. The GameTile a following player plays is therefore
+ * modelled as the GameTile drawn from the tileBag after the previous turn: every following
+ * ply is a chance node over all standard GameTile types, weighted by how many of them are
+ * still unseen (not on the gameBoard and not in the own playerHand). Afterwards the player
+ * places the drawn GameTile on the best free cell for its team. Wildcards of other players
+ * are not modelled.
+ * <p>
+ * Positions are evaluated as team points minus opponent points. A WinOfSixes or a full
+ * gameBoard ends the game and is evaluated as +-WIN. Since every evaluation lies within
+ * [-WIN, WIN], alpha-beta pruning is used at the players' nodes and Star1 pruning at the
+ * chance nodes.
+ * <p>
+ * A search is limited by depth, a node budget and a time budget. If a budget is exhausted,
+ * the best root move, which was searched completely, is returned. Root moves are searched
+ * in order of their immediate gain.
+ * <p>
+ * An iterative search deepens one ply after another until the maximal depth or a deadline
+ * of the caller is reached. The best move of the deepest completed iteration is returned
+ * and searched first in the next iteration. Budgets are polled during the search, so
+ * stopping is cooperative and happens within a few hundred evaluated positions. An
+ * interrupt of the calling thread is polled the same way and ends the search like a
+ * passed deadline.
+ * <p>
+ * An optional TranspositionTable remembers the values of the players' nodes, also across
+ * searches. Only entries of equal remaining depth are used for cutoffs, other entries
+ * just provide the cell to try first.
+ * <p>
+ * In parallel mode, the root moves are split across a ForkJoinPool. Every worker searches
+ * its root moves on an own copy of the gameBoard. Workers share the best value so far as
+ * lower bound and the number of evaluated positions, both lock-free. The best root move is
+ * the one with the highest value and, among equal values, the one searched first, just
+ * as in a sequential search. Therefore, a search which completes within its budgets returns
+ * the same move regardless of the number of threads and their scheduling.
+ * <p>
+ * Manipulates the gameBoard via apply / undo, the gameBoard is restored after a search.
+ * Not thread-safe, even in parallel mode a single search runs at a time.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+class ExpectimaxSearch {
+
+    /**
+     * Result of a search without any completely searched root move
+     */
+    static final long NO_MOVE = -1L;
+    /**
+     * Maximal points of a segment without WinOfSixes (five equal GameTiles)
+     */
+    private static final int MAX_SEGMENT_POINTS = 7;
+    /**
+     * Number of nodes between two checks of the time budget
+     */
+    private static final int TIME_CHECK_INTERVAL = 256;
+    /**
+     * All GameTiles, indexed by ordinal
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+
+    /**
+     * Team Flag of the searching AI
+     */
+    private final boolean isVerticalTeam;
+    /**
+     * Maximal searched plies, including the root ply
+     */
+    private final int maxDepth;
+    /**
+     * Maximal number of evaluated positions per search
+     */
+    private final long nodeBudget;
+    /**
+     * Maximal time per search in ns
+     */
+    private final long timeBudget;
+    /**
+     * Generator of root moves | null, if worker of a parallel search
+     */
+    private final MoveGenerator generator;
+    /**
+     * Pool of parallel searches | null, if searched sequentially
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Shared state of parallel search | null, if not a worker of a parallel search
+     */
+    private final SharedState shared;
+    /**
+     * Reused histogram of a segment
+     */
+    private final int[] segmentTiles = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+    /**
+     * Unseen GameTiles, updated by every drawn GameTile of a chance node
+     */
+    private final TileInventory unseen = new TileInventory();
+    /**
+     * Reused entry of transposition table probes
+     */
+    private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+
+    /**
+     * Transposition table | null, if positions are not remembered
+     */
+    private TranspositionTable table;
+    /**
+     * Searched gameBoard
+     */
+    private GameBoard board;
+    /**
+     * Searched plies of current search or iteration, including the root ply
+     */
+    private int depth;
+    /**
+     * Deepest completed iteration of last iterative search
+     */
+    private int completedDepth;
+    /**
+     * Value of a won game, bound of all evaluations
+     */
+    private double winValue;
+    /**
+     * Number of evaluated positions of current search
+     */
+    private long nodes;
+    /**
+     * End of time budget of current search in ns
+     */
+    private long deadline;
+    /**
+     * Flag, if a budget of current search is exhausted
+     */
+    private boolean aborted;
+    /**
+     * Flag, if last evaluated position ends the game
+     */
+    private boolean terminal;
+
+
+    /**
+     * ExpectimaxSearch Constructor.
+     *
+     * @param isVerticalTeam team Flag of the searching AI
+     * @param depth          maximal searched plies, including the root ply
+     * @param nodeBudget     maximal number of evaluated positions per search
+     * @param timeBudget     maximal time per search in ms
+     */
+    ExpectimaxSearch(boolean isVerticalTeam, int depth, long nodeBudget, long timeBudget) {
+        this(isVerticalTeam, depth, nodeBudget, timeBudget, null);
+    }
+
+    /**
+     * ExpectimaxSearch Constructor for a parallel search.
+     *
+     * @param isVerticalTeam team Flag of the searching AI
+     * @param depth          maximal searched plies, including the root ply
+     * @param nodeBudget     maximal number of evaluated positions per search, for all threads
+     * @param timeBudget     maximal time per search in ms
+     * @param pool           pool to split root moves across | null, if searched sequentially
+     */
+    ExpectimaxSearch(boolean isVerticalTeam, int depth, long nodeBudget, long timeBudget, ForkJoinPool pool) {
+        if (depth < 1 || nodeBudget < 1 || timeBudget < 1) {
+            throw new IllegalArgumentException("Search depth and budgets must be positive");
+        }
+
+        this.isVerticalTeam = isVerticalTeam;
+        this.maxDepth = depth;
+        this.depth = depth;
+        this.nodeBudget = nodeBudget;
+        this.timeBudget = timeBudget * 1_000_000L;
+        this.generator = new MoveGenerator(isVerticalTeam);
+        this.pool = pool;
+        this.shared = null;
+    }
+
+    /**
+     * Worker Constructor of a parallel search. Copies gameBoard and unseen
+     * GameTiles of the searching instance.
+     *
+     * @param parent searching instance
+     * @param shared shared state of parallel search
+     */
+    private ExpectimaxSearch(ExpectimaxSearch parent, SharedState shared) {
+        this.isVerticalTeam = parent.isVerticalTeam;
+        this.maxDepth = parent.maxDepth;
+        this.depth = parent.depth;
+        this.nodeBudget = parent.nodeBudget;
+        this.timeBudget = parent.timeBudget;
+        this.generator = null;
+        this.pool = null;
+        this.shared = shared;
+
+        this.table = parent.table;
+        this.board = new GameBoard(parent.board);
+        this.winValue = parent.winValue;
+        this.deadline = parent.deadline;
+        this.unseen.copyFrom(parent.unseen);
+    }
+
+    /**
+     * Number of evaluated positions Getter of the last search.
+     *
+     * @return number of evaluated positions
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Transposition table Setter. A table must not be used by searches of different
+     * gameBoard sizes at the same time.
+     *
+     * @param table transposition table | null, if positions should not be remembered
+     */
+    void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Flag Getter, if the last search exhausted a budget.
+     *
+     * @return true, if a budget was exhausted
+     */
+    boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Deepest completed iteration Getter of the last iterative search.
+     *
+     * @return searched plies of deepest completed iteration | 0, if none completed
+     */
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Searches the best move of the AI up to the maximal depth.
+     *
+     * @param board      gameBoard to search on, must be supported by MoveGenerator
+     * @param scorer     TurnScorer of gameBoard
+     * @param playerHand playerHand of the AI
+     * @return best packed move | NO_MOVE, if no root move could be searched completely
+     */
+    long search(GameBoard board, TurnScorer scorer, List<GameTiles> playerHand) {
+        long[] rootMoves = prepare(board, scorer, playerHand, System.nanoTime() + timeBudget);
+        depth = maxDepth;
+
+        return rootMoves == null ? NO_MOVE : searchRoot(rootMoves);
+    }
+
+    /**
+     * Searches the best move of the AI with iterative deepening until the maximal depth,
+     * the deadline or a budget is reached.
+     *
+     * @param board      gameBoard to search on, must be supported by MoveGenerator
+     * @param scorer     TurnScorer of gameBoard
+     * @param playerHand playerHand of the AI
+     * @param deadline   deadline of the caller as System.nanoTime() value
+     * @return best packed move of deepest completed iteration | NO_MOVE, if none completed
+     */
+    long searchIterative(GameBoard board, TurnScorer scorer, List<GameTiles> playerHand, long deadline) {
+        long budgetEnd = System.nanoTime() + timeBudget;
+        long[] rootMoves = prepare(board, scorer, playerHand, deadline - budgetEnd < 0 ? deadline : budgetEnd);
+        long bestMove = NO_MOVE;
+        completedDepth = 0;
+
+        for (int plies = 1; rootMoves != null && plies <= maxDepth; plies++) {
+            depth = plies;
+            long move = searchRoot(rootMoves);
+            if (aborted) {
+                break;
+            }
+
+            bestMove = move;
+            completedDepth = plies;
+
+            //Best move is searched first in next iteration, others keep their order
+            for (int i = 0; i < rootMoves.length - 1; i++) {
+                if (rootMoves[i] == move) {
+                    System.arraycopy(rootMoves, i + 1, rootMoves, i, rootMoves.length - 1 - i);
+                    rootMoves[rootMoves.length - 1] = move;
+                    break;
+                }
+            }
+        }
+
+        return bestMove;
+    }
+
+    /**
+     * Prepares a search: initializes the state and generates all root moves.
+     *
+     * @param board      gameBoard to search on
+     * @param scorer     TurnScorer of gameBoard
+     * @param playerHand playerHand of the AI
+     * @param deadline   end of search as System.nanoTime() value
+     * @return root moves, ordered by gain | null, if deadline passed during generation
+     */
+    private long[] prepare(GameBoard board, TurnScorer scorer, List<GameTiles> playerHand, long deadline) {
+        this.board = board;
+        this.winValue = (double) board.getSize() * MAX_SEGMENT_POINTS + 1;
+        this.nodes = 0;
+        this.aborted = false;
+        this.deadline = deadline;
+        initUnseen(playerHand);
+
+        //Generate root moves, wildcards on big gameBoards may take a while and stop within their handSlot
+        generator.reset(board, scorer);
+        for (int i = 0; i < playerHand.size() && !aborted; i++) {
+            if (playerHand.get(i) != GameTiles.EMPTY) {
+                generator.generate(playerHand.get(i), i, playerHand, deadline);
+            }
+            aborted = System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted();
+        }
+
+        //Root moves may be incomplete
+        if (aborted) {
+            return null;
+        }
+
+        //Gain is stored in the topmost bits, so sorting packed moves orders them by gain
+        long[] rootMoves = new long[generator.size()];
+        for (int i = 0; i < rootMoves.length; i++) {
+            rootMoves[i] = generator.get(i);
+        }
+        Arrays.sort(rootMoves);
+
+        return rootMoves;
+    }
+
+    /**
+     * Searches root moves up to current depth. Root moves with a higher index are searched first.
+     *
+     * @param rootMoves root moves
+     * @return best packed move | NO_MOVE, if no root move could be searched completely
+     */
+    private long searchRoot(long[] rootMoves) {
+        if (pool != null) {
+            return searchParallel(rootMoves);
+        }
+
+        long bestMove = NO_MOVE;
+        double bestValue = -winValue - 1;
+        for (int i = rootMoves.length - 1; i >= 0 && !aborted; i--) {
+            long token = apply(rootMoves[i]);
+            double value = value(1, bestValue, winValue);
+            board.undo(token);
+
+            //Only completely searched moves are comparable
+            if (!aborted && value > bestValue) {
+                bestValue = value;
+                bestMove = rootMoves[i];
+            }
+        }
+
+        return bestMove;
+    }
+
+    /**
+     * Searches root moves in parallel. Root moves with a higher index are searched first.
+     *
+     * @param rootMoves root moves
+     * @return best packed move | NO_MOVE, if no root move could be searched completely
+     */
+    private long searchParallel(long[] rootMoves) {
+        SharedState state = new SharedState(-winValue - 1, nodes);
+        double[] values = new double[rootMoves.length];
+        boolean[] complete = new boolean[rootMoves.length];
+
+        pool.invoke(new RootTask(rootMoves, 0, rootMoves.length, state, values, complete));
+        nodes = state.nodes.get();
+        aborted = state.aborted;
+
+        //Highest value wins, ties go to the move searched first like in a sequential search
+        long bestMove = NO_MOVE;
+        double bestValue = -winValue - 1;
+        for (int i = rootMoves.length - 1; i >= 0; i--) {
+            if (complete[i] && values[i] > bestValue) {
+                bestValue = values[i];
+                bestMove = rootMoves[i];
+            }
+        }
+
+        return bestMove;
+    }
+
+    //Search::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Gets value of current position, before the player of specified ply draws.
+     *
+     * @param ply   ply to move
+     * @param alpha lower bound of interest
+     * @param beta  upper bound of interest
+     * @return value of position
+     */
+    private double value(int ply, double alpha, double beta) {
+        if (isExhausted()) {
+            aborted = true;
+            return 0;
+        }
+
+        double evaluation = evaluate();
+        if (terminal || ply >= depth || unseen.getStandardTotal() == 0) {
+            return evaluation;
+        }
+
+        return chance(ply, alpha, beta);
+    }
+
+    /**
+     * Chance node of the GameTile drawn by the player of specified ply (Star1).
+     *
+     * @param ply   ply to move
+     * @param alpha lower bound of interest
+     * @param beta  upper bound of interest
+     * @return expected value of position
+     */
+    private double chance(int ply, double alpha, double beta) {
+        double sum = 0;
+        double remaining = 1;
+
+        for (int ordinal = GameTiles.T_SUN.ordinal(); ordinal <= GameTiles.T_STAR.ordinal(); ordinal++) {
+            if (unseen.getCount(ordinal) == 0) {
+                continue;
+            }
+
+            double probability = (double) unseen.getCount(ordinal) / unseen.getStandardTotal();
+            remaining -= probability;
+
+            //Window of child, outside of which the chance node is cut off anyway
+            double childAlpha = Math.max(-winValue, (alpha - sum - remaining * winValue) / probability);
+            double childBeta = Math.min(winValue, (beta - sum + remaining * winValue) / probability);
+
+            unseen.remove(TILES[ordinal]);
+            double value = place(ply, TILES[ordinal], childAlpha, childBeta);
+            unseen.add(TILES[ordinal]);
+
+            if (aborted) {
+                return 0;
+            }
+
+            sum += probability * value;
+            if (sum + remaining * winValue <= alpha) {
+                return sum + remaining * winValue;
+            }
+            if (sum - remaining * winValue >= beta) {
+                return sum - remaining * winValue;
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Player node of the player of specified ply, who places drawn GameTile on a free
+     * cell. Own team maximizes, opponent team minimizes.
+     *
+     * @param ply   ply to move
+     * @param tile  drawn GameTile
+     * @param alpha lower bound of interest
+     * @param beta  upper bound of interest
+     * @return value of position
+     */
+    private double place(int ply, GameTiles tile, double alpha, double beta) {
+        boolean maximizing = ply % 2 == 0;
+        int remaining = depth - ply;
+        long hash = 0;
+        int firstCell = TranspositionTable.NO_MOVE;
+
+        if (table != null) {
+            hash = board.getZobristKey() ^ unseen.getKey() ^ Zobrist.drawnTileKey(tile)
+                    ^ Zobrist.sideToMoveKey((isVerticalTeam ? 2 : 0) + ply % 2);
+            if (table.probe(hash, entry)) {
+                if (entry.depth == remaining && (entry.bound == TranspositionTable.EXACT
+                        || (entry.bound == TranspositionTable.LOWER && entry.score >= beta)
+                        || (entry.bound == TranspositionTable.UPPER && entry.score <= alpha))) {
+                    return entry.score;
+                }
+                firstCell = entry.bestMove;
+            }
+        }
+
+        double alphaBefore = alpha;
+        double betaBefore = beta;
+        double best = maximizing ? -winValue - 1 : winValue + 1;
+        int bestCell = TranspositionTable.NO_MOVE;
+        int size = board.getSize();
+
+        //Best cell of transposition table first, then all cells in order
+        for (int i = firstCell == TranspositionTable.NO_MOVE ? 0 : -1; i < size * size; i++) {
+            int x = i < 0 ? firstCell / MoveGenerator.CELL_BASE : i / size;
+            int y = i < 0 ? firstCell % MoveGenerator.CELL_BASE : i % size;
+            int cell = x * MoveGenerator.CELL_BASE + y;
+
+            if ((i >= 0 && cell == firstCell) || x >= size || y >= size
+                    || board.getGameTileAt(x, y) != GameTiles.EMPTY) {
+                continue;
+            }
+
+            long token = board.applyPlacement(tile, x, y);
+            double value = value(ply + 1, alpha, beta);
+            board.undo(token);
+
+            if (aborted) {
+                return 0;
+            }
+
+            if (bestCell == TranspositionTable.NO_MOVE || (maximizing ? value > best : value < best)) {
+                best = value;
+                bestCell = cell;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        //No free cell left, drawn GameTile can't be played
+        if (bestCell == TranspositionTable.NO_MOVE) {
+            return evaluate();
+        }
+
+        if (table != null) {
+            int bound = best <= alphaBefore ? TranspositionTable.UPPER
+                    : best >= betaBefore ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(hash, remaining, bound, bestCell, best);
+        }
+
+        return best;
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Counts an evaluated position and checks budgets and interrupts of the caller. Workers
+     * of a parallel search publish their evaluated positions in batches, an exhausted budget
+     * stops all workers.
+     *
+     * @return true, if a budget is exhausted or the caller was interrupted
+     */
+    private boolean isExhausted() {
+        nodes++;
+        if (shared == null) {
+            return nodes > nodeBudget || (nodes % TIME_CHECK_INTERVAL == 0
+                    && (System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted()));
+        }
+
+        if (nodes % TIME_CHECK_INTERVAL == 0 && (shared.nodes.addAndGet(TIME_CHECK_INTERVAL) > nodeBudget
+                || System.nanoTime() - deadline > 0 || shared.caller.isInterrupted())) {
+            shared.aborted = true;
+        }
+        return shared.aborted;
+    }
+
+    /**
+     * Evaluates current position from the view of the searching team. Sets terminal
+     * Flag, if position ends the game.
+     *
+     * @return team points minus opponent points | +-winValue, if game is over
+     */
+    private double evaluate() {
+        int teamPoints = 0;
+        int opponentPoints = 0;
+        boolean teamSixes = false;
+        boolean opponentSixes = false;
+
+        for (int i = 0; i < board.getSize(); i++) {
+            board.copyTilesPerSegment(i, isVerticalTeam, segmentTiles);
+            int points = PointsTable.points(segmentTiles);
+            teamSixes |= points == Integer.MAX_VALUE;
+            teamPoints += points == Integer.MAX_VALUE ? 0 : points;
+
+            board.copyTilesPerSegment(i, !isVerticalTeam, segmentTiles);
+            points = PointsTable.points(segmentTiles);
+            opponentSixes |= points == Integer.MAX_VALUE;
+            opponentPoints += points == Integer.MAX_VALUE ? 0 : points;
+        }
+
+        terminal = teamSixes || opponentSixes || board.isFull();
+        if (teamSixes || opponentSixes) {
+            return teamSixes == opponentSixes ? 0 : (teamSixes ? winValue : -winValue);
+        }
+
+        //Points of non-standard segments may exceed MAX_SEGMENT_POINTS, keep bound
+        double difference = Math.max(-winValue + 1, Math.min(winValue - 1, teamPoints - opponentPoints));
+        return terminal ? Math.signum(difference) * winValue : difference;
+    }
+
+    /**
+     * Counts unseen standard GameTiles, which are neither on the gameBoard
+     * nor in the playerHand of the AI.
+     *
+     * @param playerHand playerHand of the AI
+     */
+    private void initUnseen(List<GameTiles> playerHand) {
+        unseen.reset();
+        unseen.removeBoard(board);
+
+        //Wildcards are not drawn by chance nodes, their counts stay constant
+        for (GameTiles tile : playerHand) {
+            if (GameTiles.isStandardGameTile(tile)) {
+                unseen.remove(tile);
+            }
+        }
+    }
+
+    /**
+     * Applies a packed move to the gameBoard.
+     *
+     * @param move packed move
+     * @return undo token
+     */
+    private long apply(long move) {
+        return MoveGenerator.apply(board, move);
+    }
+
+    //Parallel Search:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * State shared by all workers of a parallel search.
+     */
+    private static final class SharedState {
+        /**
+         * Number of published evaluated positions
+         */
+        private final AtomicLong nodes = new AtomicLong();
+        /**
+         * Best value of a completely searched root move, as raw double bits
+         */
+        private final AtomicLong bound;
+        /**
+         * Thread, which started the search and may be interrupted
+         */
+        private final Thread caller = Thread.currentThread();
+        /**
+         * Flag, if a budget is exhausted or the caller was interrupted
+         */
+        private volatile boolean aborted;
+
+        /**
+         * SharedState Constructor.
+         *
+         * @param bound initial lower bound
+         * @param nodes evaluated positions of previous iterations
+         */
+        private SharedState(double bound, long nodes) {
+            this.bound = new AtomicLong(Double.doubleToRawLongBits(bound));
+            this.nodes.set(nodes);
+        }
+
+        /**
+         * Best value Getter.
+         *
+         * @return best value so far
+         */
+        private double getBound() {
+            return Double.longBitsToDouble(bound.get());
+        }
+
+        /**
+         * Raises best value, if specified value is higher.
+         *
+         * @param value value of a completely searched root move
+         */
+        private void raiseBound(double value) {
+            long current = bound.get();
+            while (value > Double.longBitsToDouble(current)
+                    && !bound.compareAndSet(current, Double.doubleToRawLongBits(value))) {
+                current = bound.get();
+            }
+        }
+    }
+
+    /**
+     * Task of a parallel search, which searches a range of root moves.
+     */
+    private final class RootTask extends RecursiveAction {
+        /**
+         * Serial Version of RecursiveAction
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * Root moves
+         */
+        private final long[] rootMoves;
+        /**
+         * First root move index of range
+         */
+        private final int from;
+        /**
+         * Root move index after range
+         */
+        private final int to;
+        /**
+         * Shared state of parallel search
+         */
+        private final SharedState state;
+        /**
+         * Values of root moves
+         */
+        private final double[] values;
+        /**
+         * Flags, if root moves were searched completely
+         */
+        private final boolean[] complete;
+
+        /**
+         * RootTask Constructor.
+         *
+         * @param rootMoves root moves
+         * @param from      first root move index of range
+         * @param to        root move index after range
+         * @param state     shared state of parallel search
+         * @param values    values of root moves
+         * @param complete  flags, if root moves were searched completely
+         */
+        private RootTask(long[] rootMoves, int from, int to, SharedState state, double[] values, boolean[] complete) {
+            this.rootMoves = rootMoves;
+            this.from = from;
+            this.to = to;
+            this.state = state;
+            this.values = values;
+            this.complete = complete;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                //Own thread continues with the higher gains, the lower ones may be stolen
+                int middle = (from + to) >>> 1;
+                invokeAll(new RootTask(rootMoves, middle, to, state, values, complete),
+                        new RootTask(rootMoves, from, middle, state, values, complete));
+                return;
+            }
+
+            if (from == to || state.aborted) {
+                return;
+            }
+
+            ExpectimaxSearch worker = new ExpectimaxSearch(ExpectimaxSearch.this, state);
+            long token = worker.apply(rootMoves[from]);
+
+            //Values equal to the bound are searched exactly, so ties are decided by search order
+            double value = worker.value(1, Math.nextDown(state.getBound()), winValue);
+            worker.board.undo(token);
+            state.nodes.addAndGet(worker.nodes % TIME_CHECK_INTERVAL);
+
+            if (!worker.aborted) {
+                values[from] = value;
+                complete[from] = true;
+                state.raiseBound(value);
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package logic;
 
-import javafx.scene.image.ImageView;
-
 import java.util.List;
 
 /**
@@ -170,13 +168,6 @@ public interface GUIConnector {
      */
     void onGameEnd_Delay(String[] playerNamesT1, String[] playerNamesT2, int[] teamPoints, GameStates winnerTeam);
 
-    /**
-     * Sets a combination of DragAndDrop Handlers to specified ImageView Source.
-     *
-     * @param source ImageView to set DragAndDrop Handlers
-     */
-    void setSourceDragHandler(ImageView source);
-
     /**
      * Sets a combination of DragAndDrop Handlers to the whole gameBoard.
      * -Swap = FALSE, when Wildcard MOVE is used
@@ -267,4 +258,12 @@ public interface GUIConnector {
      * @param msg       message
      */
     void createAlert(ErrorType errorType, String msg);
+
+    /**
+     * Runs an action on the GUI thread. Used by background threads,
+     * e.g. the AI, to hand back their results to the game.
+     *
+     * @param action action to run on the GUI thread
+     */
+    void runOnGUIThread(Runnable action);
 }
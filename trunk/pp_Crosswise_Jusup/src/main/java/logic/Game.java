@@ -1,15 +1,14 @@
 package logic;
 
-import java.io.File;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static gui.UserInterfaceController.HAND_SIZE;
-import static gui.UserInterfaceController.MAX_PLAYER_COUNT;
 import static logic.ErrorType.LOGIC_GAME_BREAK;
 
 /**
@@ -24,6 +23,31 @@ import static logic.ErrorType.LOGIC_GAME_BREAK;
  */
 public class Game {
 
+    /**
+     * Background thread of AI decisions, keeps the GUI thread responsive.
+     * Daemon thread, so a running decision does not keep the application alive.
+     */
+    private static final ExecutorService AI_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ai-decision");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constant: HandSize.
+     *
+     * <Experimental>
+     * Can be increased here (eg. 10, 50, 100)
+     * If HAND_SIZE is bigger than the hand size fitting into the GUI,
+     * Hand becomes scrollable.
+     * </Experimental>
+     */
+    public static final int HAND_SIZE = 4;
+    /**
+     * Constant: MAX_PLAYER_COUNT: Maximal number of players.
+     */
+    public static final int MAX_PLAYER_COUNT = 4;
+
     /**
      * gameBoard Instance
      */
@@ -59,7 +83,11 @@ public class Game {
     /**
      * Flag for blocking any further gameplay, if game has already ended
      */
-    private boolean gameEnd = false;
+    private volatile boolean gameEnd = false;
+    /**
+     * AI decision, which is currently evaluated in the background | null, if none was started
+     */
+    private Future<?> pendingDecision;
 
 
     /**
@@ -208,10 +236,9 @@ public class Game {
 
             TileBag potentialTileBag;
             try {
-                potentialTileBag = new TileBag(gameData.getTileBag(), false);
+                potentialTileBag = new TileBag(gameData.getTileBag());
             } catch (Exception e) {
-                potentialTileBag = new TileBag(Arrays.stream(getRemainingGameTiles())
-                        .mapToInt(Integer::intValue).toArray(), false);
+                potentialTileBag = new TileBag(getRemainingGameTiles());
             }
             this.tileBag = potentialTileBag;
             this.gui = gui;
@@ -282,9 +309,10 @@ public class Game {
      * Initialize GameBoard by setting each ImageView to an EMPTY GameTile.
      */
     private void showBoardGameTiles() {
-        for (int i = 0; i < board.getGameBoard().length; i++) {
-            for (int j = 0; j < board.getGameBoard().length; j++) {
-                gui.placeTileOnBoard(board.getGameBoard()[i][j], new Position(i, j), false);
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                Position pos = new Position(i, j);
+                gui.placeTileOnBoard(board.getGameTileAt(pos), pos, false);
             }
         }
     }
@@ -571,7 +599,7 @@ public class Game {
                     //There mus be at least one standardGameTile in player Hand
                     //GameTile from TileBag which will be polled after playing wildcard is also possible
                     if (players[currentPlayer].getNumberOfStandardGameTiles() >= 1
-                            || GameTiles.isStandardGameTile(tileBag.getTileBag().peek())) {
+                            || GameTiles.isStandardGameTile(tileBag.peek())) {
 
                         //Animate AI Turn (1. Phase)
                         if (players[currentPlayer].isAI()) {
@@ -710,41 +738,23 @@ public class Game {
             forceGameStop();
 
             //Evaluate
-            if (teamPoints[0] > teamPoints[1]) {
-                evaluationState = GameStates.TEAM_VERTICAL;
-            } else if (teamPoints[0] < teamPoints[1]) {
-                evaluationState = GameStates.TEAM_HORIZONTAL;
-            } else {
-                evaluationState = GameStates.DRAW;
-            }
+            evaluationState = getWinner(teamPoints);
 
         }
 
         //Check if future AI Player is able to make a turn, if not, game also ends.
+        //Existence check only, forceTurnAI evaluates the actual turn afterwards
         int futurePlayer = (currentPlayer + 1) % activePlayers;
-        PossibleTurn turn;
-        if (players[futurePlayer].isAI() && !board.isFull()) {
-            turn = ((AI_Player) players[futurePlayer]).evaluateToBestTurn(board);
-            ((AI_Player) players[futurePlayer]).resetSecondPhaseTurn();
-        } else {
-            //Dummy Turn
-            turn = new PossibleTurn(null, null, null, null,
-                    null, 0, 0, 0, false, null);
-        }
+        boolean canMove = !players[futurePlayer].isAI() || board.isFull()
+                || ((AI_Player) players[futurePlayer]).hasAnyTurn(board);
 
         //Winner evaluation, when GameBoard is Full, no early win is achieved and AI is able to make a turn
-        if (evaluationState == GameStates.ONGOING_GAME && (board.isFull() || turn == null)) {
+        if (evaluationState == GameStates.ONGOING_GAME && (board.isFull() || !canMove)) {
             //Trigger Game Stop
             forceGameStop();
 
             //Evaluate
-            if (teamPoints[0] > teamPoints[1]) {
-                evaluationState = GameStates.TEAM_VERTICAL;
-            } else if (teamPoints[0] < teamPoints[1]) {
-                evaluationState = GameStates.TEAM_HORIZONTAL;
-            } else {
-                evaluationState = GameStates.DRAW;
-            }
+            evaluationState = getWinner(teamPoints);
         }
 
         if (gameEnd) {
@@ -759,6 +769,22 @@ public class Game {
         return evaluationState;
     }
 
+    /**
+     * Determines the winner of a finished game by its team points.
+     *
+     * @param teamPoints points of team vertical and team horizontal
+     * @return Winner Team | DRAW
+     */
+    private static GameStates getWinner(int[] teamPoints) {
+        if (teamPoints[0] > teamPoints[1]) {
+            return GameStates.TEAM_VERTICAL;
+        } else if (teamPoints[0] < teamPoints[1]) {
+            return GameStates.TEAM_HORIZONTAL;
+        } else {
+            return GameStates.DRAW;
+        }
+    }
+
     /**
      * Calculates GameTile Count per Type for a given segment (Row / Column)
      *
@@ -767,21 +793,7 @@ public class Game {
      * @return GameTile Count per Type
      */
     int[] getTilesPerSegment(int segment, boolean isVerticalTeam) {
-        int boardSize = board.getGameBoard().length;
-        int[] gameTileTypes = new int[GameTiles.STANDARD_GAMETILES_TYPES];
-
-        for (int i = 0; i < boardSize; i++) {
-            switch (board.getGameBoard()[isVerticalTeam ? segment : i][isVerticalTeam ? i : segment]) {
-                case T_SUN -> gameTileTypes[0]++;
-                case T_CROSS -> gameTileTypes[1]++;
-                case T_TRIANGLE -> gameTileTypes[2]++;
-                case T_SQUARE -> gameTileTypes[3]++;
-                case T_PENTAGON -> gameTileTypes[4]++;
-                case T_STAR -> gameTileTypes[5]++;
-            }
-        }
-
-        return gameTileTypes;
+        return board.getTilesPerSegment(segment, isVerticalTeam);
     }
 
     /**
@@ -792,34 +804,14 @@ public class Game {
      * 4x same tiles = 5 Points
      * 5x same tiles = 7 Points
      * 6x same tiles = Integer.MAX_VALUE (Instant Win)
+     * <p>
+     * Points are looked up in the precomputed PointsTable.
      *
      * @param gameTiles GameTiles of given Row / Column
      * @return points
      */
     static int calculatePoints(int[] gameTiles) {
-        int points = 0;
-
-        //6 Points for all different Game Tiles
-        boolean allDifferent = true;
-        for (int i = 0; i < gameTiles.length && allDifferent; i++) {
-            allDifferent = gameTiles[i] == 1;
-        }
-
-        if (allDifferent) {
-            points = 6;
-        } else {
-            for (int gameTile : gameTiles) {
-                switch (gameTile) {
-                    case 2 -> points += 1;                  //2x same tiles
-                    case 3 -> points += 3;                  //3x same tiles
-                    case 4 -> points += 5;                  //4x same tiles
-                    case 5 -> points += 7;                  //5x same tiles
-                    case 6 -> points = Integer.MAX_VALUE;   //6x same tiles
-                }
-            }
-        }
-
-        return points;
+        return PointsTable.points(gameTiles);
     }
 
     /**
@@ -832,34 +824,50 @@ public class Game {
     int getTeamPoints(boolean isVerticalTeam) {
         int pointSum = 0;
 
-        for (int i = 0; i < board.getGameBoard().length && pointSum != Integer.MAX_VALUE; i++) {
-            int segmentPoints = calculatePoints(getTilesPerSegment(i, isVerticalTeam));
-            pointSum = segmentPoints != Integer.MAX_VALUE ? pointSum + segmentPoints : segmentPoints;
+        for (int i = 0; i < board.getSize() && pointSum != Integer.MAX_VALUE; i++) {
+            pointSum = addSegmentPoints(pointSum, calculatePoints(getTilesPerSegment(i, isVerticalTeam)));
         }
 
         return pointSum;
     }
 
+    /**
+     * Adds segment points to a team point sum. A WinOfSixes (Integer.MAX_VALUE)
+     * stays Integer.MAX_VALUE regardless of other segment points.
+     *
+     * @param pointSum      current team point sum
+     * @param segmentPoints points of a single segment
+     * @return new team point sum
+     */
+    static int addSegmentPoints(int pointSum, int segmentPoints) {
+        if (pointSum == Integer.MAX_VALUE || segmentPoints == Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        return pointSum + segmentPoints;
+    }
+
     /**
      * Updates all (optional) Point Labels (Horizontal/Vertical Point Bars & Team Points).
      * Updates Label Text to current Points of each Segment (Column/ Row) and all Columns/ Rows
-     * for each Team.
+     * for each Team. Segment points are only calculated once for bars and team labels.
      */
     private void updateAllPointLabels() {
-        int[] verticalPoints = new int[board.getGameBoard().length];
-        int[] horizontalPoints = new int[board.getGameBoard().length];
+        int[] verticalPoints = new int[board.getSize()];
+        int[] horizontalPoints = new int[board.getSize()];
+        int verticalSum = 0;
+        int horizontalSum = 0;
 
         //Update horizontal/ vertical Point Bars
-        for (int i = 0; i < board.getGameBoard().length; i++) {
+        for (int i = 0; i < board.getSize(); i++) {
             verticalPoints[i] = calculatePoints(getTilesPerSegment(i, true));
             horizontalPoints[i] = calculatePoints(getTilesPerSegment(i, false));
+            verticalSum = addSegmentPoints(verticalSum, verticalPoints[i]);
+            horizontalSum = addSegmentPoints(horizontalSum, horizontalPoints[i]);
         }
 
         //Update Team Points Labels
         gui.updatePointBars(verticalPoints, horizontalPoints);
-        gui.updateTeamPoints(
-                getTeamPoints(true),
-                getTeamPoints(false));
+        gui.updateTeamPoints(verticalSum, horizontalSum);
     }
 
     /**
@@ -935,8 +943,7 @@ public class Game {
      * Removes old logFile, if existing.
      */
     private void removeOldTxtLog() {
-        String logFilePath = "./src/log/Log.txt";
-        new File(logFilePath).delete();
+        Utilities.clearLog();
     }
 
     /**
@@ -971,97 +978,130 @@ public class Game {
         }
 
         //Create TileBag Array of ordinal Values of the corresponding GameTiles
-        int[] tileBag_casted = tileBag.getTileBag().stream().mapToInt(Enum::ordinal).toArray();
+        int[] tileBag_casted = tileBag.toOrdinals();
 
         return new GameData(playerData, currentPlayer, board_casted, usedWildcards, tileBag_casted);
     }
 
+    /**
+     * Gets Zobrist key of current position. Combines key of gameBoard with optional
+     * components for playerHand of current player, tileBag content and player to move.
+     *
+     * @param withHand    include playerHand of current player
+     * @param withTileBag include remaining GameTiles of tileBag
+     * @param withSide    include player to move
+     * @return Zobrist key of position
+     */
+    long getPositionKey(boolean withHand, boolean withTileBag, boolean withSide) {
+        long key = board.getZobristKey();
+
+        if (withHand) {
+            key ^= Zobrist.handKey(players[currentPlayer].getHandView());
+        }
+        if (withTileBag) {
+            key ^= Zobrist.bagKey(tileBag.getTileBag());
+        }
+        if (withSide) {
+            key ^= Zobrist.sideToMoveKey(currentPlayer);
+        }
+
+        return key;
+    }
 
     /**
      * Helper Method used for reconstructing a TileBag when loading an existing game.
      * Counts all Standard GameTiles and Wildcards, which were already on gameBoard,
      * used by players or in playerHand. Subtracts each result from maximum occurrence.
      *
-     * @return Array of remaining GameTiles
+     * @return Array of remaining GameTiles, ordered by ordinal
      */
-    Integer[] getRemainingGameTiles() {
-        List<Integer> usedGameTiles = new ArrayList<>();
-
-        //Count all GameTiles on gameBoard
-        for (int i = 1; i < GameTiles.STANDARD_GAMETILES_TYPES + 1; i++) {
-            GameTiles tile = Utilities.ordinalToGameTiles(i);
-            int count = board.getGameTileOccurrences(tile);
-            for (int j = 0; j < count; j++) {
-                usedGameTiles.add(tile.ordinal());
-            }
-        }
+    int[] getRemainingGameTiles() {
+        TileInventory remaining = new TileInventory();
+        remaining.removeBoard(board);
+        remaining.removeUsedWildcards(usedWildcards);
 
-        //Count all GameTiles and Wildcards of each playerHand
         for (Player player : players) {
             if (player.isActive()) {
-                List<GameTiles> playerHand = player.getHand();
-
-                for (GameTiles tile : playerHand) {
-                    if (tile.ordinal() > 0) {
-                        usedGameTiles.add(tile.ordinal());
-                    }
-                }
+                remaining.removeAll(player.getHandView());
             }
         }
 
-        //Count all previously used Wildcards
-        for (int i = 0; i < usedWildcards.length; i++) {
-            for (int j = 0; j < usedWildcards[i]; j++) {
-                switch (i) {
-                    case 0 -> usedGameTiles.add(GameTiles.WC_REMOVER.ordinal());
-                    case 1 -> usedGameTiles.add(GameTiles.WC_MOVER.ordinal());
-                    case 2 -> usedGameTiles.add(GameTiles.WC_SWAPONBOARD.ordinal());
-                    case 3 -> usedGameTiles.add(GameTiles.WC_SWAPWITHHAND.ordinal());
-                }
-            }
+        return remaining.toOrdinals();
+    }
+
+    /**
+     * Forces current AI_Player to make a turn. Must be public
+     * for the JavaFXGUI to call it. This breaks the separation
+     * of Logic and GUI.
+     * <p>
+     * The turn is evaluated on a copy of the gameBoard in the background and
+     * played on the GUI thread afterwards. Stopping the game cancels the evaluation.
+     * If the AI_Player finds no turn to make, the game ends like in evaluateGame.
+     *
+     * @return pending evaluation, may be cancelled | completed, if no AI turn is due
+     */
+    public Future<?> forceTurnAI() {
+        if (!players[currentPlayer].isAI() || gameEnd) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        //Calculate Remaining
+        AI_Player ai = (AI_Player) players[currentPlayer];
+        int player = currentPlayer;
+        GameBoard snapshot = new GameBoard(board);
 
-        List<Integer> result = new ArrayList<>();
-        int gameTilesCount = GameTiles.values().length;
+        pendingDecision = AI_EXECUTOR.submit(() -> {
+            PossibleTurn turn = ai.evaluateToBestTurn(snapshot);
 
-        //Calculate remaining GameTiles
-        for (int i = 1; i < GameTiles.STANDARD_GAMETILES_TYPES + 1; i++) {
-            int ordinal = i;
-            int remaining = GameTiles.STANDARD_GAMETILES_COUNT
-                    - (int) usedGameTiles.stream().filter(value -> value.equals(ordinal)).count();
+            //Cancelled evaluations may be incomplete
+            if (!Thread.currentThread().isInterrupted()) {
+                gui.runOnGUIThread(() -> {
+                    //Game may have been stopped, while the turn was handed over
+                    if (gameEnd || currentPlayer != player) {
+                        return;
+                    }
 
-            for (int j = 0; j < remaining; j++) {
-                result.add(ordinal);
+                    if (turn != null) {
+                        this.playerTurn(turn.toPlace(), turn.pos(), turn.handSlot(), turn.toSwap(),
+                                turn.lastPosition());
+                    } else {
+                        endGameWithoutTurn();
+                    }
+                });
             }
-        }
+        });
 
-        //Calculate remaining Wildcards
-        for (int i = GameTiles.STANDARD_GAMETILES_TYPES + 1; i < gameTilesCount; i++) {
-            int ordinal = i;
-            int remaining = GameTiles.WILDCARDS_COUNT
-                    - (int) usedGameTiles.stream().filter(value -> value.equals(ordinal)).count();
+        return pendingDecision;
+    }
 
-            for (int j = 0; j < remaining; j++) {
-                result.add(ordinal);
-            }
-        }
+    /**
+     * Ends the game, because the current AI_Player is unable to make a turn.
+     * Like in evaluateGame, the team with more points wins.
+     */
+    private void endGameWithoutTurn() {
+        //Decision is already complete, there is nothing to cancel
+        pendingDecision = null;
+        forceGameStop();
+
+        int[] teamPoints = new int[]{getTeamPoints(true), getTeamPoints(false)};
+        GameStates state = getWinner(teamPoints);
+
+        //Last Log Entry of gameBoard and playerHands
+        Utilities.logEntry(getInitGameLog(), ErrorType.NONE);
+        Utilities.logEntry(board.toString(), ErrorType.NONE);
+        Utilities.logEntry("Evaluation State: " + state, ErrorType.NONE);
 
-        return result.toArray(Integer[]::new);
+        gui.setAnnouncementLabel("Game Over - " + players[currentPlayer].getName() + " is unable to make a turn!");
+        gui.onGameEnd(getTeamNames(0), getTeamNames(1), teamPoints, state);
     }
 
     /**
-     * Forces current AI_Player to make a turn. Must be public
-     * for the JavaFXGUI to call it. This breaks the separation
-     * of Logic and GUI.
+     * Cancels the AI decision, which is currently evaluated in the background.
+     * The evaluation stops within a few hundred evaluated positions.
      */
-    public void forceTurnAI() {
-        if (players[currentPlayer].isAI() && !gameEnd) {
-            PossibleTurn turn = ((AI_Player) players[currentPlayer]).evaluateToBestTurn(board);
-            this.playerTurn(turn.toPlace(), turn.pos(), turn.handSlot(), turn.toSwap(), turn.lastPosition());
+    private void cancelPendingDecision() {
+        if (pendingDecision != null) {
+            pendingDecision.cancel(true);
         }
-
     }
 
     /**
@@ -1070,6 +1110,7 @@ public class Game {
      */
     public void forceGameStop() {
         gameEnd = true;
+        cancelPendingDecision();
         gui.forceStop();
     }
 
@@ -1079,6 +1120,7 @@ public class Game {
      */
     public void stopOldGame() {
         gameEnd = true;
+        cancelPendingDecision();
         gui.interrupt();
 
     }
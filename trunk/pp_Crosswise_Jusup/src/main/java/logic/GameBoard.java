@@ -8,15 +8,92 @@ import java.util.Map;
  * GameBoard Class which contains the GameBoard Array.
  * GameBoard can be any Size except 0 x 0. Contains helpful
  * methods to analyze the gameBoard.
+ * <p>
+ * Boards up to 8 x 8 are additionally mirrored into a BitBoard, so occupancy
+ * checks don't need to traverse the GameTiles Array and segment counts are a popcount.
+ * On bigger boards, every row and column keeps a live histogram of its GameTiles
+ * instead, which is updated on each placement. On top of the segment counts, a threat
+ * index tracks every segment holding five GameTiles of one type (WinOfSixes Hazard),
+ * so AI checks never have to rescore a segment.
+ * The Zobrist key of the gameBoard is maintained the same way.
  *
  * @author Jonathan El Jusup (cgt104707)
  */
 class GameBoard {
 
+    /**
+     * All GameTiles, indexed by ordinal value. Used for decoding undo tokens.
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+    /**
+     * Number of equal GameTiles on a segment, which make a WinOfSixes Hazard
+     */
+    static final int SIXES_HAZARD_COUNT = 5;
+    /**
+     * Undo token: Bits per previous GameTile ordinal. Layout of a token is
+     * [second cell | first cell | has second cell | second tile | first tile]
+     */
+    private static final int TOKEN_TILE_BITS = 4;
+    /**
+     * Undo token: Bits per cell Index (column * size + row)
+     */
+    private static final int TOKEN_CELL_BITS = 23;
+    /**
+     * Undo token: Mask of a GameTile ordinal
+     */
+    private static final long TOKEN_TILE_MASK = (1L << TOKEN_TILE_BITS) - 1;
+    /**
+     * Undo token: Mask of a cell Index
+     */
+    private static final long TOKEN_CELL_MASK = (1L << TOKEN_CELL_BITS) - 1;
+    /**
+     * Undo token: Position of the flag, if a second cell was mutated
+     */
+    private static final int TOKEN_HAS_SECOND_SHIFT = 2 * TOKEN_TILE_BITS;
+    /**
+     * Undo token: Position of the first cell Index
+     */
+    private static final int TOKEN_FIRST_CELL_SHIFT = TOKEN_HAS_SECOND_SHIFT + 1;
+    /**
+     * Undo token: Position of the second cell Index
+     */
+    private static final int TOKEN_SECOND_CELL_SHIFT = TOKEN_FIRST_CELL_SHIFT + TOKEN_CELL_BITS;
+
     /**
      * GameTiles Array for efficient traversal
      */
     private final GameTiles[][] gameBoard;
+    /**
+     * Bitboard backend for fast occupancy checks and segment counting. Only exists,
+     * if gameBoard is small enough to fit into a BitBoard.
+     */
+    private final BitBoard bitBoard;
+    /**
+     * Live GameTile histograms of each column, indexed by [column][GameTile ordinal].
+     * Updated on every placement, so segments never have to be rescanned.
+     * Only exists, if gameBoard is too big for a BitBoard.
+     */
+    private final int[][] columnHistograms;
+    /**
+     * Live GameTile histograms of each row, indexed by [row][GameTile ordinal].
+     * Updated on every placement, so segments never have to be rescanned.
+     * Only exists, if gameBoard is too big for a BitBoard.
+     */
+    private final int[][] rowHistograms;
+    /**
+     * WinOfSixes threat index of the columns. Ordinal of the GameTile, which occurs
+     * five times on a column, or EMPTY's ordinal, if column holds no Hazard.
+     */
+    private final byte[] columnThreats;
+    /**
+     * WinOfSixes threat index of the rows. Ordinal of the GameTile, which occurs
+     * five times on a row, or EMPTY's ordinal, if row holds no Hazard.
+     */
+    private final byte[] rowThreats;
+    /**
+     * Zobrist key of the gameBoard. Updated on every placement
+     */
+    private long zobristKey;
 
 
     /**
@@ -31,6 +108,11 @@ class GameBoard {
         }
 
         gameBoard = new GameTiles[size][size];
+        bitBoard = BitBoard.supports(size) ? new BitBoard(size) : null;
+        columnHistograms = bitBoard == null ? initHistograms(size) : null;
+        rowHistograms = bitBoard == null ? initHistograms(size) : null;
+        columnThreats = new byte[size];
+        rowThreats = new byte[size];
         for (int x = 0; x < gameBoard.length; x++) {
             for (int y = 0; y < gameBoard[x].length; y++) {
                 this.gameBoard[x][y] = GameTiles.EMPTY;
@@ -38,6 +120,22 @@ class GameBoard {
         }
     }
 
+    /**
+     * GameBoard Copy Constructor. Copies all GameTiles of another gameBoard.
+     *
+     * @param other gameBoard to copy
+     */
+    GameBoard(GameBoard other) {
+        this(other.getSize());
+        for (int x = 0; x < gameBoard.length; x++) {
+            for (int y = 0; y < gameBoard[x].length; y++) {
+                if (other.gameBoard[x][y] != GameTiles.EMPTY) {
+                    setTile(x, y, other.gameBoard[x][y]);
+                }
+            }
+        }
+    }
+
     /**
      * GameBoard Constructor. For loading an existing board from a loaded game.
      * Loaded board Array needs to be converted from ordinal-value to GameTile.
@@ -46,14 +144,71 @@ class GameBoard {
      */
     GameBoard(int[][] board) {
         gameBoard = new GameTiles[board.length][board.length];
+        bitBoard = BitBoard.supports(board.length) ? new BitBoard(board.length) : null;
+        columnHistograms = bitBoard == null ? initHistograms(board.length) : null;
+        rowHistograms = bitBoard == null ? initHistograms(board.length) : null;
+        columnThreats = new byte[board.length];
+        rowThreats = new byte[board.length];
 
         for (int x = 0; x < gameBoard.length; x++) {
             for (int y = 0; y < gameBoard[x].length; y++) {
-                this.gameBoard[x][y] = Utilities.ordinalToGameTiles(board[x][y]);
+                this.gameBoard[x][y] = GameTiles.EMPTY;
+                placeTileOnBoard(Utilities.ordinalToGameTiles(board[x][y]), new Position(x, y));
             }
         }
     }
 
+    /**
+     * Initializes the histograms of all segments of one orientation.
+     * Every cell of a new gameBoard is EMPTY.
+     *
+     * @param size gameBoard size
+     * @return histograms, indexed by [segment][GameTile ordinal]
+     */
+    private static int[][] initHistograms(int size) {
+        int[][] histograms = new int[size][GameTiles.values().length];
+        for (int[] histogram : histograms) {
+            histogram[GameTiles.EMPTY.ordinal()] = size;
+        }
+        return histograms;
+    }
+
+    /**
+     * Updates threat index of a segment after one of its cells changed. Only rescans
+     * the standard GameTile counts, if the changed GameTiles reach or leave the Hazard count.
+     *
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @param previous   GameTile, which was on cell before
+     * @param tile       GameTile, which is on cell now
+     */
+    private void updateThreat(int segment, boolean isVertical, GameTiles previous, GameTiles tile) {
+        byte[] threats = isVertical ? columnThreats : rowThreats;
+        int threat = threats[segment];
+        if (threat != previous.ordinal() && threat != tile.ordinal()
+                && getTileCountAtSegment(previous, segment, isVertical) != SIXES_HAZARD_COUNT
+                && getTileCountAtSegment(tile, segment, isVertical) != SIXES_HAZARD_COUNT) {
+            return;
+        }
+
+        threats[segment] = (byte) GameTiles.EMPTY.ordinal();
+        for (int ordinal = GameTiles.T_SUN.ordinal(); ordinal <= GameTiles.T_STAR.ordinal(); ordinal++) {
+            if (getTileCountAtSegment(TILES[ordinal], segment, isVertical) == SIXES_HAZARD_COUNT) {
+                threats[segment] = (byte) ordinal;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Getter for gameBoard size. Does not copy the gameBoard.
+     *
+     * @return gameBoard size
+     */
+    int getSize() {
+        return gameBoard.length;
+    }
+
 
     /**
      * Getter for gameBoard. Returns copy of gameBoard.
@@ -74,6 +229,17 @@ class GameBoard {
         return gameBoard[pos.column()][pos.row()];
     }
 
+    /**
+     * Gets GameTile at specified cell on gameBoard.
+     *
+     * @param column column of cell
+     * @param row    row of cell
+     * @return GameTile at cell
+     */
+    GameTiles getGameTileAt(int column, int row) {
+        return gameBoard[column][row];
+    }
+
     /**
      * Places specified GameTile on specified Position on gameBoard.
      *
@@ -81,7 +247,157 @@ class GameBoard {
      * @param pos  Position where to place
      */
     void placeTileOnBoard(GameTiles tile, Position pos) {
-        gameBoard[pos.column()][pos.row()] = tile;
+        setTile(pos.column(), pos.row(), tile);
+    }
+
+    /**
+     * Getter for the Zobrist key of the gameBoard. Equal gameBoards of equal
+     * size always have the same key.
+     *
+     * @return Zobrist key
+     */
+    long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Sets GameTile of a cell and keeps bitboard or segment histograms, threat
+     * index and Zobrist key up to date. Every mutation of the gameBoard goes through here.
+     *
+     * @param column column of cell
+     * @param row    row of cell
+     * @param tile   GameTile to set
+     * @return GameTile, which was on cell before
+     */
+    private GameTiles setTile(int column, int row, GameTiles tile) {
+        GameTiles previous = gameBoard[column][row];
+
+        if (bitBoard != null) {
+            bitBoard.set(column, row, previous, tile);
+        } else {
+            //Update histograms of both affected segments
+            columnHistograms[column][previous.ordinal()]--;
+            columnHistograms[column][tile.ordinal()]++;
+            rowHistograms[row][previous.ordinal()]--;
+            rowHistograms[row][tile.ordinal()]++;
+        }
+
+        zobristKey ^= Zobrist.tileKey(column, row, previous) ^ Zobrist.tileKey(column, row, tile);
+
+        updateThreat(column, true, previous, tile);
+        updateThreat(row, false, previous, tile);
+
+        gameBoard[column][row] = tile;
+        return previous;
+    }
+
+    //Reversible Mutations::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Places GameTile on a cell and returns an undo token. Reverting the token
+     * via undo restores the exact previous state. Tokens must be reverted in
+     * reverse order of their application.
+     *
+     * @param tile   GameTile to place
+     * @param column column of cell
+     * @param row    row of cell
+     * @return undo token
+     */
+    long applyPlacement(GameTiles tile, int column, int row) {
+        GameTiles previous = setTile(column, row, tile);
+        return encodeToken(column, row, previous);
+    }
+
+    /**
+     * Removes GameTile of a cell (REMOVER) and returns an undo token.
+     *
+     * @param column column of cell
+     * @param row    row of cell
+     * @return undo token
+     */
+    long applyRemove(int column, int row) {
+        return applyPlacement(GameTiles.EMPTY, column, row);
+    }
+
+    /**
+     * Moves GameTile of a cell to another cell (MOVER) and returns an undo
+     * token. Source cell becomes EMPTY.
+     *
+     * @param fromColumn column of source cell
+     * @param fromRow    row of source cell
+     * @param toColumn   column of target cell
+     * @param toRow      row of target cell
+     * @return undo token
+     */
+    long applyMove(int fromColumn, int fromRow, int toColumn, int toRow) {
+        GameTiles previousFrom = setTile(fromColumn, fromRow, GameTiles.EMPTY);
+        GameTiles previousTo = setTile(toColumn, toRow, previousFrom);
+        return encodeToken(fromColumn, fromRow, previousFrom, toColumn, toRow, previousTo);
+    }
+
+    /**
+     * Swaps GameTiles of two cells (SWAPONBOARD) and returns an undo token.
+     *
+     * @param column1 column of first cell
+     * @param row1    row of first cell
+     * @param column2 column of second cell
+     * @param row2    row of second cell
+     * @return undo token
+     */
+    long applySwap(int column1, int row1, int column2, int row2) {
+        GameTiles previous1 = setTile(column1, row1, gameBoard[column2][row2]);
+        GameTiles previous2 = setTile(column2, row2, previous1);
+        return encodeToken(column1, row1, previous1, column2, row2, previous2);
+    }
+
+    /**
+     * Reverts a mutation by its undo token.
+     *
+     * @param token undo token of applied mutation
+     */
+    void undo(long token) {
+        int size = gameBoard.length;
+
+        //Revert second cell first, so overlapping cells end up in their first state
+        if (((token >>> TOKEN_HAS_SECOND_SHIFT) & 1) != 0) {
+            int cell = (int) ((token >>> TOKEN_SECOND_CELL_SHIFT) & TOKEN_CELL_MASK);
+            setTile(cell / size, cell % size, TILES[(int) ((token >>> TOKEN_TILE_BITS) & TOKEN_TILE_MASK)]);
+        }
+
+        int cell = (int) ((token >>> TOKEN_FIRST_CELL_SHIFT) & TOKEN_CELL_MASK);
+        setTile(cell / size, cell % size, TILES[(int) (token & TOKEN_TILE_MASK)]);
+    }
+
+    /**
+     * Encodes undo token of a mutation of a single cell.
+     *
+     * @param column   column of cell
+     * @param row      row of cell
+     * @param previous GameTile, which was on cell before
+     * @return undo token
+     */
+    private long encodeToken(int column, int row, GameTiles previous) {
+        return previous.ordinal()
+                | ((long) (column * gameBoard.length + row) << TOKEN_FIRST_CELL_SHIFT);
+    }
+
+    /**
+     * Encodes undo token of a mutation of two cells.
+     *
+     * @param column1   column of first cell
+     * @param row1      row of first cell
+     * @param previous1 GameTile, which was on first cell before
+     * @param column2   column of second cell
+     * @param row2      row of second cell
+     * @param previous2 GameTile, which was on second cell before
+     * @return undo token
+     */
+    private long encodeToken(int column1, int row1, GameTiles previous1,
+                             int column2, int row2, GameTiles previous2) {
+        return encodeToken(column1, row1, previous1)
+                | ((long) previous2.ordinal() << TOKEN_TILE_BITS)
+                | (1L << TOKEN_HAS_SECOND_SHIFT)
+                | ((long) (column2 * gameBoard.length + row2) << TOKEN_SECOND_CELL_SHIFT);
     }
 
     /**
@@ -91,6 +407,10 @@ class GameBoard {
      * @return No EMPTY GameTiles left -> TRUE
      */
     boolean isFull() {
+        if (bitBoard != null) {
+            return bitBoard.isFull();
+        }
+
         boolean isFull = true;
 
         for (int x = 0; x < gameBoard.length && isFull; x++) {
@@ -109,6 +429,10 @@ class GameBoard {
      * @return All EMPTY GameTiles -> TRUE
      */
     boolean isEmpty() {
+        if (bitBoard != null) {
+            return bitBoard.isEmpty();
+        }
+
         boolean isEmpty = true;
 
         for (int x = 0; x < gameBoard.length && isEmpty; x++) {
@@ -126,6 +450,10 @@ class GameBoard {
      * @return number of non-EMPTY GameTiles
      */
     int usedSpaces() {
+        if (bitBoard != null) {
+            return bitBoard.usedSpaces();
+        }
+
         int usedSpaces = 0;
 
         for (int x = 0; x < gameBoard.length; x++) {
@@ -156,6 +484,10 @@ class GameBoard {
      * @return Map of GameTiles and their occurrence
      */
     int getGameTileOccurrences(GameTiles toCount) {
+        if (bitBoard != null) {
+            return bitBoard.getGameTileOccurrences(toCount);
+        }
+
         return Arrays.stream(gameBoard)
                 .map(deepLayer -> Arrays.stream(deepLayer)
                         .filter(tile -> tile.equals(toCount))
@@ -163,6 +495,107 @@ class GameBoard {
                 .mapToInt(Long::intValue).sum();
     }
 
+    /**
+     * Calculates standard GameTile count per type for a given segment (Row / Column).
+     * Index 0 is T_SUN, Index 5 is T_STAR. Taken from the BitBoard or the live segment histogram.
+     *
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return standard GameTile count per type
+     */
+    int[] getTilesPerSegment(int segment, boolean isVertical) {
+        int[] gameTileTypes = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+        copyTilesPerSegment(segment, isVertical, gameTileTypes);
+
+        return gameTileTypes;
+    }
+
+    /**
+     * Copies standard GameTile count per type for a given segment (Row / Column)
+     * into a caller owned array. Allocation-free variant of getTilesPerSegment.
+     *
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @param target     array of length STANDARD_GAMETILES_TYPES to copy into
+     */
+    void copyTilesPerSegment(int segment, boolean isVertical, int[] target) {
+        if (bitBoard != null) {
+            for (int i = 0; i < GameTiles.STANDARD_GAMETILES_TYPES; i++) {
+                target[i] = bitBoard.countAtSegment(TILES[GameTiles.T_SUN.ordinal() + i], segment, isVertical);
+            }
+            return;
+        }
+
+        int[] histogram = isVertical ? columnHistograms[segment] : rowHistograms[segment];
+        System.arraycopy(histogram, GameTiles.T_SUN.ordinal(), target, 0, GameTiles.STANDARD_GAMETILES_TYPES);
+    }
+
+    /**
+     * Gets number of specified GameTile on specified segment in O(1), by
+     * popcount of the BitBoard or from the live segment histograms.
+     *
+     * @param tile       GameTile to count
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return occurrences of GameTile on segment
+     */
+    int getTileCountAtSegment(GameTiles tile, int segment, boolean isVertical) {
+        if (bitBoard != null) {
+            return bitBoard.countAtSegment(tile, segment, isVertical);
+        }
+
+        return (isVertical ? columnHistograms[segment] : rowHistograms[segment])[tile.ordinal()];
+    }
+
+    /**
+     * Gets GameTile of the WinOfSixes Hazard on a segment in O(1). A Hazard is a segment,
+     * which holds five GameTiles of one type.
+     *
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return GameTile of Hazard | EMPTY, if segment holds no Hazard
+     */
+    GameTiles getSixesThreat(int segment, boolean isVertical) {
+        return TILES[(isVertical ? columnThreats : rowThreats)[segment]];
+    }
+
+    /**
+     * Checks, if a segment holds a WinOfSixes Hazard, i.e. five GameTiles of one type.
+     *
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return segment holds Hazard -> TRUE
+     */
+    boolean hasSixesThreat(int segment, boolean isVertical) {
+        return (isVertical ? columnThreats : rowThreats)[segment] != GameTiles.EMPTY.ordinal();
+    }
+
+    /**
+     * Checks, if a WinOfSixes can be completed on a segment, i.e. it holds a
+     * Hazard and an EMPTY cell for the sixth GameTile.
+     *
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return WinOfSixes can be completed -> TRUE
+     */
+    boolean isSixesCompletable(int segment, boolean isVertical) {
+        return hasSixesThreat(segment, isVertical)
+                && getTileCountAtSegment(GameTiles.EMPTY, segment, isVertical) > 0;
+    }
+
+    /**
+     * Checks, if placing a GameTile on a segment blocks its WinOfSixes Hazard. A
+     * blocking GameTile cannot be of a type, which already occurs on the segment.
+     *
+     * @param tile       GameTile to place
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return segment holds Hazard and tile blocks it -> TRUE
+     */
+    boolean isSixesBlockingTile(GameTiles tile, int segment, boolean isVertical) {
+        return hasSixesThreat(segment, isVertical) && getTileCountAtSegment(tile, segment, isVertical) == 0;
+    }
+
     /**
      * Counts all GameTile occurrences on gameBoard for a specified segment.
      * A segment an Index of either a Row or Column. Which one it is, is
@@ -181,12 +614,9 @@ class GameBoard {
             result.put(gameTiles[i], 0);
         }
 
-        //Increment result map entry at occurring tile
-        for (int i = 0; i < gameBoard.length; i++) {
-            GameTiles tile = gameBoard[isVertical ? segment : i][isVertical ? i : segment];
-            if (result.containsKey(tile)) {
-                result.replace(tile, result.get(tile) + 1);
-            }
+        //Take occurrences from BitBoard or live segment histogram
+        for (int i = 1; i < gameTiles.length; i++) {
+            result.replace(gameTiles[i], getTileCountAtSegment(gameTiles[i], segment, isVertical));
         }
 
         return result;
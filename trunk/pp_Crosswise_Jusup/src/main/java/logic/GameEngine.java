@@ -0,0 +1,674 @@
+package logic;
+
+import static logic.Game.HAND_SIZE;
+
+/**
+ * Headless game engine of Crosswise. Pure state machine of gameBoard, playerHands,
+ * tileBag and turn order without any GUI, JavaFX or log file dependency. Meant for
+ * simulating a large number of games, e.g. AI self-play.
+ * <p>
+ * Every turn is played atomically. 2-Phase wildcards (MOVE, SWAPONBOARD, SWAPWITHHAND)
+ * are played as a single call, which executes both phases in the same order as the
+ * Game does: the wildcard is replaced from the tileBag first, then the board is changed.
+ * Invalid turns are rejected and leave the state untouched.
+ * <p>
+ * The game ends on a WinOfSixes, on a full gameBoard or when an AI_Player is unable
+ * to make a turn. An optional GameObserver gets notified about every state change.
+ * Once the tileBag is exhausted, AI_Players with an EndgameSolver play its exact turns.
+ * <p>
+ * Deviation from Game: When an AI plays SWAPWITHHAND, Game replaces both the wildcard
+ * and the swapped handSlot from the tileBag. GameEngine only replaces the wildcard.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class GameEngine {
+
+    /**
+     * gameBoard Instance
+     */
+    private final GameBoard board;
+    /**
+     * player Instance Array
+     */
+    private final Player[] players;
+    /**
+     * tileBag Instance
+     */
+    private final TileBag tileBag;
+    /**
+     * Observer of all state changes
+     */
+    private final GameObserver observer;
+    /**
+     * Number of active players
+     */
+    private final int activePlayers;
+    /**
+     * usedWildcards int-Array
+     */
+    private final int[] usedWildcards = new int[GameTiles.WILDCARDS_TYPES];
+    /**
+     * GameTiles, which are neither on the gameBoard nor used: in the tileBag or in a playerHand
+     */
+    private final TileInventory offBoard = new TileInventory();
+    /**
+     * Reused histogram for calculating team points
+     */
+    private final int[] segmentTiles = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+    /**
+     * currentPlayer Index
+     */
+    private int currentPlayer;
+    /**
+     * Current GameState
+     */
+    private GameStates state = GameStates.ONGOING_GAME;
+
+
+    /**
+     * GameEngine Constructor for a new game with a randomized tileBag.
+     *
+     * @param size     gameBoard size
+     * @param players  players, at least the active ones must be initialized
+     * @param observer observer | null, if not observed
+     */
+    public GameEngine(int size, Player[] players, GameObserver observer) {
+        this(new GameBoard(size), players, new TileBag(), observer);
+    }
+
+    /**
+     * GameEngine Constructor for a new game with a seeded tileBag. Games with
+     * equal seeds and deterministic players are played identically.
+     *
+     * @param size     gameBoard size
+     * @param players  players, at least the active ones must be initialized
+     * @param seed     tileBag Randomizer Seed
+     * @param observer observer | null, if not observed
+     */
+    public GameEngine(int size, Player[] players, long seed, GameObserver observer) {
+        this(size, players, new RandomStreams(seed), observer);
+    }
+
+    /**
+     * GameEngine Constructor for a new game, whose tileBag is shuffled by the
+     * bag stream of the specified RandomStreams.
+     *
+     * @param size     gameBoard size
+     * @param players  players, at least the active ones must be initialized
+     * @param streams  RandomStreams of this game
+     * @param observer observer | null, if not observed
+     */
+    public GameEngine(int size, Player[] players, RandomStreams streams, GameObserver observer) {
+        this(new GameBoard(size), players, new TileBag(streams.bag()), observer);
+    }
+
+    /**
+     * GameEngine Constructor with predefined gameBoard and tileBag. Empty
+     * playerHands of active players are dealt from the tileBag.
+     *
+     * @param board    predefined gameBoard
+     * @param players  players, at least the active ones must be initialized
+     * @param tileBag  predefined tileBag
+     * @param observer observer | null, if not observed
+     */
+    GameEngine(GameBoard board, Player[] players, TileBag tileBag, GameObserver observer) {
+        this(board, players, tileBag, 0, observer);
+    }
+
+    /**
+     * GameEngine Constructor with predefined gameBoard, tileBag and player to move.
+     * Empty playerHands of active players are dealt from the tileBag.
+     *
+     * @param board         predefined gameBoard
+     * @param players       players, at least the active ones must be initialized
+     * @param tileBag       predefined tileBag
+     * @param currentPlayer index of player to move
+     * @param observer      observer | null, if not observed
+     */
+    GameEngine(GameBoard board, Player[] players, TileBag tileBag, int currentPlayer, GameObserver observer) {
+        this.board = board;
+        this.players = players;
+        this.tileBag = tileBag;
+        this.observer = observer == null ? GameObserver.NONE : observer;
+
+        int active = 0;
+        for (Player player : players) {
+            if (player != null && player.isActive()) {
+                active++;
+            }
+        }
+        this.activePlayers = active;
+
+        if (activePlayers == 0) {
+            throw new IllegalArgumentException("GameEngine needs at least one active player");
+        }
+        if (currentPlayer < 0 || currentPlayer >= activePlayers) {
+            throw new IllegalArgumentException("Player to move must be an active player");
+        }
+        this.currentPlayer = currentPlayer;
+
+        //Deal playerHands, which are not initialized yet
+        for (int i = 0; i < activePlayers; i++) {
+            if (players[i].getHandSize() == 0) {
+                for (int j = 0; j < HAND_SIZE; j++) {
+                    players[i].addGameTileAt(drawTile(), j);
+                }
+            }
+        }
+
+        //Count offBoard GameTiles once, turns update them afterwards
+        offBoard.clear();
+        for (GameTiles tile : tileBag.getTileBag()) {
+            offBoard.add(tile);
+        }
+        for (int i = 0; i < activePlayers; i++) {
+            for (GameTiles tile : players[i].getHandView()) {
+                offBoard.add(tile);
+            }
+        }
+    }
+
+    //Getters:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Current GameState Getter.
+     *
+     * @return GameState
+     */
+    public GameStates getState() {
+        return state;
+    }
+
+    /**
+     * currentPlayer Getter.
+     *
+     * @return currentPlayer Index
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * usedWildcards Getter.
+     *
+     * @return copy of usedWildcards
+     */
+    public int[] getUsedWildcards() {
+        return usedWildcards.clone();
+    }
+
+    /**
+     * gameBoard Getter. Does not copy the gameBoard.
+     *
+     * @return gameBoard
+     */
+    GameBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Player Getter.
+     *
+     * @param playerIdx player Index
+     * @return player
+     */
+    Player getPlayer(int playerIdx) {
+        return players[playerIdx];
+    }
+
+    /**
+     * tileBag Getter.
+     *
+     * @return tileBag
+     */
+    TileBag getTileBag() {
+        return tileBag;
+    }
+
+    /**
+     * Gets GameTiles a player has not seen: neither on the gameBoard, used
+     * nor in its own playerHand. Copy, which may be changed by the caller.
+     *
+     * @param playerIdx index of player
+     * @return unseen GameTiles
+     */
+    TileInventory getUnseenTiles(int playerIdx) {
+        TileInventory unseen = new TileInventory(offBoard);
+        unseen.removeAll(players[playerIdx].getHandView());
+        return unseen;
+    }
+
+    /**
+     * Calculates points of specified team. A WinOfSixes results in Integer.MAX_VALUE.
+     *
+     * @param isVerticalTeam isVerticalTeam Flag
+     * @return team points
+     */
+    public int getTeamPoints(boolean isVerticalTeam) {
+        int pointSum = 0;
+        for (int i = 0; i < board.getSize(); i++) {
+            board.copyTilesPerSegment(i, isVerticalTeam, segmentTiles);
+            pointSum = Game.addSegmentPoints(pointSum, PointsTable.points(segmentTiles));
+        }
+
+        return pointSum;
+    }
+
+    //Turns:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Basic Turn. Places standard GameTile of handSlot on a free Position.
+     *
+     * @param handSlot handSlot of standard GameTile
+     * @param pos      free Position to place on
+     * @return turn was valid and played -> TRUE
+     */
+    public boolean playBasic(int handSlot, Position pos) {
+        GameTiles tile = getTileOfCurrentPlayer(handSlot);
+        if (!GameTiles.isStandardGameTile(tile) || !isOnBoard(pos) || !board.isFreeAt(pos)) {
+            return false;
+        }
+
+        setTile(tile, pos);
+        offBoard.remove(tile);
+        refillHand(handSlot);
+        completeTurn();
+        return true;
+    }
+
+    /**
+     * REMOVER Turn. Removes GameTile of an occupied Position. The removed
+     * GameTile replaces the wildcard in playerHand.
+     *
+     * @param handSlot handSlot of REMOVER wildcard
+     * @param pos      occupied Position
+     * @return turn was valid and played -> TRUE
+     */
+    public boolean playRemover(int handSlot, Position pos) {
+        if (getTileOfCurrentPlayer(handSlot) != GameTiles.WC_REMOVER || !isOnBoard(pos) || board.isFreeAt(pos)) {
+            return false;
+        }
+
+        GameTiles removed = board.getGameTileAt(pos);
+        setTile(GameTiles.EMPTY, pos);
+        offBoard.add(removed);
+        setHandTile(handSlot, removed);
+        useWildcard(GameTiles.WC_REMOVER);
+        completeTurn();
+        return true;
+    }
+
+    /**
+     * MOVER Turn. Moves GameTile of an occupied Position to a free Position.
+     *
+     * @param handSlot handSlot of MOVER wildcard
+     * @param from     occupied Position to move from
+     * @param to       free Position to move to
+     * @return turn was valid and played -> TRUE
+     */
+    public boolean playMover(int handSlot, Position from, Position to) {
+        if (getTileOfCurrentPlayer(handSlot) != GameTiles.WC_MOVER || !isOnBoard(from) || !isOnBoard(to)
+                || board.isFreeAt(from) || !board.isFreeAt(to)) {
+            return false;
+        }
+
+        //1. Phase: Wildcard is replaced before gameBoard changes
+        useWildcard(GameTiles.WC_MOVER);
+        refillHand(handSlot);
+
+        //2. Phase
+        GameTiles tile = board.getGameTileAt(from);
+        setTile(GameTiles.EMPTY, from);
+        setTile(tile, to);
+        completeTurn();
+        return true;
+    }
+
+    /**
+     * SWAPONBOARD Turn. Swaps GameTiles of two different occupied Positions.
+     *
+     * @param handSlot handSlot of SWAPONBOARD wildcard
+     * @param first    first occupied Position
+     * @param second   second occupied Position
+     * @return turn was valid and played -> TRUE
+     */
+    public boolean playSwapOnBoard(int handSlot, Position first, Position second) {
+        if (getTileOfCurrentPlayer(handSlot) != GameTiles.WC_SWAPONBOARD || !isOnBoard(first) || !isOnBoard(second)
+                || first.equals(second) || board.isFreeAt(first) || board.isFreeAt(second)) {
+            return false;
+        }
+
+        //1. Phase: Wildcard is replaced before gameBoard changes
+        useWildcard(GameTiles.WC_SWAPONBOARD);
+        refillHand(handSlot);
+
+        //2. Phase
+        GameTiles firstTile = board.getGameTileAt(first);
+        setTile(board.getGameTileAt(second), first);
+        setTile(firstTile, second);
+        completeTurn();
+        return true;
+    }
+
+    /**
+     * SWAPWITHHAND Turn. Swaps a standard GameTile of playerHand with the GameTile
+     * of an occupied Position. The wildcard is replaced first, so the refilled
+     * GameTile may also be swapped.
+     *
+     * @param handSlot handSlot of SWAPWITHHAND wildcard
+     * @param swapSlot handSlot of standard GameTile to swap, after wildcard was replaced
+     * @param pos      occupied Position
+     * @return turn was valid and played -> TRUE
+     */
+    public boolean playSwapWithHand(int handSlot, int swapSlot, Position pos) {
+        Player player = players[currentPlayer];
+        if (getTileOfCurrentPlayer(handSlot) != GameTiles.WC_SWAPWITHHAND
+                || swapSlot < 0 || swapSlot >= player.getHandSize()
+                || !isOnBoard(pos) || board.isFreeAt(pos)) {
+            return false;
+        }
+
+        //Swapped GameTile after wildcard is replaced
+        GameTiles toPlace = swapSlot == handSlot ? tileBag.peek() : player.getGameTileAt(swapSlot);
+        if (!GameTiles.isStandardGameTile(toPlace)) {
+            return false;
+        }
+
+        //1. Phase: Wildcard is replaced before gameBoard changes
+        useWildcard(GameTiles.WC_SWAPWITHHAND);
+        refillHand(handSlot);
+
+        //2. Phase
+        GameTiles toSwap = board.getGameTileAt(pos);
+        setHandTile(swapSlot, toSwap);
+        setTile(toPlace, pos);
+        offBoard.add(toSwap);
+        offBoard.remove(toPlace);
+        completeTurn();
+        return true;
+    }
+
+    /**
+     * Lets current AI_Player evaluate and play its best turn. If the AI is
+     * unable to make a turn, the game ends.
+     *
+     * @return GameState after turn
+     */
+    public GameStates playAITurn() {
+        return playAITurnUntil(AI_Player.NO_DEADLINE);
+    }
+
+    /**
+     * Lets current AI_Player evaluate and play its best turn within a time limit per move.
+     * The AI returns the best turn found so far, when the time limit expires.
+     *
+     * @param moveTime time limit of the move in ms
+     * @return GameState after turn
+     */
+    public GameStates playAITurn(long moveTime) {
+        if (moveTime < 1) {
+            throw new IllegalArgumentException("Time limit must be positive");
+        }
+
+        return playAITurnUntil(System.nanoTime() + moveTime * 1_000_000L);
+    }
+
+    /**
+     * Lets current AI_Player evaluate its best turn until a deadline and plays it.
+     *
+     * @param deadline deadline as System.nanoTime() value | AI_Player.NO_DEADLINE
+     * @return GameState after turn
+     */
+    private GameStates playAITurnUntil(long deadline) {
+        if (state != GameStates.ONGOING_GAME) {
+            return state;
+        }
+        if (!(players[currentPlayer] instanceof AI_Player ai)) {
+            throw new IllegalStateException("Current player is not an AI_Player");
+        }
+
+        //Exhausted tileBag: the endgame is solved exactly, if the AI has a solver
+        EndgameSolver solver = ai.getEndgameSolver();
+        if (solver != null && tileBag.getTileBagSize() == 0 && MoveGenerator.supports(board.getSize())) {
+            long move = solver.solve(board, ai.getHandView(), currentPlayer, getHandSizes(), usedWildcards);
+            if (move != EndgameSolver.NO_MOVE) {
+                if (!playMove(move)) {
+                    throw new IllegalStateException("EndgameSolver proposed an invalid turn");
+                }
+                return state;
+            }
+        }
+
+        PossibleTurn turn = ai.evaluateToBestTurn(board, deadline);
+
+        //Both phases are played at once, the stored second phase is not needed
+        ai.resetSecondPhaseTurn();
+
+        if (turn == null) {
+            endGame();
+            return state;
+        }
+
+        boolean played;
+        if (turn.wildcard() == null) {
+            played = playBasic(turn.handSlot(), turn.pos());
+        } else {
+            played = switch (turn.wildcard()) {
+                case WC_REMOVER -> playRemover(turn.handSlot(), turn.pos());
+                case WC_MOVER -> playMover(turn.handSlot(), turn.lastPosition(), turn.pos());
+                case WC_SWAPONBOARD -> playSwapOnBoard(turn.handSlot(), turn.lastPosition(), turn.pos());
+                case WC_SWAPWITHHAND -> playSwapWithHand(
+                        ai.indexOfGameTile(GameTiles.WC_SWAPWITHHAND), turn.handSlot(), turn.pos());
+                default -> false;
+            };
+        }
+
+        //GameBreaking Error: AI proposed a turn, which is not possible
+        if (!played) {
+            throw new IllegalStateException("AI_Player proposed an invalid turn: " + turn);
+        }
+
+        return state;
+    }
+
+    /**
+     * Lets current player play the turn found by an IsmctsSearch. The search only gets
+     * to know public information and the playerHand of the current player. If no turn
+     * is found, the game ends.
+     *
+     * @param search IsmctsSearch of current player
+     * @return GameState after turn
+     */
+    public GameStates playSearchTurn(IsmctsSearch search) {
+        if (state != GameStates.ONGOING_GAME) {
+            return state;
+        }
+
+        //Other playerHands are only known by their number of GameTiles
+        long move = search.search(board, players[currentPlayer].getHandView(), currentPlayer, getHandSizes(),
+                getUsedWildcards());
+        if (move == IsmctsSearch.NO_MOVE) {
+            endGame();
+        } else if (!playMove(move)) {
+            throw new IllegalStateException("IsmctsSearch proposed an invalid turn");
+        }
+
+        return state;
+    }
+
+    /**
+     * Plays a packed move of the MoveGenerator for the current player.
+     *
+     * @param move packed move
+     * @return turn was valid and played -> TRUE
+     */
+    boolean playMove(long move) {
+        int handSlot = MoveGenerator.handSlot(move);
+        Position to = new Position(MoveGenerator.toColumn(move), MoveGenerator.toRow(move));
+        Position from = MoveGenerator.hasFrom(move)
+                ? new Position(MoveGenerator.fromColumn(move), MoveGenerator.fromRow(move))
+                : null;
+
+        return switch (MoveGenerator.type(move)) {
+            case MoveGenerator.TYPE_BASIC -> playBasic(handSlot, to);
+            case MoveGenerator.TYPE_REMOVER -> playRemover(handSlot, to);
+            case MoveGenerator.TYPE_MOVER -> playMover(handSlot, from, to);
+            case MoveGenerator.TYPE_SWAPONBOARD -> playSwapOnBoard(handSlot, from, to);
+            case MoveGenerator.TYPE_SWAPWITHHAND -> playSwapWithHand(
+                    players[currentPlayer].indexOfGameTile(GameTiles.WC_SWAPWITHHAND), handSlot, to);
+            default -> false;
+        };
+    }
+
+    /**
+     * Ends the game, because the current player is unable to make a turn.
+     */
+    void endWithoutTurn() {
+        if (state == GameStates.ONGOING_GAME) {
+            endGame();
+        }
+    }
+
+    /**
+     * Plays AI Turns until the game has ended. All active players must be AI_Players.
+     *
+     * @return final GameState
+     */
+    public GameStates playToEnd() {
+        while (state == GameStates.ONGOING_GAME) {
+            playAITurn();
+        }
+
+        return state;
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Gets GameTile of current player at handSlot.
+     *
+     * @param handSlot handSlot Index
+     * @return GameTile | null, if game has ended or handSlot is invalid
+     */
+    private GameTiles getTileOfCurrentPlayer(int handSlot) {
+        Player player = players[currentPlayer];
+        if (state != GameStates.ONGOING_GAME || handSlot < 0 || handSlot >= player.getHandSize()) {
+            return null;
+        }
+
+        return player.getGameTileAt(handSlot);
+    }
+
+    /**
+     * Counts GameTiles in the playerHand of each active player. This is all the
+     * searching player knows about the other playerHands.
+     *
+     * @return number of non-EMPTY GameTiles per active player
+     */
+    private int[] getHandSizes() {
+        int[] handSizes = new int[activePlayers];
+        for (int i = 0; i < activePlayers; i++) {
+            handSizes[i] = players[i].getHandSize() - players[i].getNumberOfGameTiles(GameTiles.EMPTY);
+        }
+
+        return handSizes;
+    }
+
+    /**
+     * Checks, if Position lies on gameBoard.
+     *
+     * @param pos Position to check
+     * @return Position on gameBoard -> TRUE
+     */
+    private boolean isOnBoard(Position pos) {
+        return pos != null && pos.column() >= 0 && pos.row() >= 0
+                && pos.column() < board.getSize() && pos.row() < board.getSize();
+    }
+
+    /**
+     * Sets GameTile on gameBoard and notifies observer.
+     *
+     * @param tile GameTile to set
+     * @param pos  Position
+     */
+    private void setTile(GameTiles tile, Position pos) {
+        board.placeTileOnBoard(tile, pos);
+        observer.onTilePlaced(tile, pos);
+    }
+
+    /**
+     * Replaces GameTile of current playerHand at handSlot and notifies observer.
+     *
+     * @param handSlot handSlot Index
+     * @param tile     new GameTile
+     */
+    private void setHandTile(int handSlot, GameTiles tile) {
+        players[currentPlayer].removeGameTileAt(handSlot);
+        players[currentPlayer].addGameTileAt(tile, handSlot);
+        observer.onHandChanged(currentPlayer, handSlot, tile);
+    }
+
+    /**
+     * Replaces GameTile of current playerHand at handSlot with a GameTile from tileBag.
+     *
+     * @param handSlot handSlot Index
+     */
+    private void refillHand(int handSlot) {
+        setHandTile(handSlot, drawTile());
+    }
+
+    /**
+     * Draws next GameTile from tileBag.
+     *
+     * @return next GameTile | EMPTY, if tileBag is empty
+     */
+    private GameTiles drawTile() {
+        GameTiles tile = tileBag.getTile();
+        return tile == null ? GameTiles.EMPTY : tile;
+    }
+
+    /**
+     * Counts a used wildcard and notifies observer.
+     *
+     * @param wildcard used wildcard
+     */
+    private void useWildcard(GameTiles wildcard) {
+        usedWildcards[wildcard.ordinal() - GameTiles.WC_REMOVER.ordinal()]++;
+        offBoard.remove(wildcard);
+        observer.onWildcardUsed(currentPlayer, wildcard);
+    }
+
+    /**
+     * Evaluates game after a turn. Ends game on WinOfSixes or full gameBoard,
+     * otherwise the next player is up.
+     */
+    private void completeTurn() {
+        int prevPlayer = currentPlayer;
+
+        if (getTeamPoints(true) == Integer.MAX_VALUE || getTeamPoints(false) == Integer.MAX_VALUE
+                || board.isFull()) {
+            endGame();
+        } else {
+            currentPlayer = (currentPlayer + 1) % activePlayers;
+        }
+
+        observer.onTurnCompleted(prevPlayer, currentPlayer);
+    }
+
+    /**
+     * Ends game and determines the winner team by team points.
+     */
+    private void endGame() {
+        int[] teamPoints = new int[]{getTeamPoints(true), getTeamPoints(false)};
+
+        if (teamPoints[0] > teamPoints[1]) {
+            state = GameStates.TEAM_VERTICAL;
+        } else if (teamPoints[0] < teamPoints[1]) {
+            state = GameStates.TEAM_HORIZONTAL;
+        } else {
+            state = GameStates.DRAW;
+        }
+
+        observer.onGameEnd(state, teamPoints);
+    }
+}
@@ -0,0 +1,65 @@
+package logic;
+
+/**
+ * Optional observer of a headless GameEngine. Gets notified about every state
+ * change of the game, e.g. to log, record or display it. All methods have an
+ * empty default implementation, so only relevant events need to be overridden.
+ * <p>
+ * Unlike GUIConnector, this interface does not depend on JavaFX.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public interface GameObserver {
+
+    /**
+     * Observer, which ignores every event.
+     */
+    GameObserver NONE = new GameObserver() {
+    };
+
+    /**
+     * Called, when a GameTile is set on a cell of the gameBoard.
+     *
+     * @param tile GameTile set on cell, EMPTY if removed
+     * @param pos  Position of cell
+     */
+    default void onTilePlaced(GameTiles tile, Position pos) {
+    }
+
+    /**
+     * Called, when a handSlot of a playerHand changes.
+     *
+     * @param playerIdx player Index
+     * @param handSlot  changed handSlot
+     * @param tile      new GameTile in handSlot
+     */
+    default void onHandChanged(int playerIdx, int handSlot, GameTiles tile) {
+    }
+
+    /**
+     * Called, when a wildcard is played.
+     *
+     * @param playerIdx player Index
+     * @param wildcard  played wildcard
+     */
+    default void onWildcardUsed(int playerIdx, GameTiles wildcard) {
+    }
+
+    /**
+     * Called, when a player has completed a turn.
+     *
+     * @param playerIdx  player Index, who made the turn
+     * @param nextPlayer player Index, who is next
+     */
+    default void onTurnCompleted(int playerIdx, int nextPlayer) {
+    }
+
+    /**
+     * Called once, when the game has ended.
+     *
+     * @param state      final GameState
+     * @param teamPoints points of vertical and horizontal team
+     */
+    default void onGameEnd(GameStates state, int[] teamPoints) {
+    }
+}
@@ -0,0 +1,437 @@
+package logic;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static logic.Game.HAND_SIZE;
+
+/**
+ * Information Set Monte Carlo Tree Search (single observer). The searching player only
+ * knows the gameBoard, its own playerHand, the number of GameTiles in the other playerHands
+ * and the used wildcards. All other GameTiles are unseen.
+ * <p>
+ * Every iteration samples a determinization: the unseen GameTiles are shuffled and dealt
+ * to the other playerHands, the rest becomes the tileBag in this order. The determinization
+ * is played on a GameEngine, first along the tree (UCB selection among the turns possible in
+ * this determinization), then by a random playout to the end of the game. All determinizations
+ * share a single tree, so the visit statistics of a turn are aggregated over all of them.
+ * Turns are identified by their kind, cells and GameTiles, not by their handSlot.
+ * <p>
+ * Playouts place a random standard GameTile of the playerHand on a random free cell. Players,
+ * which only hold wildcards, play a random wildcard turn.
+ * <p>
+ * A search runs a fixed number of iterations or until its time budget is exhausted,
+ * whichever comes first. The most visited turn of the root is returned.
+ * <p>
+ * Not thread-safe.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class IsmctsSearch {
+
+    /**
+     * Result of a search without any possible turn
+     */
+    static final long NO_MOVE = -1L;
+    /**
+     * Exploration constant of UCB, rewards are within [0, 1]
+     */
+    private static final double EXPLORATION = 0.7;
+    /**
+     * Bits of a packed move, which identify a turn: type, cells and GameTiles, without handSlot
+     */
+    private static final long KEY_MASK = ((1L << 19) - 1) | (((1L << 8) - 1) << 22);
+    /**
+     * Number of iterations between two checks of the time budget
+     */
+    private static final int TIME_CHECK_INTERVAL = 64;
+    /**
+     * All GameTiles, indexed by ordinal
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+
+    /**
+     * Maximal number of iterations per search
+     */
+    private final int iterations;
+    /**
+     * Maximal time per search in ns
+     */
+    private final long timeBudget;
+    /**
+     * Randomizer of determinizations and playouts
+     */
+    private final SplittableRandom random;
+    /**
+     * Move generators of team vertical [0] and team horizontal [1]
+     */
+    private final MoveGenerator[] generators = {new MoveGenerator(true), new MoveGenerator(false)};
+    /**
+     * Number of playouts of last search
+     */
+    private long playouts;
+
+
+    /**
+     * IsmctsSearch Constructor.
+     *
+     * @param iterations maximal number of iterations per search
+     * @param timeBudget maximal time per search in ms
+     * @param seed       Randomizer Seed
+     */
+    public IsmctsSearch(int iterations, long timeBudget, long seed) {
+        this(iterations, timeBudget, new SplittableRandom(seed));
+    }
+
+    /**
+     * IsmctsSearch Constructor with a stream of RandomStreams, e.g. RandomStreams.worker().
+     * The stream is owned by the search afterwards.
+     *
+     * @param iterations maximal number of iterations per search
+     * @param timeBudget maximal time per search in ms
+     * @param random     Randomizer of determinizations and playouts
+     */
+    public IsmctsSearch(int iterations, long timeBudget, SplittableRandom random) {
+        if (iterations < 1 || timeBudget < 1) {
+            throw new IllegalArgumentException("Iterations and time budget must be positive");
+        }
+
+        this.iterations = iterations;
+        this.timeBudget = timeBudget * 1_000_000L;
+        this.random = random;
+    }
+
+    /**
+     * Number of playouts Getter of the last search.
+     *
+     * @return number of playouts
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Searches the best turn of a player. An interrupt of the calling thread
+     * ends the search early, just like the time budget.
+     *
+     * @param board         gameBoard, must be supported by MoveGenerator. Not manipulated
+     * @param playerHand    playerHand of searching player
+     * @param playerIdx     index of searching player
+     * @param handSizes     number of GameTiles in the playerHand of each active player
+     * @param usedWildcards usedWildcards
+     * @return most visited packed move | NO_MOVE, if no turn is possible
+     */
+    long search(GameBoard board, List<GameTiles> playerHand, int playerIdx, int[] handSizes, int[] usedWildcards) {
+        TileBag unseen = new TileBag(getUnseenTiles(board, playerHand, usedWildcards), false);
+        Node root = new Node(NO_MOVE, false);
+        long start = System.nanoTime();
+        playouts = 0;
+
+        for (int i = 0; i < iterations; i++) {
+            if (i % TIME_CHECK_INTERVAL == 0 && i > 0
+                    && (System.nanoTime() - start > timeBudget || Thread.currentThread().isInterrupted())) {
+                break;
+            }
+
+            GameEngine engine = determinize(board, playerHand, playerIdx, handSizes, unseen);
+            iterate(root, engine, i);
+        }
+
+        //Most visited turn is the most robust one
+        Node best = null;
+        for (Node child : root.children.values()) {
+            if (best == null || child.visits > best.visits) {
+                best = child;
+            }
+        }
+
+        return best == null ? NO_MOVE : best.move;
+    }
+
+    //Iteration:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Runs a single iteration on a determinization: selection, expansion,
+     * playout and backpropagation.
+     *
+     * @param root      root of tree
+     * @param engine    determinization
+     * @param iteration iteration index, marks availability of turns
+     */
+    private void iterate(Node root, GameEngine engine, int iteration) {
+        Node node = root;
+        boolean expanded = false;
+
+        //Selection and Expansion
+        while (!expanded && engine.getState() == GameStates.ONGOING_GAME) {
+            boolean isVerticalMover = Utilities.isVerticalTeam(engine.getCurrentPlayer());
+            MoveGenerator moves = generateMoves(engine, isVerticalMover);
+            if (moves.size() == 0) {
+                engine.endWithoutTurn();
+                break;
+            }
+
+            Node selected = null;
+            long selectedMove = NO_MOVE;
+            double selectedScore = Double.NEGATIVE_INFINITY;
+            long untriedMove = NO_MOVE;
+            int untriedCount = 0;
+
+            for (int i = 0; i < moves.size(); i++) {
+                long move = moves.get(i);
+                Node child = node.children.get(move & KEY_MASK);
+
+                if (child == null) {
+                    //Uniform choice among untried turns
+                    if (random.nextInt(++untriedCount) == 0) {
+                        untriedMove = move;
+                    }
+                } else if (child.availableIn != iteration) {
+                    child.availableIn = iteration;
+                    child.availability++;
+
+                    double score = child.reward / child.visits
+                            + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                    if (score > selectedScore) {
+                        selectedScore = score;
+                        selected = child;
+                        selectedMove = move;
+                    }
+                }
+            }
+
+            if (untriedMove != NO_MOVE) {
+                selected = new Node(untriedMove, isVerticalMover);
+                selected.availableIn = iteration;
+                selected.availability = 1;
+                node.children.put(untriedMove & KEY_MASK, selected);
+                selectedMove = untriedMove;
+                expanded = true;
+            }
+
+            selected.parent = node;
+            node = selected;
+            play(engine, selectedMove);
+        }
+
+        playout(engine);
+        playouts++;
+
+        //Backpropagation from the view of the team, which made the turn into a node
+        GameStates result = engine.getState();
+        for (Node current = node; current != root; current = current.parent) {
+            current.visits++;
+            current.reward += reward(result, current.isVerticalMover);
+        }
+    }
+
+    /**
+     * Plays random turns until the game has ended.
+     *
+     * @param engine determinization
+     */
+    private void playout(GameEngine engine) {
+        while (engine.getState() == GameStates.ONGOING_GAME) {
+            Player player = engine.getPlayer(engine.getCurrentPlayer());
+            GameBoard board = engine.getBoard();
+
+            //Random standard GameTile of playerHand
+            int handSlot = -1;
+            int standardCount = 0;
+            for (int i = 0; i < player.getHandSize(); i++) {
+                if (GameTiles.isStandardGameTile(player.getGameTileAt(i)) && random.nextInt(++standardCount) == 0) {
+                    handSlot = i;
+                }
+            }
+
+            if (handSlot >= 0) {
+                if (!engine.playBasic(handSlot, randomFreePosition(board))) {
+                    throw new IllegalStateException("Invalid turn in playout");
+                }
+            } else {
+                //Only wildcards left
+                MoveGenerator moves = generateMoves(engine, Utilities.isVerticalTeam(engine.getCurrentPlayer()));
+                if (moves.size() == 0) {
+                    engine.endWithoutTurn();
+                } else {
+                    play(engine, moves.get(random.nextInt(moves.size())));
+                }
+            }
+        }
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Counts unseen GameTiles, which are neither on the gameBoard, in the
+     * playerHand of the searching player nor used wildcards.
+     *
+     * @param board         gameBoard
+     * @param playerHand    playerHand of searching player
+     * @param usedWildcards usedWildcards
+     * @return unseen GameTiles
+     */
+    private static List<GameTiles> getUnseenTiles(GameBoard board, List<GameTiles> playerHand, int[] usedWildcards) {
+        TileInventory unseen = new TileInventory();
+        unseen.removeBoard(board);
+        unseen.removeAll(playerHand);
+        unseen.removeUsedWildcards(usedWildcards);
+
+        return unseen.toList();
+    }
+
+    /**
+     * Samples a determinization, which is consistent with the knowledge of the searching player.
+     *
+     * @param board      gameBoard
+     * @param playerHand playerHand of searching player
+     * @param playerIdx  index of searching player
+     * @param handSizes  number of GameTiles in the playerHand of each active player
+     * @param unseen     tileBag of unseen GameTiles, not manipulated
+     * @return GameEngine of determinization with searching player to move
+     */
+    private GameEngine determinize(GameBoard board, List<GameTiles> playerHand, int playerIdx,
+                                   int[] handSizes, TileBag unseen) {
+        //Shuffle a fork, the unseen GameTiles are reused by the next determinization
+        TileBag bag = unseen.fork();
+        bag.shuffle(random);
+
+        Player[] players = new Player[handSizes.length];
+        for (int i = 0; i < players.length; i++) {
+            int[] hand = new int[HAND_SIZE];
+            if (i == playerIdx) {
+                for (int j = 0; j < playerHand.size() && j < hand.length; j++) {
+                    hand[j] = playerHand.get(j).ordinal();
+                }
+            } else {
+                for (int j = 0; j < handSizes[i] && j < hand.length && bag.getTileBagSize() > 0; j++) {
+                    hand[j] = bag.getTile().ordinal();
+                }
+            }
+            players[i] = new Player("P" + i, true, true, hand);
+        }
+
+        return new GameEngine(new GameBoard(board), players, bag, playerIdx, null);
+    }
+
+    /**
+     * Generates all possible turns of the current player of a determinization.
+     *
+     * @param engine          determinization
+     * @param isVerticalMover team Flag of current player
+     * @return MoveGenerator containing all possible turns
+     */
+    private MoveGenerator generateMoves(GameEngine engine, boolean isVerticalMover) {
+        GameBoard board = engine.getBoard();
+        MoveGenerator moves = generators[isVerticalMover ? 0 : 1];
+        moves.reset(board, new TurnScorer(board));
+
+        List<GameTiles> hand = engine.getPlayer(engine.getCurrentPlayer()).getHandView();
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.get(i) != GameTiles.EMPTY) {
+                moves.generate(hand.get(i), i, hand);
+            }
+        }
+
+        return moves;
+    }
+
+    /**
+     * Plays a packed move on a determinization.
+     *
+     * @param engine determinization
+     * @param move   packed move
+     */
+    private static void play(GameEngine engine, long move) {
+        if (!engine.playMove(move)) {
+            throw new IllegalStateException("Invalid turn in determinization");
+        }
+    }
+
+    /**
+     * Picks a random free cell. gameBoard must not be full.
+     *
+     * @param board gameBoard
+     * @return free Position
+     */
+    private Position randomFreePosition(GameBoard board) {
+        int size = board.getSize();
+        int skip = random.nextInt(size * size - board.usedSpaces());
+
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (board.getGameTileAt(x, y) == GameTiles.EMPTY && skip-- == 0) {
+                    return new Position(x, y);
+                }
+            }
+        }
+
+        throw new IllegalStateException("gameBoard is full");
+    }
+
+    /**
+     * Gets reward of a finished game for a team.
+     *
+     * @param result        final GameState
+     * @param isVerticalTeam team Flag
+     * @return 1 for a win, 0.5 for a draw, 0 for a loss
+     */
+    private static double reward(GameStates result, boolean isVerticalTeam) {
+        return switch (result) {
+            case TEAM_VERTICAL -> isVerticalTeam ? 1 : 0;
+            case TEAM_HORIZONTAL -> isVerticalTeam ? 0 : 1;
+            default -> 0.5;
+        };
+    }
+
+    /**
+     * Node of the search tree, represents a turn.
+     */
+    private static final class Node {
+        /**
+         * Packed move of the turn, as generated when node was created
+         */
+        private final long move;
+        /**
+         * Team Flag of the player, who made the turn
+         */
+        private final boolean isVerticalMover;
+        /**
+         * Children, identified by turn key
+         */
+        private final Map<Long, Node> children = new HashMap<>();
+        /**
+         * Parent of node in last iteration
+         */
+        private Node parent;
+        /**
+         * Number of iterations through this node
+         */
+        private int visits;
+        /**
+         * Number of iterations, in which this turn was possible
+         */
+        private int availability;
+        /**
+         * Last iteration, in which this turn was counted as possible
+         */
+        private int availableIn = -1;
+        /**
+         * Summed rewards of the team, which made the turn
+         */
+        private double reward;
+
+        /**
+         * Node Constructor.
+         *
+         * @param move            packed move of turn
+         * @param isVerticalMover team Flag of the player, who made the turn
+         */
+        private Node(long move, boolean isVerticalMover) {
+            this.move = move;
+            this.isVerticalMover = isVerticalMover;
+        }
+    }
+}
@@ -0,0 +1,664 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Allocation-free move generator of the AI_Player. Writes all possible turns of a
+ * handSlot into a reusable primitive buffer, where each turn is packed into a single
+ * long. PossibleTurn records are only created for the finally chosen turn.
+ * <p>
+ * Layout of a packed move (from least significant bit):
+ * <p>
+ * -type          3 bits (BASIC, REMOVER, MOVER, SWAPONBOARD, SWAPWITHHAND)
+ * -to cell       8 bits (column * CELL_BASE + row)
+ * -from cell     8 bits (column * CELL_BASE + row | NO_CELL)
+ * -handSlot      3 bits (up to MAX_HAND_SIZE handSlots)
+ * -tile          4 bits (GameTile ordinal of toPlace)
+ * -swap tile     4 bits (GameTile ordinal of toSwap | NO_TILE)
+ * -team points  11 bits (POINTS_MAX, if Integer.MAX_VALUE)
+ * -opp. points  11 bits (POINTS_MAX, if Integer.MAX_VALUE)
+ * -team gain    12 bits (two's complement, saturated to +-GAIN_LIMIT)
+ * <p>
+ * Cells are packed into 4 bits per coordinate. Cell (15,15) would collide with NO_CELL,
+ * so only gameBoards up to 15 x 15 are supported. Generation order is the same as the one
+ * of the List based methods in AI_Player, so ties are broken the same way.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+class MoveGenerator {
+
+    /**
+     * Base of a packed cell (column * CELL_BASE + row)
+     */
+    static final int CELL_BASE = 16;
+    /**
+     * Maximal gameBoard size, whose cells fit into 8 bits without colliding with NO_CELL
+     */
+    static final int MAX_SIZE = CELL_BASE - 1;
+    /**
+     * Maximal number of handSlots, which fit into 3 bits
+     */
+    static final int MAX_HAND_SIZE = 1 << 3;
+
+    /**
+     * Move Type of a basic turn with a standard GameTile
+     */
+    static final int TYPE_BASIC = 0;
+    /**
+     * Move Type of wildcard REMOVER
+     */
+    static final int TYPE_REMOVER = 1;
+    /**
+     * Move Type of wildcard MOVER
+     */
+    static final int TYPE_MOVER = 2;
+    /**
+     * Move Type of wildcard SWAPONBOARD
+     */
+    static final int TYPE_SWAPONBOARD = 3;
+    /**
+     * Move Type of wildcard SWAPWITHHAND
+     */
+    static final int TYPE_SWAPWITHHAND = 4;
+
+    /**
+     * Marker for a missing from cell
+     */
+    static final int NO_CELL = 0xFF;
+    /**
+     * Marker for a missing swap tile
+     */
+    static final int NO_TILE = 0xF;
+    /**
+     * Packed points representing Integer.MAX_VALUE (Win of Sixes)
+     */
+    static final int POINTS_MAX = (1 << 11) - 1;
+    /**
+     * Maximal absolute value of a packed gain
+     */
+    static final int GAIN_LIMIT = (1 << 11) - 1;
+
+    /**
+     * Bit offset of packed to cell
+     */
+    private static final int TO_SHIFT = 3;
+    /**
+     * Bit offset of packed from cell
+     */
+    private static final int FROM_SHIFT = 11;
+    /**
+     * Bit offset of packed handSlot
+     */
+    private static final int SLOT_SHIFT = 19;
+    /**
+     * Bit offset of packed tile
+     */
+    private static final int TILE_SHIFT = 22;
+    /**
+     * Bit offset of packed swap tile
+     */
+    private static final int SWAP_SHIFT = 26;
+    /**
+     * Bit offset of packed team points
+     */
+    private static final int TEAM_SHIFT = 30;
+    /**
+     * Bit offset of packed opponent points
+     */
+    private static final int OPPONENT_SHIFT = 41;
+    /**
+     * Bit offset of packed team gain
+     */
+    private static final int GAIN_SHIFT = 52;
+
+    /**
+     * All GameTiles, indexed by ordinal value
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+
+    /**
+     * Team Flag of the generating AI
+     */
+    private final boolean isVerticalTeam;
+    /**
+     * Reusable buffer of packed moves
+     */
+    private long[] moves = new long[256];
+    /**
+     * Number of moves in buffer
+     */
+    private int count;
+    /**
+     * gameBoard to generate moves on
+     */
+    private GameBoard board;
+    /**
+     * Scorer of gameBoard
+     */
+    private TurnScorer scorer;
+    /**
+     * Deadline of the current generation as System.nanoTime() value | AI_Player.NO_DEADLINE
+     */
+    private long deadline = AI_Player.NO_DEADLINE;
+
+
+    /**
+     * MoveGenerator Constructor.
+     *
+     * @param isVerticalTeam team Flag of the generating AI
+     */
+    MoveGenerator(boolean isVerticalTeam) {
+        this.isVerticalTeam = isVerticalTeam;
+    }
+
+    /**
+     * Checks, if moves on a gameBoard of specified size can be packed.
+     * The handSlots of Game.HAND_SIZE need to fit as well.
+     *
+     * @param size gameBoard size
+     * @return size fits into packed cells and HAND_SIZE into packed handSlots -> TRUE
+     */
+    static boolean supports(int size) {
+        return size > 0 && size <= MAX_SIZE && Game.HAND_SIZE <= MAX_HAND_SIZE;
+    }
+
+    /**
+     * Clears buffer and sets gameBoard to generate moves on.
+     *
+     * @param board  gameBoard to generate moves on
+     * @param scorer scorer of gameBoard
+     */
+    void reset(GameBoard board, TurnScorer scorer) {
+        this.board = board;
+        this.scorer = scorer;
+        this.count = 0;
+    }
+
+    /**
+     * Number of moves in buffer.
+     *
+     * @return number of moves
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Gets packed move at specified index of buffer.
+     *
+     * @param index buffer index
+     * @return packed move
+     */
+    long get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces all moves from specified index on with a single kept move.
+     *
+     * @param from      first buffer index to replace
+     * @param keepIndex buffer index of move to keep
+     */
+    void keepOnly(int from, int keepIndex) {
+        moves[from] = moves[keepIndex];
+        count = from + 1;
+    }
+
+    //Generation::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Generates all moves of specified GameTile played from specified handSlot.
+     *
+     * @param tile       GameTile to play
+     * @param handSlot   handSlot, where GameTile is played from
+     * @param playerHand playerHand of the AI, relevant for SWAPWITHHAND
+     */
+    void generate(GameTiles tile, int handSlot, List<GameTiles> playerHand) {
+        generate(tile, handSlot, playerHand, AI_Player.NO_DEADLINE);
+    }
+
+    /**
+     * Generates moves of specified GameTile played from specified handSlot until a deadline.
+     * Wildcard generation checks the deadline per cell and stops early, the moves generated
+     * so far stay in the buffer. Basic moves are always generated completely.
+     *
+     * @param tile       GameTile to play
+     * @param handSlot   handSlot, where GameTile is played from
+     * @param playerHand playerHand of the AI, relevant for SWAPWITHHAND
+     * @param deadline   deadline as System.nanoTime() value | AI_Player.NO_DEADLINE
+     */
+    void generate(GameTiles tile, int handSlot, List<GameTiles> playerHand, long deadline) {
+        this.deadline = deadline;
+        if (GameTiles.isStandardGameTile(tile)) {
+            generateBasic(tile, handSlot);
+        } else if (GameTiles.isWildcard(tile) && board.usedSpaces() > 0) {
+            switch (tile) {
+                case WC_REMOVER -> generateRemover(handSlot);
+                case WC_MOVER -> generateMover(handSlot);
+                case WC_SWAPONBOARD -> generateSwapOnBoard(handSlot);
+                case WC_SWAPWITHHAND -> generateSwapWithHand(playerHand);
+            }
+        }
+    }
+
+    /**
+     * Generates basic moves by placing a standard GameTile on every free cell.
+     *
+     * @param tile     standard GameTile to place
+     * @param handSlot handSlot, where GameTile is played from
+     */
+    private void generateBasic(GameTiles tile, int handSlot) {
+        int size = board.getSize();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (board.getGameTileAt(x, y) == GameTiles.EMPTY) {
+                    int old = scorer.currentPoints(isVerticalTeam ? x : y, isVerticalTeam);
+                    int team = scorer.pointsAfterPlacement(tile, x, y, isVerticalTeam);
+                    int opponent = scorer.pointsAfterPlacement(tile, x, y, !isVerticalTeam);
+
+                    add(pack(TYPE_BASIC, x, y, -1, -1, handSlot, tile, null, team, opponent, team - old));
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates REMOVER moves for every non-EMPTY cell.
+     *
+     * @param handSlot handSlot, where wildcard is played from
+     */
+    private void generateRemover(int handSlot) {
+        int size = board.getSize();
+        for (int x = 0; x < size && !isPastDeadline(); x++) {
+            for (int y = 0; y < size; y++) {
+                if (board.getGameTileAt(x, y) != GameTiles.EMPTY) {
+                    int old = scorer.currentPoints(isVerticalTeam ? x : y, isVerticalTeam);
+                    int team = scorer.pointsAfterRemove(x, y, isVerticalTeam);
+                    int opponent = scorer.pointsAfterRemove(x, y, !isVerticalTeam);
+
+                    add(pack(TYPE_REMOVER, x, y, -1, -1, handSlot, GameTiles.WC_REMOVER, null,
+                            team, opponent, team - old));
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates MOVER moves from every non-EMPTY cell to every free cell.
+     * Team is scored on the segment of the new cell, opponent on the one of the last cell.
+     *
+     * @param handSlot handSlot, where wildcard is played from
+     */
+    private void generateMover(int handSlot) {
+        int size = board.getSize();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                GameTiles toPlace = board.getGameTileAt(x, y);
+                if (toPlace != GameTiles.EMPTY && !isPastDeadline()) {
+
+                    for (int x2 = 0; x2 < size; x2++) {
+                        for (int y2 = 0; y2 < size; y2++) {
+                            if (board.getGameTileAt(x2, y2) == GameTiles.EMPTY) {
+                                int old = scorer.currentPoints(isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                int team = scorer.pointsAfterMove(x, y, x2, y2,
+                                        isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                int opponent = scorer.pointsAfterMove(x, y, x2, y2,
+                                        !isVerticalTeam ? x : y, !isVerticalTeam);
+
+                                add(pack(TYPE_MOVER, x2, y2, x, y, handSlot, toPlace, GameTiles.EMPTY,
+                                        team, opponent, team - old));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates SWAPONBOARD moves for every pair of different non-EMPTY cells.
+     * Team and opponent are scored on the segments of the new cell.
+     *
+     * @param handSlot handSlot, where wildcard is played from
+     */
+    private void generateSwapOnBoard(int handSlot) {
+        if (board.usedSpaces() < 2) {
+            return;
+        }
+
+        int size = board.getSize();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                GameTiles toPlace = board.getGameTileAt(x, y);
+                if (toPlace != GameTiles.EMPTY && !isPastDeadline()) {
+
+                    for (int x2 = 0; x2 < size; x2++) {
+                        for (int y2 = 0; y2 < size; y2++) {
+                            GameTiles toSwap = board.getGameTileAt(x2, y2);
+                            if ((x != x2 || y != y2) && toSwap != GameTiles.EMPTY) {
+                                int old = scorer.currentPoints(isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                int team = scorer.pointsAfterSwap(x2, y2, x, y,
+                                        isVerticalTeam ? x2 : y2, isVerticalTeam);
+                                int opponent = scorer.pointsAfterSwap(x2, y2, x, y,
+                                        !isVerticalTeam ? x2 : y2, !isVerticalTeam);
+
+                                add(pack(TYPE_SWAPONBOARD, x2, y2, x, y, handSlot, toPlace, toSwap,
+                                        team, opponent, team - old));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates SWAPWITHHAND moves for every non-EMPTY cell and every standard
+     * GameTile in playerHand. The handSlot of the move is the one of the hand GameTile.
+     *
+     * @param playerHand playerHand of the AI
+     */
+    private void generateSwapWithHand(List<GameTiles> playerHand) {
+        int size = board.getSize();
+        for (int x = 0; x < size && !isPastDeadline(); x++) {
+            for (int y = 0; y < size; y++) {
+                GameTiles toSwap = board.getGameTileAt(x, y);
+                if (toSwap != GameTiles.EMPTY) {
+
+                    for (int i = 0; i < playerHand.size(); i++) {
+                        GameTiles toPlace = playerHand.get(i);
+                        if (GameTiles.isStandardGameTile(toPlace)) {
+                            int old = scorer.currentPoints(isVerticalTeam ? x : y, isVerticalTeam);
+                            int team = scorer.pointsAfterPlacement(toPlace, x, y, isVerticalTeam);
+                            int opponent = scorer.pointsAfterPlacement(toPlace, x, y, !isVerticalTeam);
+
+                            add(pack(TYPE_SWAPWITHHAND, x, y, -1, -1, i, toPlace, toSwap,
+                                    team, opponent, team - old));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks, if the deadline of the current generation has passed.
+     *
+     * @return deadline passed -> TRUE | no deadline -> FALSE
+     */
+    private boolean isPastDeadline() {
+        return deadline != AI_Player.NO_DEADLINE && System.nanoTime() - deadline > 0;
+    }
+
+    /**
+     * Appends a packed move to the buffer. Grows buffer if necessary.
+     *
+     * @param move packed move
+     */
+    private void add(long move) {
+        if (count == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[count++] = move;
+    }
+
+    /**
+     * Applies the gameBoard part of a packed move. SWAPWITHHAND overwrites the swapped
+     * GameTile, playerHands are not changed.
+     *
+     * @param board gameBoard to apply move to
+     * @param move  packed move
+     * @return undo token
+     */
+    static long apply(GameBoard board, long move) {
+        int toColumn = toColumn(move);
+        int toRow = toRow(move);
+
+        return switch (type(move)) {
+            case TYPE_REMOVER -> board.applyRemove(toColumn, toRow);
+            case TYPE_MOVER -> board.applyMove(fromColumn(move), fromRow(move), toColumn, toRow);
+            case TYPE_SWAPONBOARD -> board.applySwap(fromColumn(move), fromRow(move), toColumn, toRow);
+            default -> board.applyPlacement(toPlace(move), toColumn, toRow);
+        };
+    }
+
+    //Packing:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Packs a move into a single long.
+     *
+     * @param type       move type
+     * @param toColumn   column of target cell
+     * @param toRow      row of target cell
+     * @param fromColumn column of last cell | -1
+     * @param fromRow    row of last cell | -1
+     * @param handSlot   handSlot
+     * @param toPlace    GameTile to place
+     * @param toSwap     GameTile to swap | null
+     * @param team       team points
+     * @param opponent   opponent points
+     * @param gain       team points gain
+     * @return packed move
+     */
+    static long pack(int type, int toColumn, int toRow, int fromColumn, int fromRow, int handSlot,
+                     GameTiles toPlace, GameTiles toSwap, int team, int opponent, int gain) {
+        int from = fromColumn < 0 ? NO_CELL : fromColumn * CELL_BASE + fromRow;
+        int swap = toSwap == null ? NO_TILE : toSwap.ordinal();
+
+        return type
+                | (long) (toColumn * CELL_BASE + toRow) << TO_SHIFT
+                | (long) from << FROM_SHIFT
+                | (long) handSlot << SLOT_SHIFT
+                | (long) toPlace.ordinal() << TILE_SHIFT
+                | (long) swap << SWAP_SHIFT
+                | (long) packPoints(team) << TEAM_SHIFT
+                | (long) packPoints(opponent) << OPPONENT_SHIFT
+                | (long) (Math.max(-GAIN_LIMIT, Math.min(GAIN_LIMIT, gain)) & 0xFFF) << GAIN_SHIFT;
+    }
+
+    /**
+     * Replaces the cells of a packed move, e.g. when mapping it onto a symmetric gameBoard.
+     * A move without last cell keeps it unset.
+     *
+     * @param move       packed move
+     * @param toColumn   new column of target cell
+     * @param toRow      new row of target cell
+     * @param fromColumn new column of last cell, ignored if move has none
+     * @param fromRow    new row of last cell, ignored if move has none
+     * @return packed move with replaced cells
+     */
+    static long withCells(long move, int toColumn, int toRow, int fromColumn, int fromRow) {
+        long cells = (long) (toColumn * CELL_BASE + toRow) << TO_SHIFT;
+        long mask = 0xFFL << TO_SHIFT;
+        if (hasFrom(move)) {
+            cells |= (long) (fromColumn * CELL_BASE + fromRow) << FROM_SHIFT;
+            mask |= 0xFFL << FROM_SHIFT;
+        }
+
+        return (move & ~mask) | cells;
+    }
+
+    /**
+     * Packs points into 11 bits. Integer.MAX_VALUE becomes POINTS_MAX, other points
+     * are clamped, so they can never spill into neighbouring fields.
+     *
+     * @param points points to pack
+     * @return packed points
+     */
+    private static int packPoints(int points) {
+        return points == Integer.MAX_VALUE ? POINTS_MAX : Math.max(0, Math.min(points, POINTS_MAX - 1));
+    }
+
+    /**
+     * Unpacks points. POINTS_MAX becomes Integer.MAX_VALUE.
+     *
+     * @param packed packed points
+     * @return points
+     */
+    private static int unpackPoints(int packed) {
+        return packed == POINTS_MAX ? Integer.MAX_VALUE : packed;
+    }
+
+    /**
+     * Gets move type of a packed move.
+     *
+     * @param move packed move
+     * @return move type
+     */
+    static int type(long move) {
+        return (int) (move & 0x7);
+    }
+
+    /**
+     * Gets column of target cell of a packed move.
+     *
+     * @param move packed move
+     * @return column of target cell
+     */
+    static int toColumn(long move) {
+        return (int) (move >>> TO_SHIFT & 0xFF) / CELL_BASE;
+    }
+
+    /**
+     * Gets row of target cell of a packed move.
+     *
+     * @param move packed move
+     * @return row of target cell
+     */
+    static int toRow(long move) {
+        return (int) (move >>> TO_SHIFT & 0xFF) % CELL_BASE;
+    }
+
+    /**
+     * Checks, if packed move has a last cell.
+     *
+     * @param move packed move
+     * @return last cell exists -> TRUE
+     */
+    static boolean hasFrom(long move) {
+        return (move >>> FROM_SHIFT & 0xFF) != NO_CELL;
+    }
+
+    /**
+     * Gets column of last cell of a packed move.
+     *
+     * @param move packed move
+     * @return column of last cell
+     */
+    static int fromColumn(long move) {
+        return (int) (move >>> FROM_SHIFT & 0xFF) / CELL_BASE;
+    }
+
+    /**
+     * Gets row of last cell of a packed move.
+     *
+     * @param move packed move
+     * @return row of last cell
+     */
+    static int fromRow(long move) {
+        return (int) (move >>> FROM_SHIFT & 0xFF) % CELL_BASE;
+    }
+
+    /**
+     * Gets handSlot of a packed move.
+     *
+     * @param move packed move
+     * @return handSlot
+     */
+    static int handSlot(long move) {
+        return (int) (move >>> SLOT_SHIFT & 0x7);
+    }
+
+    /**
+     * Gets GameTile to place of a packed move.
+     *
+     * @param move packed move
+     * @return GameTile to place
+     */
+    static GameTiles toPlace(long move) {
+        return TILES[(int) (move >>> TILE_SHIFT & 0xF)];
+    }
+
+    /**
+     * Gets GameTile to swap of a packed move.
+     *
+     * @param move packed move
+     * @return GameTile to swap | null
+     */
+    static GameTiles toSwap(long move) {
+        int swap = (int) (move >>> SWAP_SHIFT & 0xF);
+        return swap == NO_TILE ? null : TILES[swap];
+    }
+
+    /**
+     * Gets team points of a packed move.
+     *
+     * @param move packed move
+     * @return team points
+     */
+    static int pointsTeam(long move) {
+        return unpackPoints((int) (move >>> TEAM_SHIFT & POINTS_MAX));
+    }
+
+    /**
+     * Gets opponent points of a packed move.
+     *
+     * @param move packed move
+     * @return opponent points
+     */
+    static int pointsOpponent(long move) {
+        return unpackPoints((int) (move >>> OPPONENT_SHIFT & POINTS_MAX));
+    }
+
+    /**
+     * Gets team points gain of a packed move.
+     *
+     * @param move packed move
+     * @return team points gain
+     */
+    static int gain(long move) {
+        //Arithmetic shift restores the sign of the top 12 bits
+        return (int) (move >> GAIN_SHIFT);
+    }
+
+    /**
+     * Gets played wildcard of a packed move.
+     *
+     * @param move packed move
+     * @return played wildcard | null, if basic move
+     */
+    static GameTiles wildcard(long move) {
+        return switch (type(move)) {
+            case TYPE_REMOVER -> GameTiles.WC_REMOVER;
+            case TYPE_MOVER -> GameTiles.WC_MOVER;
+            case TYPE_SWAPONBOARD -> GameTiles.WC_SWAPONBOARD;
+            case TYPE_SWAPWITHHAND -> GameTiles.WC_SWAPWITHHAND;
+            default -> null;
+        };
+    }
+
+    /**
+     * Unpacks a move into a PossibleTurn, equal to the one the List based
+     * methods of AI_Player would have created.
+     *
+     * @param move packed move
+     * @return PossibleTurn of move
+     */
+    static PossibleTurn toPossibleTurn(long move) {
+        int type = type(move);
+        GameTiles wildcard = wildcard(move);
+
+        return new PossibleTurn(
+                new Position(toColumn(move), toRow(move)),
+                toPlace(move),
+                handSlot(move),
+                hasFrom(move) ? new Position(fromColumn(move), fromRow(move)) : null,
+                toSwap(move),
+                pointsTeam(move),
+                pointsOpponent(move),
+                gain(move),
+                type != TYPE_BASIC && type != TYPE_REMOVER,
+                wildcard);
+    }
+}
@@ -1,9 +1,11 @@
 package logic;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.IntStream;
+import java.util.RandomAccess;
 
 /**
  * Player Class for the game Crosswise. Each player has a name, a value if
@@ -11,11 +13,20 @@ import java.util.stream.IntStream;
  * <p>
  * The player can interact with the game Crosswise by performing actions such
  * as playing GameTiles from its own hand or using wildcards.
+ * <p>
+ * The playerHand is stored as ordinal values in byte handSlots together with a count
+ * per GameTile, which is maintained on every add and remove. Counting queries are
+ * therefore O(1) and the AI reads the playerHand through a view without copying it.
  *
  * @author Jonathan El Jusup (cgt104707)
  */
 public class Player {
 
+    /**
+     * GameTiles by ordinal value
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+
     /**
      * player Name
      */
@@ -29,9 +40,25 @@ public class Player {
      */
     private final boolean isAI;
     /**
-     * playerHand List of GameTiles
+     * playerHand as GameTile ordinal values, only the first handSize handSlots are used
      */
-    private final List<GameTiles> hand;
+    private byte[] hand = new byte[Game.HAND_SIZE];
+    /**
+     * Number of used handSlots
+     */
+    private int handSize;
+    /**
+     * Counts of GameTiles in playerHand, indexed by ordinal
+     */
+    private final int[] counts = new int[TILES.length];
+    /**
+     * Number of standard GameTiles in playerHand
+     */
+    private int standardCount;
+    /**
+     * Read-only view of playerHand
+     */
+    private final List<GameTiles> handView = new HandView();
 
 
     /**
@@ -45,13 +72,12 @@ public class Player {
         this.name = name;
         this.isActive = isActive;
         this.isAI = isAI;
-        this.hand = new ArrayList<>();
     }
 
     /**
      * Player Constructor for loading existing player with existing playerHand.
      * Specified hand gets converted from Array of GameTile ordinal values to
-     * ArrayList of GameTiles. This constructor is only called in logic package.
+     * handSlots. This constructor is only called in logic package.
      *
      * @param name     player name
      * @param isActive is active player
@@ -62,7 +88,10 @@ public class Player {
         this.name = name;
         this.isActive = isActive;
         this.isAI = isAI;
-        this.hand = new ArrayList<>(IntStream.of(hand).mapToObj(Utilities::ordinalToGameTiles).toList());
+
+        for (int i = 0; i < hand.length; i++) {
+            addGameTileAt(Utilities.ordinalToGameTiles(hand[i]), i);
+        }
     }
 
     /**
@@ -89,7 +118,17 @@ public class Player {
      * @return hand Copy
      */
     List<GameTiles> getHand() {
-        return new ArrayList<>(hand);
+        return new ArrayList<>(handView);
+    }
+
+    /**
+     * hand Getter without copying. The view cannot be modified and reflects
+     * later changes of the playerHand, so callers must not keep it across turns.
+     *
+     * @return read-only view of playerHand
+     */
+    List<GameTiles> getHandView() {
+        return handView;
     }
 
     /**
@@ -102,13 +141,36 @@ public class Player {
     }
 
 
+    /**
+     * Gets GameTile at specified handSlot without copying the playerHand.
+     *
+     * @param handSlot handSlot Index
+     * @return GameTile at handSlot
+     */
+    GameTiles getGameTileAt(int handSlot) {
+        return handView.get(handSlot);
+    }
+
+    /**
+     * Gets number of handSlots of playerHand.
+     *
+     * @return playerHand size
+     */
+    int getHandSize() {
+        return handSize;
+    }
+
     /**
      * Removes GameTile from playerHand, normally after GameTile was used by Player.
      *
      * @param handSlot handSlot Index, where to remove
      */
     void removeGameTileAt(int handSlot) {
-        hand.remove(handSlot);
+        GameTiles removed = getGameTileAt(handSlot);
+
+        System.arraycopy(hand, handSlot + 1, hand, handSlot, handSize - handSlot - 1);
+        handSize--;
+        count(removed, -1);
     }
 
     /**
@@ -119,7 +181,17 @@ public class Player {
      * @param handSlot handSlot Index, where to add
      */
     void addGameTileAt(GameTiles tile, int handSlot) {
-        hand.add(handSlot, tile);
+        if (handSlot < 0 || handSlot > handSize) {
+            throw new IndexOutOfBoundsException("handSlot: " + handSlot + ", playerHand size: " + handSize);
+        }
+        if (handSize == hand.length) {
+            hand = Arrays.copyOf(hand, hand.length * 2);
+        }
+
+        System.arraycopy(hand, handSlot, hand, handSlot + 1, handSize - handSlot);
+        hand[handSlot] = (byte) tile.ordinal();
+        handSize++;
+        count(tile, 1);
     }
 
     /**
@@ -130,7 +202,17 @@ public class Player {
      * @return number of standard GameTiles
      */
     int getNumberOfStandardGameTiles() {
-        return (int) hand.stream().filter(GameTiles::isStandardGameTile).count();
+        return standardCount;
+    }
+
+    /**
+     * Gets Number of occurrences of specified GameTile in playerHand.
+     *
+     * @param gameTile GameTile to count
+     * @return number of occurrences
+     */
+    int getNumberOfGameTiles(GameTiles gameTile) {
+        return counts[gameTile.ordinal()];
     }
 
     /**
@@ -144,8 +226,9 @@ public class Player {
     int indexOfGameTile(GameTiles gameTile) {
         int result = -1;
 
-        for (int i = 0; i < hand.size() && result == -1; i++) {
-            if (hand.get(i).equals(gameTile)) {
+        //GameTiles, which are not in playerHand, need no lookup
+        for (int i = 0; i < handSize && result == -1 && counts[gameTile.ordinal()] > 0; i++) {
+            if (hand[i] == gameTile.ordinal()) {
                 result = i;
             }
         }
@@ -164,7 +247,38 @@ public class Player {
         if (isAI != player.isAI) return false;
         if (!Objects.equals(name, player.name)) return false;
 
-        return Objects.equals(hand, player.hand);
+        return handView.equals(player.handView);
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Updates counts after a GameTile was added or removed.
+     *
+     * @param tile   added or removed GameTile
+     * @param amount 1, if added | -1, if removed
+     */
+    private void count(GameTiles tile, int amount) {
+        counts[tile.ordinal()] += amount;
+        if (GameTiles.isStandardGameTile(tile)) {
+            standardCount += amount;
+        }
     }
 
+    /**
+     * Read-only List view of the handSlots.
+     */
+    private final class HandView extends AbstractList<GameTiles> implements RandomAccess {
+
+        @Override
+        public GameTiles get(int index) {
+            Objects.checkIndex(index, handSize);
+            return TILES[hand[index]];
+        }
+
+        @Override
+        public int size() {
+            return handSize;
+        }
+    }
 }
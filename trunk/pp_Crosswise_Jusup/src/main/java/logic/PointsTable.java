@@ -0,0 +1,155 @@
+package logic;
+
+/**
+ * Precomputed lookup table for the segment points of the game Crosswise.
+ * A segment histogram (count per standard GameTile type) is packed into a
+ * single key, where each count is one digit of base (STANDARD_SEGMENT_LENGTH + 1).
+ * <p>
+ * For a standard segment length of 6 there are 7^6 possible keys, so all
+ * points are calculated once at class-load time and scoring becomes a single
+ * array lookup. Histograms, which don't fit into a key (non-standard gameBoard
+ * sizes), fall back to the generic point calculation.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+final class PointsTable {
+
+    /**
+     * Segment length of a standard 6 x 6 gameBoard
+     */
+    static final int STANDARD_SEGMENT_LENGTH = 6;
+
+    /**
+     * Base of the packed key. Each count can be 0 to STANDARD_SEGMENT_LENGTH
+     */
+    static final int KEY_BASE = STANDARD_SEGMENT_LENGTH + 1;
+
+    /**
+     * Key increment per standard GameTile type, indexed by (ordinal - 1)
+     */
+    private static final int[] KEY_WEIGHTS = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+
+    /**
+     * Points of each packed key
+     */
+    private static final int[] POINTS;
+
+    static {
+        int weight = 1;
+        for (int i = 0; i < KEY_WEIGHTS.length; i++) {
+            KEY_WEIGHTS[i] = weight;
+            weight *= KEY_BASE;
+        }
+
+        //weight is now KEY_BASE ^ STANDARD_GAMETILES_TYPES, which is the number of keys
+        POINTS = new int[weight];
+        int[] gameTiles = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+        for (int key = 0; key < POINTS.length; key++) {
+            int rest = key;
+            for (int i = 0; i < gameTiles.length; i++) {
+                gameTiles[i] = rest % KEY_BASE;
+                rest /= KEY_BASE;
+            }
+            POINTS[key] = calculatePointsGeneric(gameTiles);
+        }
+    }
+
+    /**
+     * Utility Class, not to be instantiated.
+     */
+    private PointsTable() {
+    }
+
+    /**
+     * Gets points of given GameTiles Array by looking up its packed key.
+     * Falls back to generic calculation, if histogram cannot be packed.
+     *
+     * @param gameTiles GameTile count per standard type of given Row / Column
+     * @return points
+     */
+    static int points(int[] gameTiles) {
+        int key = keyOf(gameTiles);
+        return key >= 0 ? POINTS[key] : calculatePointsGeneric(gameTiles);
+    }
+
+    /**
+     * Gets points of a packed histogram key.
+     *
+     * @param key packed histogram key
+     * @return points
+     */
+    static int pointsOfKey(int key) {
+        return POINTS[key];
+    }
+
+    /**
+     * Packs given GameTiles Array into a key.
+     *
+     * @param gameTiles GameTile count per standard type
+     * @return packed key | -1, if histogram cannot be packed
+     */
+    static int keyOf(int[] gameTiles) {
+        if (gameTiles.length != KEY_WEIGHTS.length) {
+            return -1;
+        }
+
+        int key = 0;
+        for (int i = 0; i < gameTiles.length; i++) {
+            if (gameTiles[i] < 0 || gameTiles[i] > STANDARD_SEGMENT_LENGTH) {
+                return -1;
+            }
+            key += gameTiles[i] * KEY_WEIGHTS[i];
+        }
+
+        return key;
+    }
+
+    /**
+     * Gets key increment of a single standard GameTile. Adding it to a key
+     * equals adding one GameTile of that type to the packed histogram.
+     *
+     * @param tile standard GameTile
+     * @return key increment
+     */
+    static int keyWeight(GameTiles tile) {
+        return KEY_WEIGHTS[tile.ordinal() - GameTiles.T_SUN.ordinal()];
+    }
+
+    /**
+     * Calculates points of given GameTiles Array based on Tile combination point rules
+     * All different = 6 Points
+     * 2x same tiles = 1 Point
+     * 3x same tiles = 3 Points
+     * 4x same tiles = 5 Points
+     * 5x same tiles = 7 Points
+     * 6x same tiles = Integer.MAX_VALUE (Instant Win)
+     *
+     * @param gameTiles GameTiles of given Row / Column
+     * @return points
+     */
+    static int calculatePointsGeneric(int[] gameTiles) {
+        int points = 0;
+
+        //6 Points for all different Game Tiles
+        boolean allDifferent = true;
+        for (int i = 0; i < gameTiles.length && allDifferent; i++) {
+            allDifferent = gameTiles[i] == 1;
+        }
+
+        if (allDifferent) {
+            points = 6;
+        } else {
+            for (int gameTile : gameTiles) {
+                switch (gameTile) {
+                    case 2 -> points += 1;                  //2x same tiles
+                    case 3 -> points += 3;                  //3x same tiles
+                    case 4 -> points += 5;                  //4x same tiles
+                    case 5 -> points += 7;                  //5x same tiles
+                    case 6 -> points = Integer.MAX_VALUE;   //6x same tiles
+                }
+            }
+        }
+
+        return points;
+    }
+}
@@ -0,0 +1,112 @@
+package logic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded source of independent random streams. A single master seed derives the streams of
+ * every game, of its tileBag and of its AI workers, so simulations are reproducible from
+ * one seed.
+ * <p>
+ * Streams are derived from the seed, a domain and an index instead of being split off in
+ * call order. Hence, parallel simulations get the same streams, regardless of the number of
+ * threads and the order, in which games and workers are started.
+ * <p>
+ * Every derived stream is a SplittableRandom, which is fast but not thread-safe. Each
+ * stream must therefore only be used by a single thread.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public final class RandomStreams {
+
+    /**
+     * Domain of game streams
+     */
+    private static final long DOMAIN_GAME = 1;
+    /**
+     * Domain of tileBag streams
+     */
+    private static final long DOMAIN_BAG = 2;
+    /**
+     * Domain of AI worker streams
+     */
+    private static final long DOMAIN_WORKER = 3;
+
+    /**
+     * Master seed
+     */
+    private final long seed;
+
+
+    /**
+     * RandomStreams Constructor.
+     *
+     * @param seed master seed
+     */
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Creates RandomStreams with an arbitrary master seed, for games,
+     * which need not be reproducible.
+     *
+     * @return unseeded RandomStreams
+     */
+    public static RandomStreams unseeded() {
+        return new RandomStreams(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Master seed Getter. Reproduces all streams, when passed to the constructor.
+     *
+     * @return master seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    //Streams:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Derives the streams of a single game.
+     *
+     * @param gameIdx index of game
+     * @return RandomStreams of game
+     */
+    public RandomStreams game(long gameIdx) {
+        return new RandomStreams(derive(DOMAIN_GAME, gameIdx));
+    }
+
+    /**
+     * Derives the stream of the tileBag.
+     *
+     * @return new stream, equal for equal master seeds
+     */
+    public SplittableRandom bag() {
+        return new SplittableRandom(derive(DOMAIN_BAG, 0));
+    }
+
+    /**
+     * Derives the stream of an AI worker, e.g. the search of a player.
+     *
+     * @param workerIdx index of worker
+     * @return new stream, equal for equal master seeds and indices
+     */
+    public SplittableRandom worker(int workerIdx) {
+        return new SplittableRandom(derive(DOMAIN_WORKER, workerIdx));
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Derives the seed of a stream. Mixes twice, so neighbouring
+     * indices and seeds result in unrelated streams.
+     *
+     * @param domain domain of stream
+     * @param index  index within domain
+     * @return seed of stream
+     */
+    private long derive(long domain, long index) {
+        return Zobrist.mix(Zobrist.mix(seed ^ (domain << 56)) ^ index);
+    }
+}
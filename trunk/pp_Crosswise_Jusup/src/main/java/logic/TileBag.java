@@ -2,10 +2,9 @@ package logic;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Bag of GameTiles contains 42 GameTiles containing 6 Standard GameTile Types, 12 Wildcards
@@ -13,10 +12,18 @@ import java.util.Random;
  * at random positions in the queue.
  * <p>
  * 42 Game Tiles (7 * 6 Tile Types) + 12 Wildcards (3 * 4 Wildcard Types)
+ * <p>
+ * GameTiles are stored as ordinal values in a byte-Array, drawing just advances a cursor.
+ * Since drawing never writes the array, forks of a tileBag share it until one of them is
+ * shuffled (copy-on-write). This makes forks for simulations and searches O(1).
  *
  * @author Jonathan El Jusup (cgt104707)
  */
 public class TileBag {
+    /**
+     * GameTiles by ordinal value
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
     /**
      * Number of gameTile, specified by gameRules
      */
@@ -26,32 +33,44 @@ public class TileBag {
      */
     private final int WILDCARD_COUNT = GameTiles.WILDCARDS_TYPES * GameTiles.WILDCARDS_COUNT;
     /**
-     * Randomizer Seed for deterministic TileBag Reconstruction.
+     * Ordinal values of GameTiles in draw order, including already drawn ones
      */
-    private final int SEED = 42;
+    private byte[] tiles;
     /**
-     * Queue of GameTiles
+     * Index of next GameTile to draw
      */
-    private final Queue<GameTiles> tileBag = new LinkedList<>();
+    private int cursor;
+    /**
+     * Flag, if tiles-Array is shared with a fork and must be copied before writing
+     */
+    private boolean shared;
 
 
     /**
      * TileBag Constructor.
      */
     TileBag() {
-        List<GameTiles> allTiles = initAllTilesList();
-        Random randomPicker = new Random();
-        GameTiles randomTile;
-
-        //Fill TileBag randomly
-        for (int i = 0; i < GAMETILE_COUNT + WILDCARD_COUNT; i++) {
-            int idx = randomPicker.nextInt(allTiles.size());
+        this(RandomStreams.unseeded().bag());
+    }
 
-            randomTile = allTiles.get(idx);
-            allTiles.remove(idx);
+    /**
+     * Seeded TileBag Constructor. Equal seeds result in equal tileBags,
+     * which makes simulated games reproducible.
+     *
+     * @param seed Randomizer Seed
+     */
+    TileBag(long seed) {
+        this(new RandomStreams(seed).bag());
+    }
 
-            this.tileBag.add(randomTile);
-        }
+    /**
+     * TileBag Constructor. Fills tileBag in random order, specified by randomizer.
+     *
+     * @param randomPicker Randomizer, e.g. stream of RandomStreams.bag()
+     */
+    TileBag(RandomGenerator randomPicker) {
+        this.tiles = initAllTiles();
+        shuffle(randomPicker);
     }
 
     /**
@@ -60,102 +79,146 @@ public class TileBag {
      * fill with GameTiles.T_CROSS.
      */
     TileBag(List<GameTiles> tiles, boolean autoFill) {
-        if (autoFill) {
-            for (int i = 0; i < GAMETILE_COUNT + WILDCARD_COUNT; i++) {
-                if (i < tiles.size()) {
-                    this.tileBag.add(tiles.get(i));
-                } else {
-                    this.tileBag.add(GameTiles.T_CROSS);
-                }
-            }
-        } else {
-            this.tileBag.addAll(tiles);
+        int size = autoFill ? GAMETILE_COUNT + WILDCARD_COUNT : tiles.size();
+        this.tiles = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            this.tiles[i] = (byte) (i < tiles.size() ? tiles.get(i) : GameTiles.T_CROSS).ordinal();
         }
     }
 
     /**
      * TileBag Constructor. For loading an existing tileBag from Array of
      * int-values, representing the ordinal values of its corresponding GameTile.
+     * Keeps the order, use shuffle() for randomizing.
      *
-     * @param tiles     Array of GameTile ordinal values
-     * @param randomize Flag, if TileBag should be randomized
+     * @param tiles Array of GameTile ordinal values
+     * @throws IllegalArgumentException if a value is EMPTY or no GameTile at all
      */
-    TileBag(int[] tiles, boolean randomize) {
-        if (randomize) {
-            List<GameTiles> allTiles = new ArrayList<>(Arrays.stream(tiles).mapToObj(Utilities::ordinalToGameTiles).toList());
-            Random randomPicker = new Random(SEED);
-            GameTiles randomTile;
-
-            //Fill TileBag randomly
-            for (int i = 0; i < allTiles.size(); i++) {
-                int idx = randomPicker.nextInt(allTiles.size());
-
-                randomTile = allTiles.get(idx);
-                allTiles.remove(idx);
-
-                this.tileBag.add(randomTile);
+    TileBag(int[] tiles) {
+        this.tiles = new byte[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] <= GameTiles.EMPTY.ordinal() || tiles[i] >= TILES.length) {
+                throw new IllegalArgumentException("[ERROR] No GameTile for tileBag number <" + tiles[i] + ">");
             }
-
-        } else {
-            this.tileBag.addAll(Arrays.stream(tiles).mapToObj(Utilities::ordinalToGameTiles).toList());
+            this.tiles[i] = (byte) tiles[i];
         }
     }
 
     /**
-     * Initializes an ArrayList with all 42 GameTiles and 12 Wildcard in
-     * predictable order, from which random elements can get picked later on.
+     * Fork Constructor. Shares tiles-Array of its origin.
      *
-     * @return GameTile List
+     * @param tiles  tiles-Array of origin
+     * @param cursor cursor of origin
      */
-    private List<GameTiles> initAllTilesList() {
-        List<GameTiles> allTiles = new ArrayList<>();
+    private TileBag(byte[] tiles, int cursor) {
+        this.tiles = tiles;
+        this.cursor = cursor;
+        this.shared = true;
+    }
+
+    /**
+     * Initializes a byte-Array with all 42 GameTiles and 12 Wildcard in
+     * predictable order, which gets shuffled later on.
+     *
+     * @return ordinal values of GameTiles
+     */
+    private byte[] initAllTiles() {
+        byte[] allTiles = new byte[GAMETILE_COUNT + WILDCARD_COUNT];
 
         //Fill with standard GameTiles
         for (int i = 0; i < GAMETILE_COUNT; i++) {
-            int gameTileTypes = 6;
-            switch (i % gameTileTypes) {
-                case 0 -> allTiles.add(GameTiles.T_SUN);
-                case 1 -> allTiles.add(GameTiles.T_CROSS);
-                case 2 -> allTiles.add(GameTiles.T_TRIANGLE);
-                case 3 -> allTiles.add(GameTiles.T_SQUARE);
-                case 4 -> allTiles.add(GameTiles.T_PENTAGON);
-                case 5 -> allTiles.add(GameTiles.T_STAR);
-                default -> System.err.println("ERROR: Couldn't find <GAMETILE> to add to list");
-            }
+            allTiles[i] = (byte) (GameTiles.T_SUN.ordinal() + i % GameTiles.STANDARD_GAMETILES_TYPES);
         }
 
         //Fill with wildcards
         for (int i = 0; i < WILDCARD_COUNT; i++) {
-            int wildcardTypes = 4;
-            switch (i % wildcardTypes) {
-                case 0 -> allTiles.add(GameTiles.WC_REMOVER);
-                case 1 -> allTiles.add(GameTiles.WC_MOVER);
-                case 2 -> allTiles.add(GameTiles.WC_SWAPONBOARD);
-                case 3 -> allTiles.add(GameTiles.WC_SWAPWITHHAND);
-                default -> System.err.println("ERROR: Couldn't find <WILDCARD> to add to list");
-            }
+            allTiles[GAMETILE_COUNT + i] = (byte) (GameTiles.WC_REMOVER.ordinal() + i % GameTiles.WILDCARDS_TYPES);
         }
 
         return allTiles;
     }
 
+    /**
+     * Shuffles remaining GameTiles in place (Fisher-Yates). Copies tiles-Array first,
+     * if it is shared with a fork.
+     *
+     * @param randomPicker Randomizer
+     */
+    void shuffle(RandomGenerator randomPicker) {
+        if (shared) {
+            tiles = Arrays.copyOfRange(tiles, cursor, tiles.length);
+            cursor = 0;
+            shared = false;
+        }
+
+        for (int i = tiles.length - 1; i > cursor; i--) {
+            int idx = cursor + randomPicker.nextInt(i - cursor + 1);
+
+            byte tmp = tiles[i];
+            tiles[i] = tiles[idx];
+            tiles[idx] = tmp;
+        }
+    }
+
+    /**
+     * Forks tileBag in O(1). The fork contains the same remaining GameTiles in the same
+     * order and is independent of the origin afterwards: drawing or shuffling one of them
+     * does not affect the other.
+     *
+     * @return forked tileBag
+     */
+    TileBag fork() {
+        shared = true;
+        return new TileBag(tiles, cursor);
+    }
+
 
     /**
-     * Gets first GameTile or Wildcard of randomized tileBag Queue
+     * Gets first GameTile or Wildcard of randomized tileBag
      *
-     * @return randomized GameTile / Wildcard
+     * @return randomized GameTile / Wildcard | null, if tileBag is empty
      */
     GameTiles getTile() {
-        return this.tileBag.poll();
+        return cursor < tiles.length ? TILES[tiles[cursor++]] : null;
     }
 
     /**
-     * Returns the whole tileBag Queue.
+     * Gets first GameTile or Wildcard of randomized tileBag without drawing it
      *
-     * @return tileBag
+     * @return next GameTile / Wildcard | null, if tileBag is empty
      */
-    Queue<GameTiles> getTileBag() {
-        return this.tileBag;
+    GameTiles peek() {
+        return cursor < tiles.length ? TILES[tiles[cursor]] : null;
+    }
+
+    /**
+     * Returns the remaining GameTiles in draw order. Snapshot, which
+     * cannot be modified and does not change with the tileBag.
+     *
+     * @return remaining GameTiles
+     */
+    List<GameTiles> getTileBag() {
+        List<GameTiles> remaining = new ArrayList<>(getTileBagSize());
+        for (int i = cursor; i < tiles.length; i++) {
+            remaining.add(TILES[tiles[i]]);
+        }
+
+        return Collections.unmodifiableList(remaining);
+    }
+
+    /**
+     * Returns the ordinal values of the remaining GameTiles in draw order.
+     *
+     * @return Array of GameTile ordinal values
+     */
+    int[] toOrdinals() {
+        int[] ordinals = new int[getTileBagSize()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = tiles[cursor + i];
+        }
+
+        return ordinals;
     }
 
     /**
@@ -164,11 +227,11 @@ public class TileBag {
      * @return TileBag Size Integer
      */
     int getTileBagSize() {
-        return this.tileBag.size();
+        return tiles.length - cursor;
     }
 
     @Override
     public String toString() {
-        return Arrays.toString(this.tileBag.toArray());
+        return Arrays.toString(getTileBag().toArray());
     }
 }
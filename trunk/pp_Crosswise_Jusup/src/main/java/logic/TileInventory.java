@@ -0,0 +1,269 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts of GameTiles per ordinal, e.g. the GameTiles a player has not seen yet. Queries of
+ * single counts and totals are O(1), updates of single GameTiles as well.
+ * <p>
+ * A new inventory contains all GameTiles of a game: 7 of each standard GameTile and 3 of
+ * each wildcard. Seen GameTiles are removed one by one or in bulk (gameBoard, playerHands,
+ * usedWildcards). Counts never fall below 0, so surplus GameTiles of test setups are ignored.
+ * <p>
+ * An inventory consists of a single small array, so copying it per search node is cheap.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+final class TileInventory {
+
+    /**
+     * GameTiles by ordinal value
+     */
+    private static final GameTiles[] TILES = GameTiles.values();
+
+    /**
+     * Counts of GameTiles, indexed by ordinal. EMPTY is always 0
+     */
+    private final int[] counts = new int[TILES.length];
+    /**
+     * Sum of counts of standard GameTiles
+     */
+    private int standardTotal;
+    /**
+     * Sum of counts of wildcards
+     */
+    private int wildcardTotal;
+
+
+    /**
+     * TileInventory Constructor. Contains all GameTiles of a game.
+     */
+    TileInventory() {
+        reset();
+    }
+
+    /**
+     * Copy Constructor.
+     *
+     * @param other inventory to copy
+     */
+    TileInventory(TileInventory other) {
+        copyFrom(other);
+    }
+
+    //Getters:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Count Getter.
+     *
+     * @param tile GameTile to count
+     * @return count of GameTile
+     */
+    int getCount(GameTiles tile) {
+        return counts[tile.ordinal()];
+    }
+
+    /**
+     * Count Getter.
+     *
+     * @param ordinal ordinal of GameTile to count
+     * @return count of GameTile
+     */
+    int getCount(int ordinal) {
+        return counts[ordinal];
+    }
+
+    /**
+     * Standard GameTiles total Getter.
+     *
+     * @return sum of counts of standard GameTiles
+     */
+    int getStandardTotal() {
+        return standardTotal;
+    }
+
+    /**
+     * Total Getter.
+     *
+     * @return sum of counts of all GameTiles
+     */
+    int getTotal() {
+        return standardTotal + wildcardTotal;
+    }
+
+    /**
+     * Gets Zobrist key of the counted GameTiles, equal to Zobrist.bagKey
+     * of the same multiset.
+     *
+     * @return Zobrist key
+     */
+    long getKey() {
+        return Zobrist.bagKey(counts);
+    }
+
+    //Updates:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Resets counts to all GameTiles of a game.
+     */
+    void reset() {
+        for (int ordinal = GameTiles.T_SUN.ordinal(); ordinal <= GameTiles.T_STAR.ordinal(); ordinal++) {
+            counts[ordinal] = GameTiles.STANDARD_GAMETILES_COUNT;
+        }
+        for (int ordinal = GameTiles.WC_REMOVER.ordinal(); ordinal < TILES.length; ordinal++) {
+            counts[ordinal] = GameTiles.WILDCARDS_COUNT;
+        }
+        standardTotal = GameTiles.STANDARD_GAMETILES_TYPES * GameTiles.STANDARD_GAMETILES_COUNT;
+        wildcardTotal = GameTiles.WILDCARDS_TYPES * GameTiles.WILDCARDS_COUNT;
+    }
+
+    /**
+     * Removes all counts.
+     */
+    void clear() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        standardTotal = 0;
+        wildcardTotal = 0;
+    }
+
+    /**
+     * Copies counts of another inventory without allocating.
+     *
+     * @param other inventory to copy
+     */
+    void copyFrom(TileInventory other) {
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        standardTotal = other.standardTotal;
+        wildcardTotal = other.wildcardTotal;
+    }
+
+    /**
+     * Adds a GameTile. EMPTY is ignored.
+     *
+     * @param tile GameTile to add
+     */
+    void add(GameTiles tile) {
+        if (tile != GameTiles.EMPTY) {
+            counts[tile.ordinal()]++;
+            changeTotal(tile, 1);
+        }
+    }
+
+    /**
+     * Removes a GameTile, e.g. when it is drawn, placed or used. EMPTY
+     * and GameTiles with count 0 are ignored.
+     *
+     * @param tile GameTile to remove
+     */
+    void remove(GameTiles tile) {
+        if (tile != GameTiles.EMPTY && counts[tile.ordinal()] > 0) {
+            counts[tile.ordinal()]--;
+            changeTotal(tile, -1);
+        }
+    }
+
+    /**
+     * Removes all GameTiles of a list, e.g. a playerHand.
+     *
+     * @param tiles GameTiles to remove
+     */
+    void removeAll(List<GameTiles> tiles) {
+        for (GameTiles tile : tiles) {
+            remove(tile);
+        }
+    }
+
+    /**
+     * Removes all GameTiles on the gameBoard.
+     *
+     * @param board gameBoard
+     */
+    void removeBoard(GameBoard board) {
+        for (int ordinal = GameTiles.T_SUN.ordinal(); ordinal <= GameTiles.T_STAR.ordinal(); ordinal++) {
+            removeCount(ordinal, board.getGameTileOccurrences(TILES[ordinal]));
+        }
+    }
+
+    /**
+     * Removes all used wildcards.
+     *
+     * @param usedWildcards usedWildcards, in order of wildcard ordinals
+     */
+    void removeUsedWildcards(int[] usedWildcards) {
+        for (int i = 0; i < usedWildcards.length; i++) {
+            removeCount(GameTiles.WC_REMOVER.ordinal() + i, usedWildcards[i]);
+        }
+    }
+
+    //Conversion::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Lists ordinal values of all counted GameTiles, ordered by ordinal.
+     *
+     * @return Array of GameTile ordinal values
+     */
+    int[] toOrdinals() {
+        int[] ordinals = new int[getTotal()];
+        int next = 0;
+        for (int ordinal = GameTiles.T_SUN.ordinal(); ordinal < TILES.length; ordinal++) {
+            for (int i = 0; i < counts[ordinal]; i++) {
+                ordinals[next++] = ordinal;
+            }
+        }
+
+        return ordinals;
+    }
+
+    /**
+     * Lists all counted GameTiles, ordered by ordinal.
+     *
+     * @return List of GameTiles
+     */
+    List<GameTiles> toList() {
+        List<GameTiles> tiles = new ArrayList<>(getTotal());
+        for (int ordinal = GameTiles.T_SUN.ordinal(); ordinal < TILES.length; ordinal++) {
+            for (int i = 0; i < counts[ordinal]; i++) {
+                tiles.add(TILES[ordinal]);
+            }
+        }
+
+        return tiles;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(counts);
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Removes several GameTiles of one type, count never falls below 0.
+     *
+     * @param ordinal ordinal of GameTile
+     * @param amount  number of GameTiles to remove
+     */
+    private void removeCount(int ordinal, int amount) {
+        int removed = Math.min(amount, counts[ordinal]);
+        counts[ordinal] -= removed;
+        changeTotal(TILES[ordinal], -removed);
+    }
+
+    /**
+     * Changes total of the type of a GameTile.
+     *
+     * @param tile   GameTile
+     * @param amount change of total
+     */
+    private void changeTotal(GameTiles tile, int amount) {
+        if (GameTiles.isStandardGameTile(tile)) {
+            standardTotal += amount;
+        } else {
+            wildcardTotal += amount;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package logic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size transposition table of the AI search. Remembers values of already searched
+ * positions, also across turns.
+ * <p>
+ * Positions are identified by a 64-bit hash. An entry stores the remaining search depth,
+ * the bound type of its score, the best move and the score itself. Entries are grouped in
+ * buckets of two: the first entry is only replaced by a search of at least equal depth
+ * (depth-preferred), the second entry is always replaced (replace-always).
+ * <p>
+ * The table is lock-free and can be shared by the workers of a parallel search. Each entry
+ * consists of three longs: a check value, the meta data and the score. The check value is
+ * the hash XOR meta data XOR score, so an entry torn by concurrent writers no longer matches
+ * its hash and is ignored.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class TranspositionTable {
+
+    /**
+     * Bound type: score is the exact value
+     */
+    static final int EXACT = 0;
+    /**
+     * Bound type: score is a lower bound of the value
+     */
+    static final int LOWER = 1;
+    /**
+     * Bound type: score is an upper bound of the value
+     */
+    static final int UPPER = 2;
+    /**
+     * Best move of an entry without best move
+     */
+    static final int NO_MOVE = 0xFFFF;
+
+    /**
+     * Longs per entry: check value, meta data, score
+     */
+    private static final int ENTRY_LONGS = 3;
+    /**
+     * Entries per bucket: depth-preferred, replace-always
+     */
+    private static final int BUCKET_ENTRIES = 2;
+    /**
+     * Bytes per bucket
+     */
+    private static final int BUCKET_BYTES = ENTRY_LONGS * BUCKET_ENTRIES * Long.BYTES;
+    /**
+     * Flag of meta data, which marks a used entry
+     */
+    private static final long USED = 1L << 32;
+
+    /**
+     * Entries, bucket by bucket
+     */
+    private final AtomicLongArray entries;
+    /**
+     * Mask of bucket index
+     */
+    private final long bucketMask;
+    /**
+     * Number of probes, which found their position
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * Number of probes, which did not find their position
+     */
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Number of stores, which replaced an entry of another position
+     */
+    private final LongAdder collisions = new LongAdder();
+
+
+    /**
+     * TranspositionTable Constructor. The number of buckets is the highest
+     * power of two, which fits into the memory cap.
+     *
+     * @param megabytes memory cap in MB
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Memory cap must be positive");
+        }
+
+        long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / BUCKET_BYTES);
+        long longs = buckets * BUCKET_ENTRIES * ENTRY_LONGS;
+        if (longs > Integer.MAX_VALUE) {
+            buckets = Long.highestOneBit(Integer.MAX_VALUE / (BUCKET_ENTRIES * ENTRY_LONGS));
+            longs = buckets * BUCKET_ENTRIES * ENTRY_LONGS;
+        }
+
+        this.entries = new AtomicLongArray((int) longs);
+        this.bucketMask = buckets - 1;
+    }
+
+    //Getters:::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Number of entries Getter.
+     *
+     * @return number of entries
+     */
+    public long getCapacity() {
+        return (bucketMask + 1) * BUCKET_ENTRIES;
+    }
+
+    /**
+     * Number of hits Getter.
+     *
+     * @return number of probes, which found their position
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of misses Getter.
+     *
+     * @return number of probes, which did not find their position
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of collisions Getter.
+     *
+     * @return number of stores, which replaced an entry of another position
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    //Table Access::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Looks up a position.
+     *
+     * @param hash  hash of position
+     * @param entry entry to copy found values to
+     * @return position found -> TRUE
+     */
+    boolean probe(long hash, Entry entry) {
+        int bucket = bucketIndex(hash);
+
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int index = bucket + i * ENTRY_LONGS;
+            long meta = entries.get(index + 1);
+            long score = entries.get(index + 2);
+
+            if ((meta & USED) != 0 && (entries.get(index) ^ meta ^ score) == hash) {
+                entry.depth = (int) (meta & 0xFF);
+                entry.bound = (int) (meta >>> 8) & 0xFF;
+                entry.bestMove = (int) (meta >>> 16) & 0xFFFF;
+                entry.score = Double.longBitsToDouble(score);
+                hits.increment();
+                return true;
+            }
+        }
+
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Stores a position. The depth-preferred entry is replaced by its own position
+     * or a search of at least equal depth, otherwise the replace-always entry is used.
+     *
+     * @param hash     hash of position
+     * @param depth    remaining search depth, within [0, 255]
+     * @param bound    bound type of score
+     * @param bestMove best move | NO_MOVE
+     * @param score    score of position
+     */
+    void store(long hash, int depth, int bound, int bestMove, double score) {
+        int bucket = bucketIndex(hash);
+        long meta = USED | (long) bestMove << 16 | (long) bound << 8 | depth;
+        long scoreBits = Double.doubleToRawLongBits(score);
+
+        long storedMeta = entries.get(bucket + 1);
+        boolean sameHash = (entries.get(bucket) ^ storedMeta ^ entries.get(bucket + 2)) == hash;
+        int index = (storedMeta & USED) == 0 || sameHash || depth >= (storedMeta & 0xFF)
+                ? bucket
+                : bucket + ENTRY_LONGS;
+
+        //Replaced entry of another position
+        storedMeta = entries.get(index + 1);
+        if ((storedMeta & USED) != 0 && (entries.get(index) ^ storedMeta ^ entries.get(index + 2)) != hash) {
+            collisions.increment();
+        }
+
+        entries.set(index, hash ^ meta ^ scoreBits);
+        entries.set(index + 1, meta);
+        entries.set(index + 2, scoreBits);
+    }
+
+    /**
+     * Removes all entries and resets counters.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, 0);
+        }
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    /**
+     * Gets index of first long of a bucket.
+     *
+     * @param hash hash of position
+     * @return index of bucket
+     */
+    private int bucketIndex(long hash) {
+        return (int) (hash & bucketMask) * BUCKET_ENTRIES * ENTRY_LONGS;
+    }
+
+    /**
+     * Values of a found entry. Reused by a single searching thread.
+     */
+    static final class Entry {
+        /**
+         * Remaining search depth
+         */
+        int depth;
+        /**
+         * Bound type of score
+         */
+        int bound;
+        /**
+         * Best move | NO_MOVE
+         */
+        int bestMove;
+        /**
+         * Score of position
+         */
+        double score;
+    }
+}
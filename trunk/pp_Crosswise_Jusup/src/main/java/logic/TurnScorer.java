@@ -0,0 +1,174 @@
+package logic;
+
+/**
+ * Delta scoring of possible turns. Answers, how many points a segment (Row / Column)
+ * would be worth after a turn, without cloning or rescanning the gameBoard.
+ * <p>
+ * Every turn changes at most two cells of the gameBoard (placement and removal one,
+ * move and swap two). The live segment histogram of the scored segment is read from
+ * the gameBoard and only the changed cells, which lie on that segment, are adjusted.
+ * The adjusted histogram is scored via the PointsTable, so scoring a turn costs the
+ * same, regardless of the gameBoard size.
+ * <p>
+ * The scored segment is always specified by the caller, since the AI scores team and
+ * opponent points on different segments depending on the kind of turn.
+ * <p>
+ * Not thread-safe, uses a single scratch histogram.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+class TurnScorer {
+
+    /**
+     * Marker for an unused second cell
+     */
+    private static final int NO_CELL = -1;
+
+    /**
+     * gameBoard to score turns on. Never manipulated
+     */
+    private final GameBoard board;
+    /**
+     * Reused histogram of the scored segment, indexed by (ordinal - 1)
+     */
+    private final int[] scratch = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+
+
+    /**
+     * TurnScorer Constructor.
+     *
+     * @param board gameBoard to score turns on
+     */
+    TurnScorer(GameBoard board) {
+        this.board = board;
+    }
+
+    /**
+     * gameBoard Getter.
+     *
+     * @return gameBoard turns are scored on
+     */
+    GameBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets points of a segment on the current gameBoard.
+     *
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return points of segment
+     */
+    int currentPoints(int segment, boolean isVertical) {
+        return pointsAfter(segment, isVertical, NO_CELL, NO_CELL, null, NO_CELL, NO_CELL, null);
+    }
+
+    /**
+     * Gets points of the segment through specified cell, after placing a GameTile
+     * on it. Also used for SWAPWITHHAND, where the hand GameTile replaces the cell.
+     *
+     * @param tile       GameTile to place
+     * @param column     column of cell
+     * @param row        row of cell
+     * @param isVertical isVertical Flag, if Column or Row is scored
+     * @return points of segment after placement
+     */
+    int pointsAfterPlacement(GameTiles tile, int column, int row, boolean isVertical) {
+        return pointsAfter(isVertical ? column : row, isVertical,
+                column, row, tile, NO_CELL, NO_CELL, null);
+    }
+
+    /**
+     * Gets points of the segment through specified cell, after removing its GameTile.
+     *
+     * @param column     column of cell
+     * @param row        row of cell
+     * @param isVertical isVertical Flag, if Column or Row is scored
+     * @return points of segment after removal
+     */
+    int pointsAfterRemove(int column, int row, boolean isVertical) {
+        return pointsAfterPlacement(GameTiles.EMPTY, column, row, isVertical);
+    }
+
+    /**
+     * Gets points of specified segment, after moving a GameTile to another cell.
+     * The source cell becomes EMPTY.
+     *
+     * @param fromColumn column of source cell
+     * @param fromRow    row of source cell
+     * @param toColumn   column of target cell
+     * @param toRow      row of target cell
+     * @param segment    segment Index to score
+     * @param isVertical isVertical Flag, if Column or Row is scored
+     * @return points of segment after move
+     */
+    int pointsAfterMove(int fromColumn, int fromRow, int toColumn, int toRow, int segment, boolean isVertical) {
+        return pointsAfter(segment, isVertical,
+                fromColumn, fromRow, GameTiles.EMPTY,
+                toColumn, toRow, board.getGameTileAt(fromColumn, fromRow));
+    }
+
+    /**
+     * Gets points of specified segment, after swapping the GameTiles of two cells.
+     *
+     * @param column1    column of first cell
+     * @param row1       row of first cell
+     * @param column2    column of second cell
+     * @param row2       row of second cell
+     * @param segment    segment Index to score
+     * @param isVertical isVertical Flag, if Column or Row is scored
+     * @return points of segment after swap
+     */
+    int pointsAfterSwap(int column1, int row1, int column2, int row2, int segment, boolean isVertical) {
+        return pointsAfter(segment, isVertical,
+                column1, row1, board.getGameTileAt(column2, row2),
+                column2, row2, board.getGameTileAt(column1, row1));
+    }
+
+    /**
+     * Scores a segment with up to two changed cells. Cells, which don't lie on
+     * the segment, don't affect its histogram and are ignored.
+     *
+     * @param segment    segment Index to score
+     * @param isVertical isVertical Flag, if Column or Row is scored
+     * @param column1    column of first changed cell | NO_CELL
+     * @param row1       row of first changed cell | NO_CELL
+     * @param tile1      new GameTile of first cell
+     * @param column2    column of second changed cell | NO_CELL
+     * @param row2       row of second changed cell | NO_CELL
+     * @param tile2      new GameTile of second cell
+     * @return points of segment after change
+     */
+    private int pointsAfter(int segment, boolean isVertical,
+                            int column1, int row1, GameTiles tile1,
+                            int column2, int row2, GameTiles tile2) {
+        board.copyTilesPerSegment(segment, isVertical, scratch);
+        adjust(segment, isVertical, column1, row1, tile1);
+        adjust(segment, isVertical, column2, row2, tile2);
+
+        return PointsTable.points(scratch);
+    }
+
+    /**
+     * Adjusts scratch histogram for a single changed cell, if it lies on the segment.
+     *
+     * @param segment    segment Index to score
+     * @param isVertical isVertical Flag, if Column or Row is scored
+     * @param column     column of changed cell | NO_CELL
+     * @param row        row of changed cell | NO_CELL
+     * @param tile       new GameTile of cell
+     */
+    private void adjust(int segment, boolean isVertical, int column, int row, GameTiles tile) {
+        if (column == NO_CELL || (isVertical ? column : row) != segment) {
+            return;
+        }
+
+        GameTiles previous = board.getGameTileAt(column, row);
+        if (GameTiles.isStandardGameTile(previous)) {
+            scratch[previous.ordinal() - GameTiles.T_SUN.ordinal()]--;
+        }
+        if (GameTiles.isStandardGameTile(tile)) {
+            scratch[tile.ordinal() - GameTiles.T_SUN.ordinal()]++;
+        }
+    }
+}
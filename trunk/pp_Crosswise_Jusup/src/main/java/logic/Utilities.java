@@ -1,8 +1,5 @@
 package logic;
 
-import java.io.FileWriter;
-import java.io.IOException;
-
 /**
  * Utility Class for simple helper methods that are used in the logic package.
  *
@@ -85,6 +82,9 @@ public final class Utilities {
      * Optionally outputs log to console. If Log is written in
      * console is permitted by global variable LOG_IN_CONSOLE.
      * Does not write errorType, if type == NONE
+     * <p>
+     * The LogFile is written asynchronously by the AsyncLogger, so this
+     * method doesn't wait for any file I/O.
      *
      * @param message message to log
      * @param type    errorType
@@ -100,20 +100,20 @@ public final class Utilities {
         }
 
         //Log in File
-        try {
-            FileWriter logWriter = new FileWriter("./src/log/Log.txt", true);
-            if (type == ErrorType.NONE) {
-                logWriter.write(String.format("%s\n", message));
-            } else {
-                logWriter.write(String.format("[%s] %s\n", type, message));
-            }
-            logWriter.close();
-
-        } catch (IOException e) {
-            System.err.println(e.getMessage());
+        if (type == ErrorType.NONE) {
+            AsyncLogger.getDefault().log(message);
+        } else {
+            AsyncLogger.getDefault().log(String.format("[%s] %s", type, message));
         }
     }
 
+    /**
+     * Clears the LogFile. Entries logged before are not written anymore.
+     */
+    static void clearLog() {
+        AsyncLogger.getDefault().clear();
+    }
+
     /**
      * Gets to specified player Index its corresponding team.
      * playerIdx == 0 || 2 -> Team Vertical
@@ -0,0 +1,241 @@
+package logic;
+
+import java.util.Collection;
+
+/**
+ * Zobrist keys for a cheap 64-bit identity of game positions. Every (cell, GameTile)
+ * combination has its own random key and the key of a gameBoard is the XOR of the keys
+ * of all its cells. Since XOR is its own inverse, replacing a GameTile only requires
+ * XORing out the old and XORing in the new key.
+ * <p>
+ * EMPTY cells have key 0, so an EMPTY gameBoard of any size has key 0. Keys are
+ * generated from a fixed seed and are therefore equal across runs, which allows
+ * comparing keys of stored games.
+ * <p>
+ * Additional optional components exist for a playerHand, the tileBag content and the
+ * player to move. Each component uses its own keys, so they can be XORed together
+ * without cancelling each other out.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+final class Zobrist {
+
+    /**
+     * Seed of all keys
+     */
+    private static final long SEED = 0x5DEECE66DL;
+    /**
+     * Cells per dimension, which are covered by the precomputed table
+     */
+    private static final int TABLE_SIZE = 16;
+    /**
+     * Number of GameTile types
+     */
+    private static final int TILE_TYPES = GameTiles.values().length;
+    /**
+     * Maximal multiset count, which gets its own key. Counts above share a key
+     */
+    private static final int MAX_COUNT = 31;
+
+    /**
+     * Domain of cell keys
+     */
+    private static final long DOMAIN_CELL = 1;
+    /**
+     * Domain of playerHand keys
+     */
+    private static final long DOMAIN_HAND = 2;
+    /**
+     * Domain of tileBag keys
+     */
+    private static final long DOMAIN_BAG = 3;
+    /**
+     * Domain of player to move keys
+     */
+    private static final long DOMAIN_SIDE = 4;
+    /**
+     * Domain of drawn GameTile keys
+     */
+    private static final long DOMAIN_DRAW = 5;
+
+    /**
+     * Precomputed cell keys, indexed by [column * TABLE_SIZE + row][GameTile ordinal]
+     */
+    private static final long[][] CELL_KEYS = new long[TABLE_SIZE * TABLE_SIZE][TILE_TYPES];
+
+    static {
+        for (int column = 0; column < TABLE_SIZE; column++) {
+            for (int row = 0; row < TABLE_SIZE; row++) {
+                for (int ordinal = 1; ordinal < TILE_TYPES; ordinal++) {
+                    CELL_KEYS[column * TABLE_SIZE + row][ordinal] = cellKey(column, row, ordinal);
+                }
+            }
+        }
+    }
+
+    /**
+     * Utility Class, not to be instantiated.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Gets key of a GameTile on a cell. EMPTY GameTiles have key 0.
+     *
+     * @param column column of cell
+     * @param row    row of cell
+     * @param tile   GameTile on cell
+     * @return key of GameTile on cell
+     */
+    static long tileKey(int column, int row, GameTiles tile) {
+        if (column < TABLE_SIZE && row < TABLE_SIZE) {
+            return CELL_KEYS[column * TABLE_SIZE + row][tile.ordinal()];
+        }
+
+        //Cells of very big gameBoards are calculated on demand
+        return tile == GameTiles.EMPTY ? 0 : cellKey(column, row, tile.ordinal());
+    }
+
+    /**
+     * Gets key of a playerHand. Only the multiset of GameTiles matters,
+     * not their order or handSlots. EMPTY handSlots are ignored.
+     *
+     * @param hand GameTiles of playerHand
+     * @return key of playerHand
+     */
+    static long handKey(Collection<GameTiles> hand) {
+        return multisetKey(DOMAIN_HAND, hand);
+    }
+
+    /**
+     * Gets key of a playerHand, given as counts per GameTile. Equal to
+     * handKey of the same multiset.
+     *
+     * @param counts counts of GameTiles, indexed by ordinal
+     * @return key of playerHand
+     */
+    static long handKey(int[] counts) {
+        return countsKey(DOMAIN_HAND, counts);
+    }
+
+    /**
+     * Gets key of the remaining GameTiles in tileBag. Only the multiset of
+     * GameTiles matters, not their drawing order.
+     *
+     * @param tiles remaining GameTiles of tileBag
+     * @return key of tileBag content
+     */
+    static long bagKey(Collection<GameTiles> tiles) {
+        return multisetKey(DOMAIN_BAG, tiles);
+    }
+
+    /**
+     * Gets key of the remaining GameTiles in tileBag, given as counts per GameTile.
+     * Equal to bagKey of the same multiset.
+     *
+     * @param counts counts of GameTiles, indexed by ordinal
+     * @return key of tileBag content
+     */
+    static long bagKey(int[] counts) {
+        return countsKey(DOMAIN_BAG, counts);
+    }
+
+    /**
+     * Gets key of a GameTile, which is drawn but not placed yet.
+     *
+     * @param tile drawn GameTile
+     * @return key of drawn GameTile
+     */
+    static long drawnTileKey(GameTiles tile) {
+        return mix(SEED ^ (DOMAIN_DRAW << 56) ^ tile.ordinal());
+    }
+
+    /**
+     * Gets key of the player to move.
+     *
+     * @param playerIndex index of player to move
+     * @return key of player to move
+     */
+    static long sideToMoveKey(int playerIndex) {
+        return mix(SEED ^ (DOMAIN_SIDE << 56) ^ playerIndex);
+    }
+
+    /**
+     * Gets key of a multiset of GameTiles by XORing one key per (GameTile, count) pair.
+     *
+     * @param domain key domain
+     * @param tiles  GameTiles of multiset
+     * @return key of multiset
+     */
+    private static long multisetKey(long domain, Collection<GameTiles> tiles) {
+        int[] counts = new int[TILE_TYPES];
+        for (GameTiles tile : tiles) {
+            counts[tile.ordinal()]++;
+        }
+
+        long key = 0;
+        for (int ordinal = 1; ordinal < TILE_TYPES; ordinal++) {
+            if (counts[ordinal] > 0) {
+                key ^= countKey(domain, ordinal, counts[ordinal]);
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Gets key of a multiset of GameTiles, given as counts per GameTile.
+     *
+     * @param domain key domain
+     * @param counts counts of GameTiles, indexed by ordinal
+     * @return key of multiset
+     */
+    private static long countsKey(long domain, int[] counts) {
+        long key = 0;
+        for (int ordinal = 1; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                key ^= countKey(domain, ordinal, counts[ordinal]);
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Calculates key of a (GameTile, count) pair of a multiset.
+     *
+     * @param domain  key domain
+     * @param ordinal GameTile ordinal
+     * @param count   count of GameTile, at least 1
+     * @return key of pair
+     */
+    private static long countKey(long domain, int ordinal, int count) {
+        return mix(SEED ^ (domain << 56) ^ ((long) ordinal << 8) ^ Math.min(count, MAX_COUNT));
+    }
+
+    /**
+     * Calculates key of a GameTile ordinal on a cell.
+     *
+     * @param column  column of cell
+     * @param row     row of cell
+     * @param ordinal GameTile ordinal
+     * @return key of GameTile on cell
+     */
+    private static long cellKey(int column, int row, int ordinal) {
+        return mix(SEED ^ (DOMAIN_CELL << 56) ^ ((long) column << 32) ^ ((long) row << 8) ^ ordinal);
+    }
+
+    /**
+     * SplitMix64 finalizer. Spreads every input bit over the whole key.
+     * Also used by RandomStreams to derive seeds.
+     *
+     * @param value value to mix
+     * @return mixed value
+     */
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,37 @@
+package gui;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SelfPlayMainTests {
+
+    @Test
+    public void simulate_sameSeed_sameResults_test() {
+        //Node budgeted lookahead: results do not depend on the number of threads
+        SelfPlayMain.Results single = SelfPlayMain.simulate(6, 1, 7L, 6, 4, 1, 2_000, SelfPlayMain.UNTIMED_BUDGET);
+        SelfPlayMain.Results parallel = SelfPlayMain.simulate(6, 3, 7L, 6, 4, 1, 2_000, SelfPlayMain.UNTIMED_BUDGET);
+
+        assertEquals(6, single.games);
+        assertEquals(single.games, single.verticalWins + single.horizontalWins + single.draws);
+        assertResultsEquals(single, parallel);
+    }
+
+    @Test
+    public void simulate_greedy_sameResults_test() {
+        SelfPlayMain.Results single = SelfPlayMain.simulate(10, 1, 3L, 6, 2, 0, 1, SelfPlayMain.UNTIMED_BUDGET);
+        SelfPlayMain.Results parallel = SelfPlayMain.simulate(10, 4, 3L, 6, 2, 0, 1, SelfPlayMain.UNTIMED_BUDGET);
+
+        assertResultsEquals(single, parallel);
+    }
+
+    private static void assertResultsEquals(SelfPlayMain.Results expected, SelfPlayMain.Results actual) {
+        assertEquals(expected.games, actual.games);
+        assertEquals(expected.verticalWins, actual.verticalWins);
+        assertEquals(expected.horizontalWins, actual.horizontalWins);
+        assertEquals(expected.draws, actual.draws);
+        assertEquals(expected.winsOfSixes, actual.winsOfSixes);
+        Assert.assertArrayEquals(expected.usedWildcards, actual.usedWildcards);
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static logic.Utilities.transposeBoard;
@@ -1411,6 +1412,19 @@ public class AIPlayerTests {
         Assert.assertEquals(result, Utilities.ordinalToGameTiles(1));
     }
 
+    @Test
+    public void getMinOrdinalGameTiles_relevantTilesInTurnOrder_test() {
+        int[] hand = new int[]{6, 3, 4, 8};
+        AI_Player player = new AI_Player("", false, false, hand, true);
+
+        //Relevant GameTiles are in order of the possible turns, not of the playerHand
+        List<GameTiles> relevantTiles = List.of(GameTiles.T_STAR, GameTiles.T_STAR, GameTiles.T_SQUARE,
+                GameTiles.T_TRIANGLE);
+
+        GameTiles result = player.getMinOrdinalGameTiles(relevantTiles);
+        Assert.assertEquals(GameTiles.T_TRIANGLE, result);
+    }
+
     @Test
     public void getMinOrdinalGameTiles_empty_test() {
         int[] hand = new int[]{};
@@ -1446,4 +1460,96 @@ public class AIPlayerTests {
             Assert.assertTrue(leastOccurring.contains(tile));
         }
     }
+
+    @Test
+    public void hasAnyTurn_test() {
+        Random random = new Random(5);
+
+        //Existence check agrees with full evaluation on random positions and playerHands
+        for (int i = 0; i < 300; i++) {
+            int size = 3 + random.nextInt(4);
+            GameBoard board = new GameBoard(size);
+            int tiles = random.nextInt(size * size + 1);
+            for (int j = 0; j < tiles; j++) {
+                board.placeTileOnBoard(GameTiles.values()[1 + random.nextInt(6)],
+                        new Position(random.nextInt(size), random.nextInt(size)));
+            }
+
+            int[] hand = new int[4];
+            for (int j = 0; j < hand.length; j++) {
+                hand[j] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(10);
+            }
+
+            AI_Player player = new AI_Player("AI", true, true, hand, random.nextBoolean());
+            boolean canMove = player.hasAnyTurn(board);
+            assertEquals(canMove, player.evaluateToBestTurn(board) != null);
+        }
+    }
+
+    @Test
+    public void hasAnyTurn_wildcards_test() {
+        GameBoard board = new GameBoard(3);
+        Assert.assertFalse(new AI_Player("AI", true, true, new int[]{7, 8, 9, 10}, true).hasAnyTurn(board));
+        Assert.assertTrue(new AI_Player("AI", true, true, new int[]{0, 0, 0, 1}, true).hasAnyTurn(board));
+
+        board.placeTileOnBoard(GameTiles.T_SUN, new Position(0, 0));
+        Assert.assertFalse(new AI_Player("AI", true, true, new int[]{9, 10, 0, 0}, true).hasAnyTurn(board));
+        Assert.assertTrue(new AI_Player("AI", true, true, new int[]{9, 10, 8, 0}, true).hasAnyTurn(board));
+
+        board.placeTileOnBoard(GameTiles.T_SUN, new Position(1, 0));
+        Assert.assertTrue(new AI_Player("AI", true, true, new int[]{9, 10, 0, 0}, true).hasAnyTurn(board));
+    }
+
+    @Test
+    public void decisionCache_test() {
+        int[][] testBoard = {
+                {1, 2, 0, 0},
+                {0, 3, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 4}
+        };
+        GameBoard board = new GameBoard(transposeBoard(testBoard));
+        AI_Player player = new AI_Player("AI", true, true, new int[]{1, 5, 6, 2}, true);
+        TranspositionTable table = new TranspositionTable(1);
+        player.setTranspositionTable(table);
+        player.setLookahead(1, Long.MAX_VALUE, 60_000);
+
+        PossibleTurn turn = player.evaluateToBestTurn(board);
+        long probes = table.getHits() + table.getMisses();
+        Assert.assertTrue(probes > 0);
+
+        //Same gameBoard version and playerHand: decision is reused without searching again
+        assertEquals(turn, player.evaluateToBestTurn(board));
+        assertEquals(probes, table.getHits() + table.getMisses());
+
+        //Equal position on a snapshot of the gameBoard, like Game.forceTurnAI passes it
+        assertEquals(turn, player.evaluateToBestTurn(new GameBoard(board)));
+        assertEquals(probes, table.getHits() + table.getMisses());
+
+        //Equal playerHand in another order: handSlot follows its GameTile
+        GameTiles first = player.getGameTileAt(0);
+        player.removeGameTileAt(0);
+        player.addGameTileAt(first, 3);
+        PossibleTurn reordered = player.evaluateToBestTurn(board);
+        assertEquals(probes, table.getHits() + table.getMisses());
+        assertEquals(turn.toPlace(), reordered.toPlace());
+        assertEquals(turn.pos(), reordered.pos());
+        assertEquals(turn.toPlace(), player.getGameTileAt(reordered.handSlot()));
+        player.removeGameTileAt(3);
+        player.addGameTileAt(first, 0);
+
+        //Changed configuration discards the decision
+        TranspositionTable otherTable = new TranspositionTable(1);
+        player.setTranspositionTable(otherTable);
+        assertEquals(turn, player.evaluateToBestTurn(board));
+        Assert.assertTrue(otherTable.getHits() + otherTable.getMisses() > 0);
+        player.setTranspositionTable(table);
+        player.evaluateToBestTurn(board);
+        probes = table.getHits() + table.getMisses();
+
+        //Changed gameBoard is evaluated again
+        board.placeTileOnBoard(GameTiles.T_STAR, new Position(2, 2));
+        player.evaluateToBestTurn(board);
+        Assert.assertTrue(table.getHits() + table.getMisses() > probes);
+    }
 }
@@ -0,0 +1,136 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the AsyncLogger.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class AsyncLoggerTests {
+
+    /**
+     * Creates an empty temporary logFile, which is deleted on exit.
+     *
+     * @return temporary logFile
+     * @throws IOException if logFile can't be created
+     */
+    private static File createLogFile() throws IOException {
+        File logFile = File.createTempFile("crosswise", ".log");
+        logFile.deleteOnExit();
+        return logFile;
+    }
+
+    @Test
+    public void logAndFlush_test() throws IOException {
+        File logFile = createLogFile();
+        AsyncLogger logger = new AsyncLogger(logFile.getPath(), 16, AsyncLogger.Policy.BLOCK);
+        logger.start();
+
+        //More entries than capacity, logging thread waits for writer
+        for (int i = 0; i < 100; i++) {
+            logger.log("entry " + i);
+        }
+        Assert.assertTrue(logger.flush(5000));
+
+        List<String> lines = Files.readAllLines(logFile.toPath());
+        assertEquals(100, lines.size());
+        assertEquals("entry 0", lines.get(0));
+        assertEquals("entry 99", lines.get(99));
+        logger.close();
+    }
+
+    @Test
+    public void clear_test() throws IOException {
+        File logFile = createLogFile();
+        AsyncLogger logger = new AsyncLogger(logFile.getPath(), 16, AsyncLogger.Policy.DROP);
+        logger.start();
+
+        logger.log("old");
+        logger.clear();
+        logger.log("new");
+        Assert.assertTrue(logger.flush(5000));
+
+        assertEquals(List.of("new"), Files.readAllLines(logFile.toPath()));
+        logger.close();
+    }
+
+    @Test
+    public void dropPolicy_test() throws IOException {
+        File logFile = createLogFile();
+        AsyncLogger logger = new AsyncLogger(logFile.getPath(), 2, AsyncLogger.Policy.DROP);
+
+        //Writer not started yet, buffer fills up
+        for (int i = 0; i < 5; i++) {
+            logger.log("entry " + i);
+        }
+        assertEquals(3, logger.getDropped());
+
+        logger.start();
+        Assert.assertTrue(logger.flush(5000));
+
+        assertEquals(List.of("3 log entries dropped", "entry 0", "entry 1"), Files.readAllLines(logFile.toPath()));
+        assertEquals(0, logger.getDropped());
+        logger.close();
+    }
+
+    @Test
+    public void dropPolicy_afterClear_test() throws IOException {
+        File logFile = createLogFile();
+        AsyncLogger logger = new AsyncLogger(logFile.getPath(), 2, AsyncLogger.Policy.DROP);
+
+        //Writer not started yet, dropped entries are reported after clearing
+        logger.clear();
+        for (int i = 0; i < 3; i++) {
+            logger.log("entry " + i);
+        }
+        assertEquals(2, logger.getDropped());
+
+        logger.start();
+        Assert.assertTrue(logger.flush(5000));
+
+        assertEquals(List.of("2 log entries dropped", "entry 0"), Files.readAllLines(logFile.toPath()));
+        logger.close();
+    }
+
+    @Test(timeout = 5000)
+    public void close_blockedLog_test() throws IOException, InterruptedException {
+        File logFile = createLogFile();
+        AsyncLogger logger = new AsyncLogger(logFile.getPath(), 1, AsyncLogger.Policy.BLOCK);
+
+        //Writer not started, second entry waits for space
+        logger.log("entry 0");
+        Thread logging = new Thread(() -> logger.log("entry 1"));
+        logging.start();
+        while (logging.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+
+        //Close releases waiting logging thread, which drops its entry
+        logger.close();
+        logging.join();
+        assertEquals(1, logger.getDropped());
+    }
+
+    @Test
+    public void close_test() throws IOException {
+        File logFile = createLogFile();
+        AsyncLogger logger = new AsyncLogger(logFile.getPath(), 16, AsyncLogger.Policy.DROP);
+        logger.start();
+
+        logger.log("pending");
+        logger.close();
+
+        //Pending entries are written on close, later ones are ignored
+        logger.log("ignored");
+        assertEquals(List.of("pending"), Files.readAllLines(logFile.toPath()));
+    }
+}
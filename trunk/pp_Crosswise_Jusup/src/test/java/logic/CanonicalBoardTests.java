@@ -0,0 +1,201 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class CanonicalBoardTests {
+
+    private static final int[][] INPUT = new int[][]{
+            {1, 4, 0, 5, 0, 6},
+            {2, 5, 1, 0, 0, 4},
+            {0, 4, 0, 4, 3, 0},
+            {5, 2, 0, 2, 3, 0},
+            {2, 2, 1, 5, 6, 5},
+            {0, 1, 0, 4, 0, 0}
+    };
+
+    @Test
+    public void permutedBoards_sameKey_test() {
+        GameBoard board = new GameBoard(transposeBoard(INPUT));
+        CanonicalBoard canonical = CanonicalBoard.of(board, false);
+        Random random = new Random(7L);
+
+        for (int i = 0; i < 50; i++) {
+            CanonicalBoard other = CanonicalBoard.of(permute(board, random, false), false);
+
+            Assert.assertTrue(other.isCanonical());
+            assertEquals(canonical.getKey(), other.getKey());
+            Assert.assertArrayEquals(canonical.toBoard().getGameBoard(), other.toBoard().getGameBoard());
+        }
+        assertEquals(canonical.getKey(), canonical.toBoard().getZobristKey());
+    }
+
+    @Test
+    public void transposedBoard_sameKey_test() {
+        GameBoard board = new GameBoard(transposeBoard(INPUT));
+        GameBoard transposed = new GameBoard(INPUT);
+
+        CanonicalBoard canonical = CanonicalBoard.of(board, true);
+        CanonicalBoard other = CanonicalBoard.of(transposed, true);
+
+        assertEquals(canonical.getKey(), other.getKey());
+        assertNotEquals(canonical.isTransposed(), other.isTransposed());
+
+        //Without transposition, the teams must not be mixed up
+        assertNotEquals(CanonicalBoard.of(board, false).getKey(), CanonicalBoard.of(transposed, false).getKey());
+    }
+
+    @Test
+    public void differentBoards_differentKey_test() {
+        GameBoard board = new GameBoard(transposeBoard(INPUT));
+        GameBoard other = new GameBoard(board);
+        other.placeTileOnBoard(GameTiles.T_STAR, new Position(2, 0));
+
+        assertNotEquals(CanonicalBoard.of(board, true).getKey(), CanonicalBoard.of(other, true).getKey());
+    }
+
+    @Test
+    public void mapping_roundTrip_test() {
+        Random random = new Random(11L);
+        GameBoard board = permute(new GameBoard(transposeBoard(INPUT)), random, true);
+
+        for (boolean allowTranspose : new boolean[]{false, true}) {
+            CanonicalBoard canonical = CanonicalBoard.of(board, allowTranspose);
+            GameBoard canonicalBoard = canonical.toBoard();
+
+            for (int x = 0; x < board.getSize(); x++) {
+                for (int y = 0; y < board.getSize(); y++) {
+                    Position pos = new Position(x, y);
+                    Position mapped = canonical.toCanonical(pos);
+
+                    assertEquals(pos, canonical.toOriginal(mapped));
+                    assertEquals(board.getGameTileAt(pos), canonicalBoard.getGameTileAt(mapped));
+                }
+            }
+
+            long move = MoveGenerator.pack(MoveGenerator.TYPE_MOVER, 1, 2, 4, 5, 3,
+                    GameTiles.T_SUN, null, 9, 4, 5);
+            long mapped = canonical.toCanonical(move);
+            assertEquals(move, canonical.toOriginal(mapped));
+            assertEquals(canonical.toCanonical(new Position(1, 2)),
+                    new Position(MoveGenerator.toColumn(mapped), MoveGenerator.toRow(mapped)));
+            assertEquals(canonical.toCanonical(new Position(4, 5)),
+                    new Position(MoveGenerator.fromColumn(mapped), MoveGenerator.fromRow(mapped)));
+            assertEquals(MoveGenerator.gain(move), MoveGenerator.gain(mapped));
+
+            long basic = MoveGenerator.pack(MoveGenerator.TYPE_BASIC, 0, 5, -1, -1, 0,
+                    GameTiles.T_STAR, null, 1, 2, -1);
+            Assert.assertFalse(MoveGenerator.hasFrom(canonical.toCanonical(basic)));
+            assertEquals(basic, canonical.toOriginal(canonical.toCanonical(basic)));
+        }
+    }
+
+    @Test
+    public void teamPoints_preserved_test() {
+        Random random = new Random(3L);
+        GameBoard board = permute(new GameBoard(transposeBoard(INPUT)), random, true);
+        CanonicalBoard canonical = CanonicalBoard.of(board, true);
+        GameBoard canonicalBoard = canonical.toBoard();
+
+        for (boolean isVertical : new boolean[]{true, false}) {
+            boolean canonicalTeam = canonical.isTransposed() != isVertical;
+            assertEquals(getTeamPoints(board, isVertical), getTeamPoints(canonicalBoard, canonicalTeam));
+        }
+    }
+
+    @Test
+    public void cyclicBoard_allOrders_test() {
+        //All 7 columns share one signature and differ: exactly MAX_COLUMN_ORDERS column orders
+        int size = 7;
+        int[][] cyclic = new int[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                cyclic[x][y] = (x + y) % 7;
+            }
+        }
+        GameBoard board = new GameBoard(cyclic);
+        CanonicalBoard canonical = CanonicalBoard.of(board, false);
+
+        Assert.assertTrue(canonical.isCanonical());
+        CanonicalBoard other = CanonicalBoard.of(permute(board, new Random(5L), false), false);
+        Assert.assertTrue(other.isCanonical());
+        assertEquals(canonical.getKey(), other.getKey());
+    }
+
+    @Test(timeout = 10_000)
+    public void cyclicBoard_cappedOrders_test() {
+        //Every segment holds each of the 7 ordinals twice, so all columns share one signature.
+        //Lower half of the second 7 columns is shifted, so all columns differ: 14! column orders
+        int size = 14;
+        int[][] cyclic = new int[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                cyclic[x][y] = (x + y + (x >= 7 && y >= 7 ? 3 : 0)) % 7;
+            }
+        }
+        GameBoard board = new GameBoard(cyclic);
+        CanonicalBoard canonical = CanonicalBoard.of(board, true);
+
+        //Capped form is no canonical form, but still an equivalent gameBoard with a valid mapping
+        Assert.assertFalse(canonical.isCanonical());
+        GameBoard canonicalBoard = canonical.toBoard();
+        assertEquals(canonical.getKey(), canonicalBoard.getZobristKey());
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                Position pos = new Position(x, y);
+                assertEquals(board.getGameTileAt(pos), canonicalBoard.getGameTileAt(canonical.toCanonical(pos)));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooBigBoard_test() {
+        CanonicalBoard.of(new GameBoard(MoveGenerator.MAX_SIZE + 1), false);
+    }
+
+    //Helper Methods::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
+
+    private static GameBoard permute(GameBoard board, Random random, boolean transpose) {
+        int size = board.getSize();
+        List<Integer> columns = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            columns.add(i);
+            rows.add(i);
+        }
+        Collections.shuffle(columns, random);
+        Collections.shuffle(rows, random);
+
+        int[][] permuted = new int[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                GameTiles tile = board.getGameTileAt(columns.get(x), rows.get(y));
+                if (transpose) {
+                    permuted[y][x] = tile.ordinal();
+                } else {
+                    permuted[x][y] = tile.ordinal();
+                }
+            }
+        }
+
+        return new GameBoard(permuted);
+    }
+
+    private static int getTeamPoints(GameBoard board, boolean isVertical) {
+        int pointSum = 0;
+        for (int i = 0; i < board.getSize(); i++) {
+            pointSum = Game.addSegmentPoints(pointSum, Game.calculatePoints(board.getTilesPerSegment(i, isVertical)));
+        }
+
+        return pointSum;
+    }
+}
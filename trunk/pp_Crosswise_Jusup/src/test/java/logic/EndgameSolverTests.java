@@ -0,0 +1,116 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the EndgameSolver.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class EndgameSolverTests {
+
+    /**
+     * All wildcards are used, so only standard GameTiles are unseen
+     */
+    private static final int[] ALL_WILDCARDS_USED = {3, 3, 3, 3};
+
+    /**
+     * Column 0 is one SUN away from a WinOfSixes for team vertical. Last free cell.
+     * Unseen are one SUN, one SQUARE and one PENTAGON.
+     */
+    private static final int[][] WIN_BOARD = {
+            {1, 3, 4, 5, 6, 2},
+            {1, 4, 5, 6, 2, 3},
+            {1, 5, 6, 2, 3, 4},
+            {1, 6, 2, 3, 4, 5},
+            {1, 2, 3, 4, 5, 6},
+            {0, 3, 4, 5, 6, 2}
+    };
+
+    private static final List<GameTiles> WIN_HAND =
+            List.of(GameTiles.T_STAR, GameTiles.T_SUN, GameTiles.T_CROSS, GameTiles.T_TRIANGLE);
+
+    /**
+     * Row 5 is one STAR away from a WinOfSixes for team horizontal. Two free cells.
+     * Unseen are STAR, CROSS, CROSS and PENTAGON.
+     */
+    private static final int[][] BLOCK_BOARD = {
+            {1, 3, 4, 4, 5, 0},
+            {2, 3, 3, 4, 5, 1},
+            {3, 6, 1, 4, 5, 3},
+            {5, 1, 1, 4, 2, 3},
+            {4, 2, 4, 3, 5, 5},
+            {0, 6, 6, 6, 6, 6}
+    };
+
+    private static final List<GameTiles> BLOCK_HAND =
+            List.of(GameTiles.T_CROSS, GameTiles.T_SUN, GameTiles.T_CROSS, GameTiles.T_SUN);
+
+    @Test
+    public void winOfSixes_test() {
+        GameBoard board = new GameBoard(transposeBoard(WIN_BOARD));
+        long key = board.getZobristKey();
+        EndgameSolver solver = new EndgameSolver(100_000, 10_000);
+
+        long move = solver.solve(board, WIN_HAND, 0, new int[]{4, 1, 1, 1}, ALL_WILDCARDS_USED);
+        assertEquals(MoveGenerator.TYPE_BASIC, MoveGenerator.type(move));
+        assertEquals(new Position(0, 5), new Position(MoveGenerator.toColumn(move), MoveGenerator.toRow(move)));
+        assertEquals(1, MoveGenerator.handSlot(move));
+        assertEquals(1.0, solver.getExpectedOutcome(), 0);
+        Assert.assertFalse(solver.isAborted());
+
+        //Three different unseen GameTiles, one in each other playerHand
+        assertEquals(6, solver.getAssignments());
+
+        //gameBoard is not manipulated by solver
+        assertEquals(key, board.getZobristKey());
+    }
+
+    @Test
+    public void assignments_test() {
+        GameBoard board = new GameBoard(transposeBoard(WIN_BOARD));
+        EndgameSolver solver = new EndgameSolver(100_000, 10_000);
+
+        //Two unseen GameTiles for player 1, one for player 2
+        solver.solve(board, WIN_HAND, 0, new int[]{4, 2, 1, 0}, ALL_WILDCARDS_USED);
+        assertEquals(3, solver.getAssignments());
+
+        //Unseen GameTiles don't fit into the other playerHands
+        long move = solver.solve(board, WIN_HAND, 0, new int[]{4, 4, 4, 4}, ALL_WILDCARDS_USED);
+        assertEquals(EndgameSolver.NO_MOVE, move);
+        assertEquals(0, solver.getAssignments());
+
+        //Unused wildcards are unseen as well
+        solver.solve(board, WIN_HAND, 0, new int[]{4, 1, 1, 2}, new int[]{3, 3, 3, 2});
+        assertEquals(12, solver.getAssignments());
+    }
+
+    @Test
+    public void blockWinOfSixes_test() {
+        GameBoard board = new GameBoard(transposeBoard(BLOCK_BOARD));
+        EndgameSolver solver = new EndgameSolver(100_000, 10_000);
+
+        //Player 1 holds all unseen GameTiles, including the STAR, and plays next
+        long move = solver.solve(board, BLOCK_HAND, 0, new int[]{4, 4, 0, 0}, ALL_WILDCARDS_USED);
+        assertEquals(1, solver.getAssignments());
+        assertEquals(new Position(0, 5), new Position(MoveGenerator.toColumn(move), MoveGenerator.toRow(move)));
+        assertEquals(1.0, solver.getExpectedOutcome(), 0);
+    }
+
+    @Test
+    public void budget_test() {
+        GameBoard board = new GameBoard(transposeBoard(BLOCK_BOARD));
+        EndgameSolver solver = new EndgameSolver(1, 10_000);
+
+        //Search stops at the second evaluated position
+        solver.solve(board, BLOCK_HAND, 0, new int[]{4, 4, 0, 0}, ALL_WILDCARDS_USED);
+        Assert.assertTrue(solver.isAborted());
+        assertEquals(2, solver.getNodes());
+    }
+}
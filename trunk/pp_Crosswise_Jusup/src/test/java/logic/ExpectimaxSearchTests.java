@@ -0,0 +1,256 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the expectimax lookahead of the AI_Player.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class ExpectimaxSearchTests {
+
+    /**
+     * Row 0 is one GameTile away from a WinOfSixes hazard. Three PENTAGONs in
+     * column 4 gain the same for team vertical in rows 0 and 3.
+     */
+    private static final int[][] HAZARD_BOARD = {
+            {1, 2, 3, 4, 0, 0},
+            {0, 0, 0, 0, 5, 0},
+            {0, 0, 0, 0, 5, 0},
+            {0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0}
+    };
+
+    @Test
+    public void greedy_opensHazard_test() {
+        GameBoard board = new GameBoard(transposeBoard(HAZARD_BOARD));
+        AI_Player player = new AI_Player("AI", true, true, new int[]{5, 5, 5, 5}, true);
+
+        //Equal gain, greedy prefers the top row
+        PossibleTurn turn = player.evaluateToBestTurn(board);
+        assertEquals(new Position(4, 0), turn.pos());
+    }
+
+    @Test
+    public void lookahead_avoidsHazard_test() {
+        GameBoard board = new GameBoard(transposeBoard(HAZARD_BOARD));
+        long key = board.getZobristKey();
+        AI_Player player = new AI_Player("AI", true, true, new int[]{5, 5, 5, 5}, true);
+        player.setLookahead(1, 1_000_000, 10_000);
+
+        //Opponent could complete row 0 with a STAR, so the lookahead plays column 4 elsewhere
+        PossibleTurn turn = player.evaluateToBestTurn(board);
+        assertEquals(4, turn.pos().column());
+        Assert.assertNotEquals(0, turn.pos().row());
+        assertEquals(2, turn.points_team_gain());
+
+        //gameBoard is restored after search
+        assertEquals(key, board.getZobristKey());
+    }
+
+    @Test
+    public void lookahead_winOfSixes_test() {
+        int[][] testBoard = {
+                {1, 0, 0, 0, 0, 0},
+                {2, 0, 0, 0, 0, 0},
+                {3, 0, 0, 0, 0, 0},
+                {4, 0, 0, 0, 0, 0},
+                {5, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0}
+        };
+        GameBoard board = new GameBoard(transposeBoard(testBoard));
+        AI_Player player = new AI_Player("AI", true, true, new int[]{1, 6, 2, 3}, true);
+        player.setLookahead(2, 1_000_000, 10_000);
+
+        PossibleTurn turn = player.evaluateToBestTurn(board);
+        assertEquals(new Position(0, 5), turn.pos());
+        assertEquals(GameTiles.T_STAR, turn.toPlace());
+    }
+
+    @Test
+    public void budget_test() {
+        GameBoard board = new GameBoard(transposeBoard(HAZARD_BOARD));
+        ExpectimaxSearch search = new ExpectimaxSearch(true, 3, 1, 10_000);
+        AI_Player player = new AI_Player("AI", true, true, new int[]{5, 5, 5, 5}, true);
+
+        //No root move can be searched within a single node
+        long move = search.search(board, new TurnScorer(board), player.getHand());
+        assertEquals(ExpectimaxSearch.NO_MOVE, move);
+        Assert.assertTrue(search.isAborted());
+
+        //AI falls back to greedy turn
+        player.setLookahead(2, 1, 10_000);
+        assertEquals(new Position(4, 0), player.evaluateToBestTurn(board).pos());
+    }
+
+    @Test
+    public void parallel_equalsSequential_test() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Random random = new Random(3);
+
+        try {
+            for (int game = 0; game < 5; game++) {
+                //Random position with 12 standard GameTiles
+                GameBoard board = new GameBoard(6);
+                for (int i = 0; i < 12; i++) {
+                    int x = random.nextInt(6);
+                    int y = random.nextInt(6);
+                    if (board.getGameTileAt(x, y) == GameTiles.EMPTY) {
+                        board.placeTileOnBoard(GameTiles.values()[1 + random.nextInt(6)], new Position(x, y));
+                    }
+                }
+                long key = board.getZobristKey();
+                List<GameTiles> hand = List.of(GameTiles.T_SUN, GameTiles.T_CROSS, GameTiles.WC_MOVER, GameTiles.T_STAR);
+
+                long expected = new ExpectimaxSearch(true, 2, Long.MAX_VALUE, 60_000)
+                        .search(board, new TurnScorer(board), hand);
+                ExpectimaxSearch parallel = new ExpectimaxSearch(true, 2, Long.MAX_VALUE, 60_000, pool);
+
+                //Scheduling does not change the result
+                for (int run = 0; run < 3; run++) {
+                    assertEquals(expected, parallel.search(board, new TurnScorer(board), hand));
+                    Assert.assertFalse(parallel.isAborted());
+                    Assert.assertTrue(parallel.getNodes() > 0);
+                }
+                assertEquals(key, board.getZobristKey());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void parallel_budget_test() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        GameBoard board = new GameBoard(transposeBoard(HAZARD_BOARD));
+        AI_Player player = new AI_Player("AI", true, true, new int[]{5, 5, 5, 5}, true);
+
+        try {
+            ExpectimaxSearch search = new ExpectimaxSearch(true, 3, 1, 10_000, pool);
+            assertEquals(ExpectimaxSearch.NO_MOVE, search.search(board, new TurnScorer(board), player.getHand()));
+            Assert.assertTrue(search.isAborted());
+
+            //Parallel lookahead avoids hazard like sequential one
+            player.setLookahead(1, 1_000_000, 10_000, pool);
+            PossibleTurn turn = player.evaluateToBestTurn(board);
+            assertEquals(4, turn.pos().column());
+            Assert.assertNotEquals(0, turn.pos().row());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void transpositionTable_test() {
+        GameBoard board = new GameBoard(transposeBoard(HAZARD_BOARD));
+        List<GameTiles> hand = List.of(GameTiles.T_PENTAGON, GameTiles.T_SUN, GameTiles.T_CROSS, GameTiles.T_STAR);
+        long expected = new ExpectimaxSearch(true, 3, Long.MAX_VALUE, 60_000)
+                .search(board, new TurnScorer(board), hand);
+
+        TranspositionTable table = new TranspositionTable(4);
+        ExpectimaxSearch search = new ExpectimaxSearch(true, 3, Long.MAX_VALUE, 60_000);
+        search.setTranspositionTable(table);
+
+        //Table does not change the result
+        assertEquals(expected, search.search(board, new TurnScorer(board), hand));
+        long nodes = search.getNodes();
+        Assert.assertTrue(table.getMisses() > 0);
+
+        //Second search is answered from the table
+        long hits = table.getHits();
+        assertEquals(expected, search.search(board, new TurnScorer(board), hand));
+        Assert.assertTrue(table.getHits() > hits);
+        Assert.assertTrue(search.getNodes() < nodes);
+    }
+
+    @Test
+    public void iterative_test() {
+        GameBoard board = new GameBoard(transposeBoard(HAZARD_BOARD));
+        List<GameTiles> hand = List.of(GameTiles.T_PENTAGON, GameTiles.T_SUN, GameTiles.T_CROSS, GameTiles.T_STAR);
+        long expected = new ExpectimaxSearch(true, 3, Long.MAX_VALUE, 60_000)
+                .search(board, new TurnScorer(board), hand);
+
+        //Without pressure all iterations complete with the same result as a fixed-depth search
+        ExpectimaxSearch search = new ExpectimaxSearch(true, 3, Long.MAX_VALUE, 60_000);
+        long move = search.searchIterative(board, new TurnScorer(board), hand, System.nanoTime() + 60_000_000_000L);
+        assertEquals(expected, move);
+        assertEquals(3, search.getCompletedDepth());
+        Assert.assertFalse(search.isAborted());
+
+        //Passed deadline completes no iteration
+        move = search.searchIterative(board, new TurnScorer(board), hand, System.nanoTime() - 1);
+        assertEquals(ExpectimaxSearch.NO_MOVE, move);
+        assertEquals(0, search.getCompletedDepth());
+        Assert.assertTrue(search.isAborted());
+    }
+
+    @Test
+    public void deadline_test() {
+        //Wildcards in hand on the biggest packed gameBoard, half filled
+        int size = MoveGenerator.MAX_SIZE;
+        GameBoard board = new GameBoard(size);
+        Random random = new Random(11);
+        for (int i = 0; i < size * (size - 1) / 2; i++) {
+            board.placeTileOnBoard(GameTiles.values()[1 + random.nextInt(6)], new Position(i / size * 2 + i % 2, i % size));
+        }
+        AI_Player player = new AI_Player("AI", true, true, new int[]{9, 8, 3, 7}, true);
+        player.setLookahead(8, Long.MAX_VALUE, 60_000);
+
+        //Turn is ready shortly after the deadline, although the lookahead could run much longer
+        long start = System.nanoTime();
+        PossibleTurn turn = player.evaluateToBestTurn(board, start + 50_000_000L);
+        Assert.assertNotNull(turn);
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 < 1_000);
+
+        //Passed deadline still returns the greedy turn of standard GameTiles
+        player.resetSecondPhaseTurn();
+        turn = player.evaluateToBestTurn(board, System.nanoTime() - 1);
+        Assert.assertNotNull(turn);
+        assertEquals(GameTiles.T_TRIANGLE, turn.toPlace());
+
+        //Passed deadline with only wildcards in hand still completes the first wildcard
+        AI_Player wildcards = new AI_Player("AI", true, true, new int[]{7, 8, 9, 10}, true);
+        turn = wildcards.evaluateToBestTurn(board, System.nanoTime() - 1);
+        Assert.assertNotNull(turn);
+        assertEquals(GameTiles.WC_REMOVER, turn.wildcard());
+    }
+
+    @Test
+    public void deadline_listTurns_test() {
+        //Wildcards in hand on a gameBoard, which is too big for packed moves
+        int size = 40;
+        GameBoard board = new GameBoard(size);
+        Random random = new Random(13);
+        for (int i = 0; i < size * size / 2; i++) {
+            board.placeTileOnBoard(GameTiles.values()[1 + random.nextInt(6)], new Position(i / size * 2 + i % 2, i % size));
+        }
+        AI_Player player = new AI_Player("AI", true, true, new int[]{9, 8, 3, 7}, true);
+
+        //Wildcard turns of the list path stop shortly after the deadline
+        long start = System.nanoTime();
+        PossibleTurn turn = player.evaluateToBestTurn(board, start + 50_000_000L);
+        Assert.assertNotNull(turn);
+        Assert.assertTrue((System.nanoTime() - start) / 1_000_000 < 1_000);
+
+        //Passed deadline still returns the greedy turn of standard GameTiles
+        player.resetSecondPhaseTurn();
+        turn = player.evaluateToBestTurn(board, System.nanoTime() - 1);
+        Assert.assertNotNull(turn);
+        assertEquals(GameTiles.T_TRIANGLE, turn.toPlace());
+
+        //Passed deadline with only wildcards in hand still completes the first wildcard
+        AI_Player wildcards = new AI_Player("AI", true, true, new int[]{7, 8, 9, 10}, true);
+        turn = wildcards.evaluateToBestTurn(board, System.nanoTime() - 1);
+        Assert.assertNotNull(turn);
+        assertEquals(GameTiles.WC_REMOVER, turn.wildcard());
+    }
+}
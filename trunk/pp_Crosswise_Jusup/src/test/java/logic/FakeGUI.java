@@ -1,7 +1,5 @@
 package logic;
 
-import javafx.scene.image.ImageView;
-
 import java.util.List;
 
 /**
@@ -91,11 +89,6 @@ public class FakeGUI implements GUIConnector{
 
     }
 
-    @Override
-    public void setSourceDragHandler(ImageView source) {
-
-    }
-
     @Override
     public void setBoardDragHandler(Game game, boolean swap) {
 
@@ -145,4 +138,9 @@ public class FakeGUI implements GUIConnector{
     public void createAlert(ErrorType errorType, String msg) {
 
     }
+
+    @Override
+    public void runOnGUIThread(Runnable action) {
+        action.run();
+    }
 }
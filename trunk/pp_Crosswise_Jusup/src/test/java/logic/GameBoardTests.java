@@ -6,6 +6,7 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 import static logic.GameTiles.EMPTY;
 import static logic.GameTiles.T_CROSS;
@@ -389,4 +390,273 @@ public class GameBoardTests {
             assertEquals(gameTileCount, occurrence.getValue().intValue());
         }
     }
+
+    @Test
+    public void getTilesPerSegment_test() {
+        int[][] input = new int[][]{
+                {1, 1, 2, 0, 6, 3},
+                {0, 2, 2, 2, 0, 0},
+                {4, 0, 0, 0, 0, 5},
+                {1, 2, 3, 4, 5, 6},
+                {0, 0, 0, 0, 0, 0},
+                {6, 6, 6, 6, 6, 0}
+        };
+
+        GameBoard board = new GameBoard(transposeBoard(input));
+
+        //Rows
+        assertArrayEquals(new int[]{2, 1, 1, 0, 0, 1}, board.getTilesPerSegment(0, false));
+        assertArrayEquals(new int[]{0, 3, 0, 0, 0, 0}, board.getTilesPerSegment(1, false));
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1, 1}, board.getTilesPerSegment(3, false));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 0}, board.getTilesPerSegment(4, false));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 5}, board.getTilesPerSegment(5, false));
+
+        //Columns
+        assertArrayEquals(new int[]{2, 0, 0, 1, 0, 1}, board.getTilesPerSegment(0, true));
+        assertArrayEquals(new int[]{0, 0, 1, 0, 1, 1}, board.getTilesPerSegment(5, true));
+
+        //Counts follow placements
+        board.placeTileOnBoard(T_STAR, new Position(5, 5));
+        board.placeTileOnBoard(EMPTY, new Position(0, 0));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 6}, board.getTilesPerSegment(5, false));
+        assertArrayEquals(new int[]{1, 0, 0, 1, 0, 1}, board.getTilesPerSegment(0, true));
+    }
+
+    @Test
+    public void getTilesPerSegment_bigBoard_test() {
+        GameBoard board = new GameBoard(10);
+
+        board.placeTileOnBoard(T_SUN, new Position(9, 0));
+        board.placeTileOnBoard(T_SUN, new Position(9, 9));
+        board.placeTileOnBoard(T_CROSS, new Position(0, 9));
+
+        assertArrayEquals(new int[]{2, 0, 0, 0, 0, 0}, board.getTilesPerSegment(9, true));
+        assertArrayEquals(new int[]{1, 1, 0, 0, 0, 0}, board.getTilesPerSegment(9, false));
+        assertEquals(3, board.usedSpaces());
+        Assert.assertFalse(board.isEmpty());
+        Assert.assertFalse(board.isFull());
+    }
+
+    @Test
+    public void usedSpaces_afterPlacements_test() {
+        GameBoard board = new GameBoard(6);
+        Assert.assertTrue(board.isEmpty());
+
+        for (int x = 0; x < 6; x++) {
+            for (int y = 0; y < 6; y++) {
+                board.placeTileOnBoard(T_TRIANGLE, new Position(x, y));
+            }
+        }
+        Assert.assertTrue(board.isFull());
+        assertEquals(36, board.usedSpaces());
+        assertEquals(36, board.getGameTileOccurrences(T_TRIANGLE));
+
+        board.placeTileOnBoard(EMPTY, new Position(3, 4));
+        Assert.assertFalse(board.isFull());
+        assertEquals(35, board.usedSpaces());
+        assertEquals(1, board.getGameTileOccurrences(EMPTY));
+    }
+
+    @Test
+    public void getTileCountAtSegment_test() {
+        int[][] input = new int[][]{
+                {1, 1, 0},
+                {0, 2, 0},
+                {3, 0, 0}
+        };
+
+        GameBoard board = new GameBoard(transposeBoard(input));
+
+        assertEquals(2, board.getTileCountAtSegment(T_SUN, 0, false));
+        assertEquals(1, board.getTileCountAtSegment(EMPTY, 0, false));
+        assertEquals(1, board.getTileCountAtSegment(T_SUN, 0, true));
+        assertEquals(1, board.getTileCountAtSegment(T_TRIANGLE, 0, true));
+        assertEquals(3, board.getTileCountAtSegment(EMPTY, 2, true));
+
+        //Histograms of both segments follow a placement
+        board.placeTileOnBoard(T_CROSS, new Position(2, 2));
+        assertEquals(2, board.getTileCountAtSegment(EMPTY, 2, true));
+        assertEquals(1, board.getTileCountAtSegment(T_CROSS, 2, true));
+        assertEquals(1, board.getTileCountAtSegment(T_CROSS, 2, false));
+
+        board.placeTileOnBoard(EMPTY, new Position(0, 0));
+        assertEquals(1, board.getTileCountAtSegment(T_SUN, 0, false));
+        assertEquals(0, board.getTileCountAtSegment(T_SUN, 0, true));
+        assertEquals(2, board.getTileCountAtSegment(EMPTY, 0, true));
+    }
+
+    @Test
+    public void getTileCountAtSegment_equalsScan_test() {
+        Random random = new Random(5);
+
+        //BitBoard popcount (up to 8 x 8) and live histograms (bigger) agree with scanning the segment
+        for (int size : new int[]{6, 8, 10}) {
+            GameBoard board = new GameBoard(size);
+            for (int i = 0; i < 300; i++) {
+                board.placeTileOnBoard(GameTiles.values()[random.nextInt(7)],
+                        new Position(random.nextInt(size), random.nextInt(size)));
+            }
+
+            int[] target = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+            for (int segment = 0; segment < size; segment++) {
+                for (boolean isVertical : new boolean[]{true, false}) {
+                    int[] scanned = new int[GameTiles.values().length];
+                    for (int i = 0; i < size; i++) {
+                        scanned[(isVertical ? board.getGameTileAt(segment, i)
+                                : board.getGameTileAt(i, segment)).ordinal()]++;
+                    }
+
+                    for (int ordinal = 0; ordinal <= T_STAR.ordinal(); ordinal++) {
+                        assertEquals(scanned[ordinal],
+                                board.getTileCountAtSegment(GameTiles.values()[ordinal], segment, isVertical));
+                    }
+                    board.copyTilesPerSegment(segment, isVertical, target);
+                    assertArrayEquals(Arrays.copyOfRange(scanned, T_SUN.ordinal(), T_STAR.ordinal() + 1), target);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void applyUndo_placementAndRemove_test() {
+        int[][] input = new int[][]{
+                {1, 2, 0},
+                {0, 3, 0},
+                {4, 0, 5}
+        };
+
+        GameBoard board = new GameBoard(transposeBoard(input));
+        GameTiles[][] before = board.getGameBoard();
+
+        long token = board.applyPlacement(T_STAR, 2, 0);
+        assertEquals(T_STAR, board.getGameTileAt(new Position(2, 0)));
+        assertEquals(6, board.usedSpaces());
+        assertEquals(1, board.getTileCountAtSegment(T_STAR, 2, true));
+        board.undo(token);
+        assertArrayEquals(before, board.getGameBoard());
+        assertEquals(5, board.usedSpaces());
+        assertEquals(0, board.getTileCountAtSegment(T_STAR, 2, true));
+
+        token = board.applyRemove(1, 1);
+        Assert.assertTrue(board.isFreeAt(new Position(1, 1)));
+        assertArrayEquals(new int[]{0, 1, 0, 0, 0, 0}, board.getTilesPerSegment(1, true));
+        board.undo(token);
+        assertArrayEquals(before, board.getGameBoard());
+        assertArrayEquals(new int[]{0, 1, 1, 0, 0, 0}, board.getTilesPerSegment(1, true));
+    }
+
+    @Test
+    public void applyUndo_moveAndSwap_test() {
+        int[][] input = new int[][]{
+                {1, 2, 0},
+                {0, 3, 0},
+                {4, 0, 5}
+        };
+
+        GameBoard board = new GameBoard(transposeBoard(input));
+        GameTiles[][] before = board.getGameBoard();
+
+        long token = board.applyMove(0, 0, 2, 0);
+        Assert.assertTrue(board.isFreeAt(new Position(0, 0)));
+        assertEquals(T_SUN, board.getGameTileAt(new Position(2, 0)));
+        assertEquals(5, board.usedSpaces());
+        board.undo(token);
+        assertArrayEquals(before, board.getGameBoard());
+
+        token = board.applySwap(1, 0, 2, 2);
+        assertEquals(T_PENTAGON, board.getGameTileAt(new Position(1, 0)));
+        assertEquals(T_CROSS, board.getGameTileAt(new Position(2, 2)));
+        assertArrayEquals(new int[]{1, 0, 0, 0, 1, 0}, board.getTilesPerSegment(0, false));
+        board.undo(token);
+        assertArrayEquals(before, board.getGameBoard());
+        assertArrayEquals(new int[]{1, 1, 0, 0, 0, 0}, board.getTilesPerSegment(0, false));
+    }
+
+    @Test
+    public void applyUndo_nested_test() {
+        GameBoard board = new GameBoard(6);
+
+        long first = board.applyPlacement(T_SUN, 0, 0);
+        long second = board.applyPlacement(T_CROSS, 0, 1);
+        long third = board.applyMove(0, 0, 5, 5);
+        long fourth = board.applySwap(0, 1, 5, 5);
+        assertEquals(T_SUN, board.getGameTileAt(new Position(0, 1)));
+        assertEquals(T_CROSS, board.getGameTileAt(new Position(5, 5)));
+
+        //Undo in reverse order
+        board.undo(fourth);
+        board.undo(third);
+        board.undo(second);
+        assertEquals(T_SUN, board.getGameTileAt(new Position(0, 0)));
+        assertEquals(1, board.usedSpaces());
+        board.undo(first);
+        Assert.assertTrue(board.isEmpty());
+        assertEquals(6, board.getTileCountAtSegment(EMPTY, 0, true));
+        assertEquals(6, board.getTileCountAtSegment(EMPTY, 5, false));
+    }
+
+    @Test
+    public void sixesThreat_test() {
+        int[][] input = new int[][]{
+                {1, 1, 1, 1, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0}
+        };
+
+        GameBoard board = new GameBoard(transposeBoard(input));
+        Assert.assertFalse(board.hasSixesThreat(0, false));
+        assertEquals(EMPTY, board.getSixesThreat(0, false));
+
+        //Fifth GameTile of a type makes a Hazard, which can be completed
+        board.placeTileOnBoard(T_SUN, new Position(4, 0));
+        Assert.assertTrue(board.hasSixesThreat(0, false));
+        Assert.assertTrue(board.isSixesCompletable(0, false));
+        assertEquals(T_SUN, board.getSixesThreat(0, false));
+        Assert.assertFalse(board.hasSixesThreat(4, true));
+        Assert.assertTrue(board.isSixesBlockingTile(T_STAR, 0, false));
+        Assert.assertFalse(board.isSixesBlockingTile(T_SUN, 0, false));
+
+        //Blocked Hazard stays a Hazard, but cannot be completed anymore
+        board.placeTileOnBoard(T_STAR, new Position(5, 0));
+        Assert.assertTrue(board.hasSixesThreat(0, false));
+        Assert.assertFalse(board.isSixesCompletable(0, false));
+        Assert.assertFalse(board.isSixesBlockingTile(T_STAR, 0, false));
+
+        //Sixth GameTile of a type or removing one of five resolves Hazard
+        board.placeTileOnBoard(T_SUN, new Position(5, 0));
+        Assert.assertFalse(board.hasSixesThreat(0, false));
+        board.placeTileOnBoard(EMPTY, new Position(5, 0));
+        Assert.assertTrue(board.hasSixesThreat(0, false));
+        board.placeTileOnBoard(EMPTY, new Position(0, 0));
+        Assert.assertFalse(board.hasSixesThreat(0, false));
+    }
+
+    @Test
+    public void sixesThreat_equalsPoints_test() {
+        GameBoard board = new GameBoard(6);
+        Random random = new Random(7);
+
+        //Threat index agrees with rescoring segments after random placements
+        for (int i = 0; i < 500; i++) {
+            board.placeTileOnBoard(GameTiles.values()[random.nextInt(7)],
+                    new Position(random.nextInt(6), random.nextInt(6)));
+
+            for (int segment = 0; segment < 6; segment++) {
+                for (boolean isVertical : new boolean[]{true, false}) {
+                    assertEquals(Game.calculatePoints(board.getTilesPerSegment(segment, isVertical)) == 7,
+                            board.hasSixesThreat(segment, isVertical));
+                }
+            }
+        }
+
+        //Copies keep the threat index
+        GameBoard copy = new GameBoard(board);
+        for (int segment = 0; segment < 6; segment++) {
+            assertEquals(board.getSixesThreat(segment, true), copy.getSixesThreat(segment, true));
+            assertEquals(board.getSixesThreat(segment, false), copy.getSixesThreat(segment, false));
+        }
+    }
 }
@@ -0,0 +1,245 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static logic.GameTiles.EMPTY;
+import static logic.GameTiles.T_CROSS;
+import static logic.GameTiles.T_STAR;
+import static logic.GameTiles.T_SUN;
+import static logic.GameTiles.T_TRIANGLE;
+import static logic.GameTiles.WC_MOVER;
+import static logic.GameTiles.WC_REMOVER;
+import static logic.GameTiles.WC_SWAPONBOARD;
+import static logic.GameTiles.WC_SWAPWITHHAND;
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+
+public class GameEngineTests {
+
+    /**
+     * Creates a GameEngine with 2 human players and predefined hands and tileBag.
+     *
+     * @param board    predefined gameBoard
+     * @param hand0    playerHand of player 0
+     * @param hand1    playerHand of player 1
+     * @param tiles    tileBag content
+     * @param observer observer
+     * @return GameEngine
+     */
+    private static GameEngine createEngine(int[][] board, int[] hand0, int[] hand1,
+                                           List<GameTiles> tiles, GameObserver observer) {
+        Player[] players = new Player[]{
+                new Player("P0", true, false, hand0),
+                new Player("P1", true, false, hand1),
+                new Player("P2", false, false, new int[]{}),
+                new Player("P3", false, false, new int[]{})
+        };
+
+        return new GameEngine(new GameBoard(transposeBoard(board)), players,
+                new TileBag(tiles, false), observer);
+    }
+
+    @Test
+    public void playBasic_test() {
+        GameEngine engine = createEngine(new int[6][6], new int[]{1, 2, 3, 4}, new int[]{1, 2, 3, 4},
+                List.of(T_STAR), null);
+
+        Assert.assertTrue(engine.playBasic(1, new Position(2, 3)));
+        assertEquals(T_CROSS, engine.getBoard().getGameTileAt(new Position(2, 3)));
+        assertEquals(List.of(T_SUN, T_STAR, T_TRIANGLE, GameTiles.T_SQUARE), engine.getPlayer(0).getHand());
+        assertEquals(1, engine.getCurrentPlayer());
+
+        //Occupied Position and invalid handSlot are rejected without state change
+        Assert.assertFalse(engine.playBasic(0, new Position(2, 3)));
+        Assert.assertFalse(engine.playBasic(4, new Position(0, 0)));
+        Assert.assertFalse(engine.playBasic(0, new Position(6, 0)));
+        assertEquals(1, engine.getCurrentPlayer());
+        assertEquals(1, engine.getBoard().usedSpaces());
+    }
+
+    @Test
+    public void playWildcards_test() {
+        int[][] board = new int[][]{
+                {1, 2, 0, 0, 0, 0},
+                {0, 3, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0}
+        };
+        int[] hand = new int[]{7, 8, 9, 10};
+        GameEngine engine = createEngine(board, hand, hand.clone(),
+                List.of(T_STAR, T_STAR, T_STAR, T_STAR, T_STAR, T_STAR), null);
+
+        //REMOVER puts removed GameTile into playerHand
+        Assert.assertFalse(engine.playRemover(0, new Position(5, 5)));
+        Assert.assertTrue(engine.playRemover(0, new Position(1, 0)));
+        assertEquals(EMPTY, engine.getBoard().getGameTileAt(new Position(1, 0)));
+        assertEquals(T_CROSS, engine.getPlayer(0).getGameTileAt(0));
+
+        //MOVER leaves source EMPTY
+        Assert.assertFalse(engine.playMover(0, new Position(0, 0), new Position(1, 1)));
+        Assert.assertTrue(engine.playMover(1, new Position(0, 0), new Position(5, 5)));
+        assertEquals(EMPTY, engine.getBoard().getGameTileAt(new Position(0, 0)));
+        assertEquals(T_SUN, engine.getBoard().getGameTileAt(new Position(5, 5)));
+        assertEquals(T_STAR, engine.getPlayer(1).getGameTileAt(1));
+
+        //SWAPONBOARD swaps both GameTiles
+        Assert.assertTrue(engine.playSwapOnBoard(2, new Position(1, 1), new Position(5, 5)));
+        assertEquals(T_SUN, engine.getBoard().getGameTileAt(new Position(1, 1)));
+        assertEquals(T_TRIANGLE, engine.getBoard().getGameTileAt(new Position(5, 5)));
+
+        //SWAPWITHHAND: only the wildcard is refilled, swapped GameTile goes to its handSlot
+        Assert.assertFalse(engine.playSwapWithHand(3, 0, new Position(1, 1)));
+        Assert.assertTrue(engine.playSwapWithHand(3, 3, new Position(1, 1)));
+        assertEquals(T_STAR, engine.getBoard().getGameTileAt(new Position(1, 1)));
+        assertEquals(T_SUN, engine.getPlayer(1).getGameTileAt(3));
+
+        assertEquals(0, engine.getCurrentPlayer());
+        Assert.assertArrayEquals(new int[]{1, 1, 1, 1}, engine.getUsedWildcards());
+    }
+
+    @Test
+    public void winOfSixes_endsGame_test() {
+        int[][] board = new int[][]{
+                {1, 1, 1, 1, 1, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0}
+        };
+
+        List<GameStates> endStates = new ArrayList<>();
+        GameObserver observer = new GameObserver() {
+            @Override
+            public void onGameEnd(GameStates state, int[] teamPoints) {
+                endStates.add(state);
+            }
+        };
+
+        GameEngine engine = createEngine(board, new int[]{1, 2, 3, 4}, new int[]{1, 2, 3, 4},
+                List.of(), observer);
+
+        Assert.assertTrue(engine.playBasic(0, new Position(5, 0)));
+        assertEquals(GameStates.TEAM_HORIZONTAL, engine.getState());
+        assertEquals(List.of(GameStates.TEAM_HORIZONTAL), endStates);
+        assertEquals(EMPTY, engine.getPlayer(0).getGameTileAt(0));
+
+        //No further turns after game end
+        Assert.assertFalse(engine.playBasic(1, new Position(3, 3)));
+    }
+
+    @Test
+    public void playToEnd_selfPlay_test() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new AI_Player("AI_" + i, true, true, Utilities.isVerticalTeam(i));
+        }
+
+        int[] turns = new int[1];
+        GameObserver observer = new GameObserver() {
+            @Override
+            public void onTurnCompleted(int playerIdx, int nextPlayer) {
+                turns[0]++;
+            }
+        };
+
+        GameEngine engine = new GameEngine(6, players, observer);
+        GameStates state = engine.playToEnd();
+
+        Assert.assertNotEquals(GameStates.ONGOING_GAME, state);
+        Assert.assertTrue(turns[0] > 0);
+
+        //No GameTile gets lost: gameBoard + playerHands + tileBag + used wildcards
+        int tiles = engine.getBoard().usedSpaces() + engine.getTileBag().getTileBagSize()
+                + Arrays.stream(engine.getUsedWildcards()).sum();
+        for (int i = 0; i < players.length; i++) {
+            tiles += (int) engine.getPlayer(i).getHand().stream().filter(tile -> tile != EMPTY).count();
+        }
+        assertEquals(GameTiles.STANDARD_GAMETILES_TYPES * GameTiles.STANDARD_GAMETILES_COUNT
+                + GameTiles.WILDCARDS_TYPES * GameTiles.WILDCARDS_COUNT, tiles);
+    }
+
+    @Test
+    public void playToEnd_seeded_test() {
+        GameEngine[] engines = new GameEngine[2];
+        for (int i = 0; i < engines.length; i++) {
+            Player[] players = new Player[4];
+            for (int j = 0; j < players.length; j++) {
+                players[j] = new AI_Player("AI_" + j, true, true, Utilities.isVerticalTeam(j));
+            }
+            engines[i] = new GameEngine(6, players, 1234L, null);
+            engines[i].playToEnd();
+        }
+
+        //Equal seeds result in equal games
+        assertEquals(engines[0].getState(), engines[1].getState());
+        assertEquals(engines[0].getBoard().getZobristKey(), engines[1].getBoard().getZobristKey());
+        Assert.assertArrayEquals(engines[0].getUsedWildcards(), engines[1].getUsedWildcards());
+    }
+
+    @Test
+    public void playAITurn_timed_test() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < players.length; i++) {
+            AI_Player player = new AI_Player("AI_" + i, i < 2, true, Utilities.isVerticalTeam(i));
+            player.setLookahead(3, Long.MAX_VALUE, 60_000);
+            players[i] = player;
+        }
+        GameEngine engine = new GameEngine(6, players, 77L, null);
+
+        //Every turn is limited to 20 ms, game still ends regularly
+        int turns = 1;
+        while (engine.playAITurn(20) == GameStates.ONGOING_GAME) {
+            turns++;
+        }
+        Assert.assertTrue(turns >= 6);
+        Assert.assertNotEquals(GameStates.ONGOING_GAME, engine.getState());
+    }
+
+    @Test
+    public void unseenTiles_test() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new AI_Player("AI_" + i, true, true, Utilities.isVerticalTeam(i));
+        }
+        GameEngine engine = new GameEngine(6, players, 31L, null);
+
+        do {
+            //Updated inventory equals counting the whole game
+            for (int i = 0; i < players.length; i++) {
+                TileInventory counted = new TileInventory();
+                counted.removeBoard(engine.getBoard());
+                counted.removeUsedWildcards(engine.getUsedWildcards());
+                counted.removeAll(engine.getPlayer(i).getHand());
+
+                Assert.assertArrayEquals(counted.toOrdinals(), engine.getUnseenTiles(i).toOrdinals());
+            }
+        } while (engine.playAITurn() == GameStates.ONGOING_GAME);
+    }
+
+    @Test
+    public void playToEnd_endgameSolver_test() {
+        Player[] players = new Player[4];
+        EndgameSolver[] solvers = new EndgameSolver[players.length];
+        for (int i = 0; i < players.length; i++) {
+            AI_Player player = new AI_Player("AI_" + i, true, true, Utilities.isVerticalTeam(i));
+            solvers[i] = new EndgameSolver(200_000, 2_000);
+            player.setEndgameSolver(solvers[i]);
+            players[i] = player;
+        }
+        GameEngine engine = new GameEngine(6, players, 5L, null);
+        GameStates state = engine.playToEnd();
+
+        //Solver decided the turns after the tileBag was exhausted
+        Assert.assertNotEquals(GameStates.ONGOING_GAME, state);
+        assertEquals(0, engine.getTileBag().getTileBagSize());
+        Assert.assertTrue(Arrays.stream(solvers).anyMatch(solver -> solver.getAssignments() > 0));
+    }
+}
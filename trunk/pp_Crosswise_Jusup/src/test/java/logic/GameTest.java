@@ -4,7 +4,11 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static logic.Utilities.transposeBoard;
 import static org.junit.Assert.assertEquals;
@@ -520,14 +524,110 @@ public class GameTest {
             throw new RuntimeException(e);
         }
 
-        Integer[] reconstructed = game.getRemainingGameTiles();
-        Arrays.sort(reconstructed);
-
-        Integer[] expected = Arrays.stream(gameData.getTileBag()).sorted().boxed().toArray(Integer[]::new);
-        Arrays.sort(expected);
+        int[] reconstructed = game.getRemainingGameTiles();
+        int[] expected = Arrays.stream(gameData.getTileBag()).sorted().toArray();
 
         Assert.assertArrayEquals(expected, reconstructed);
     }
 
+    //AI Turns::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::::
 
+    @Test
+    public void forceTurnAI_test() throws Exception {
+        int[][] testBoard = new int[][]{
+                {0, 0, 0},
+                {0, 0, 0},
+                {0, 0, 0}
+        };
+        Player[] players = new Player[4];
+        players[0] = new AI_Player("dummyAI1", true, true, true);
+        players[1] = new AI_Player("dummyAI2", true, true, false);
+        players[2] = new Player("dummyPlayer3", false, false);
+        players[3] = new Player("dummyPlayer4", false, false);
+
+        TileBag tileBag = new TileBag(Collections.nCopies(9, GameTiles.T_SUN), false);
+        Game game = new Game(testBoard, players, 0, tileBag, new FakeGUI());
+
+        //Turn is played, once the background evaluation has finished
+        game.forceTurnAI().get(10, TimeUnit.SECONDS);
+        long usedSpaces = Arrays.stream(game.toGameData().getField()).flatMapToInt(Arrays::stream)
+                .filter(tile -> tile != 0).count();
+        assertEquals(1, usedSpaces);
+
+        //No AI turn is due after the game has stopped
+        game.stopOldGame();
+        Assert.assertTrue(game.forceTurnAI().isDone());
+    }
+
+    @Test
+    public void stopOldGame_cancelsAI_test() throws Exception {
+        Player[] players = new Player[4];
+        CountDownLatch started = new CountDownLatch(1);
+        AI_Player slowAI = new AI_Player("slowAI", true, true, true) {
+            @Override
+            PossibleTurn evaluateToBestTurn(GameBoard gameBoard) {
+                started.countDown();
+                return super.evaluateToBestTurn(gameBoard);
+            }
+        };
+        slowAI.setLookahead(8, Long.MAX_VALUE, 60_000);
+        players[0] = slowAI;
+        players[1] = new Player("dummyPlayer2", true, false);
+        players[2] = new Player("dummyPlayer3", true, false);
+        players[3] = new Player("dummyPlayer4", true, false);
+        Game game = new Game(new int[6][6], players, 0, new TileBag(), new FakeGUI());
+
+        //Evaluation has started, before it is cancelled
+        Future<?> decision = game.forceTurnAI();
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        game.stopOldGame();
+        Assert.assertTrue(decision.isCancelled());
+
+        //Cancelled search frees the AI thread promptly, so the decision of a new game is played
+        Player[] newPlayers = new Player[4];
+        newPlayers[0] = new AI_Player("dummyAI1", true, true, true);
+        newPlayers[1] = new AI_Player("dummyAI2", true, true, false);
+        newPlayers[2] = new Player("dummyPlayer3", false, false);
+        newPlayers[3] = new Player("dummyPlayer4", false, false);
+        Game newGame = new Game(new int[3][3], newPlayers, 0, new TileBag(), new FakeGUI());
+        newGame.forceTurnAI().get(10, TimeUnit.SECONDS);
+
+        //Cancelled turn was never played
+        Assert.assertTrue(Arrays.stream(game.toGameData().getField()).flatMapToInt(Arrays::stream)
+                .allMatch(tile -> tile == 0));
+    }
+
+    @Test
+    public void forceTurnAI_noTurn_endsGame_test() throws Exception {
+        GameStates[] result = new GameStates[1];
+        FakeGUI gui = new FakeGUI() {
+            @Override
+            public void onGameEnd(String[] playerNamesT1, String[] playerNamesT2, int[] teamPoints,
+                                  GameStates winnerTeam) {
+                result[0] = winnerTeam;
+            }
+        };
+
+        //AI, which refuses every turn
+        Player[] players = new Player[4];
+        players[0] = new AI_Player("stuckAI", true, true, true) {
+            @Override
+            PossibleTurn evaluateToBestTurn(GameBoard gameBoard) {
+                return null;
+            }
+        };
+        players[1] = new Player("dummyPlayer2", true, false);
+        players[2] = new Player("dummyPlayer3", false, false);
+        players[3] = new Player("dummyPlayer4", false, false);
+        int[][] board = new int[3][3];
+        board[0][0] = GameTiles.T_SUN.ordinal();
+        board[0][1] = GameTiles.T_SUN.ordinal();
+        Game game = new Game(board, players, 0, new TileBag(), gui);
+
+        game.forceTurnAI().get(10, TimeUnit.SECONDS);
+
+        //Game ends instead of stalling, no further AI turn is due
+        assertEquals(GameStates.TEAM_VERTICAL, result[0]);
+        Assert.assertTrue(game.forceTurnAI().isDone());
+    }
 }
@@ -0,0 +1,95 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the IsmctsSearch.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class IsmctsSearchTests {
+
+    /**
+     * Column 0 is one SUN away from a WinOfSixes for team vertical
+     */
+    private static final int[][] WIN_BOARD = {
+            {1, 0, 0, 0, 0, 0},
+            {1, 0, 0, 0, 0, 0},
+            {1, 0, 0, 0, 0, 0},
+            {1, 0, 0, 0, 0, 0},
+            {1, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0}
+    };
+
+    private static final List<GameTiles> WIN_HAND =
+            List.of(GameTiles.T_STAR, GameTiles.T_SUN, GameTiles.T_CROSS, GameTiles.T_TRIANGLE);
+
+    @Test
+    public void winOfSixes_test() {
+        GameBoard board = new GameBoard(transposeBoard(WIN_BOARD));
+        long key = board.getZobristKey();
+        IsmctsSearch search = new IsmctsSearch(2000, 10_000, 42L);
+
+        long move = search.search(board, WIN_HAND, 0, new int[]{4, 4}, new int[4]);
+        assertEquals(MoveGenerator.TYPE_BASIC, MoveGenerator.type(move));
+        assertEquals(new Position(0, 5), new Position(MoveGenerator.toColumn(move), MoveGenerator.toRow(move)));
+        assertEquals(1, MoveGenerator.handSlot(move));
+        assertEquals(2000, search.getPlayouts());
+
+        //gameBoard is not manipulated by search
+        assertEquals(key, board.getZobristKey());
+    }
+
+    @Test
+    public void seeded_test() {
+        GameBoard board = new GameBoard(transposeBoard(WIN_BOARD));
+        long[] moves = new long[2];
+
+        //Equal seeds result in equal searches
+        for (int i = 0; i < moves.length; i++) {
+            IsmctsSearch search = new IsmctsSearch(300, 10_000, 7L);
+            moves[i] = search.search(board, WIN_HAND, 1, new int[]{4, 4, 4, 4}, new int[4]);
+        }
+        assertEquals(moves[0], moves[1]);
+    }
+
+    @Test
+    public void timeBudget_test() {
+        GameBoard board = new GameBoard(6);
+        IsmctsSearch search = new IsmctsSearch(Integer.MAX_VALUE, 50, 1L);
+
+        long start = System.nanoTime();
+        long move = search.search(board, WIN_HAND, 0, new int[]{4, 4}, new int[4]);
+        Assert.assertNotEquals(IsmctsSearch.NO_MOVE, move);
+        Assert.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        Assert.assertTrue(search.getPlayouts() > 0);
+    }
+
+    @Test
+    public void playSearchTurn_test() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player("P" + i, true, true);
+        }
+        GameEngine engine = new GameEngine(6, players, 99L, null);
+        IsmctsSearch search = new IsmctsSearch(50, 10_000, 5L);
+
+        while (engine.playSearchTurn(search) == GameStates.ONGOING_GAME) {
+            //No GameTiles are lost or created
+            int tiles = engine.getBoard().usedSpaces() + engine.getTileBag().getTileBag().size()
+                    + Arrays.stream(engine.getUsedWildcards()).sum();
+            for (int i = 0; i < players.length; i++) {
+                tiles += (int) players[i].getHand().stream().filter(tile -> tile != GameTiles.EMPTY).count();
+            }
+            assertEquals(54, tiles);
+        }
+        Assert.assertNotEquals(GameStates.ONGOING_GAME, engine.getState());
+    }
+}
@@ -0,0 +1,167 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+
+public class MoveGeneratorTests {
+
+    @Test
+    public void pack_roundTrip_test() {
+        long move = MoveGenerator.pack(MoveGenerator.TYPE_SWAPONBOARD, 15, 3, 7, 15, 3,
+                GameTiles.T_STAR, GameTiles.T_SUN, 13, Integer.MAX_VALUE, -42);
+
+        assertEquals(MoveGenerator.TYPE_SWAPONBOARD, MoveGenerator.type(move));
+        assertEquals(15, MoveGenerator.toColumn(move));
+        assertEquals(3, MoveGenerator.toRow(move));
+        Assert.assertTrue(MoveGenerator.hasFrom(move));
+        assertEquals(7, MoveGenerator.fromColumn(move));
+        assertEquals(15, MoveGenerator.fromRow(move));
+        assertEquals(3, MoveGenerator.handSlot(move));
+        assertEquals(GameTiles.T_STAR, MoveGenerator.toPlace(move));
+        assertEquals(GameTiles.T_SUN, MoveGenerator.toSwap(move));
+        assertEquals(13, MoveGenerator.pointsTeam(move));
+        assertEquals(Integer.MAX_VALUE, MoveGenerator.pointsOpponent(move));
+        assertEquals(-42, MoveGenerator.gain(move));
+        assertEquals(GameTiles.WC_SWAPONBOARD, MoveGenerator.wildcard(move));
+    }
+
+    @Test
+    public void pack_noCellNoTile_saturatedGain_test() {
+        long move = MoveGenerator.pack(MoveGenerator.TYPE_BASIC, 0, 0, -1, -1, 0,
+                GameTiles.T_SUN, null, Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+
+        Assert.assertFalse(MoveGenerator.hasFrom(move));
+        Assert.assertNull(MoveGenerator.toSwap(move));
+        Assert.assertNull(MoveGenerator.wildcard(move));
+        assertEquals(Integer.MAX_VALUE, MoveGenerator.pointsTeam(move));
+        assertEquals(MoveGenerator.GAIN_LIMIT, MoveGenerator.gain(move));
+
+        move = MoveGenerator.pack(MoveGenerator.TYPE_BASIC, 0, 0, -1, -1, 0,
+                GameTiles.T_SUN, null, 0, 0, Integer.MIN_VALUE);
+        assertEquals(-MoveGenerator.GAIN_LIMIT, MoveGenerator.gain(move));
+        assertEquals(0, MoveGenerator.pointsTeam(move));
+    }
+
+    @Test
+    public void generate_matchesListTurns_test() {
+        int[][] input = new int[][]{
+                {1, 4, 0, 5, 0, 6},
+                {2, 5, 1, 0, 0, 4},
+                {0, 4, 0, 4, 3, 0},
+                {5, 2, 0, 2, 3, 0},
+                {2, 2, 1, 5, 6, 5},
+                {0, 1, 0, 4, 0, 0}
+        };
+
+        GameBoard board = new GameBoard(transposeBoard(input));
+        int[] hand = new int[]{3, 7, 8, 10};
+
+        for (boolean isVerticalTeam : new boolean[]{true, false}) {
+            AI_Player player = new AI_Player("AI", true, true, hand, isVerticalTeam);
+            player.setBoard(board);
+
+            MoveGenerator generator = new MoveGenerator(isVerticalTeam);
+            List<GameTiles> playerHand = player.getHand();
+
+            for (int i = 0; i < playerHand.size(); i++) {
+                generator.reset(board, new TurnScorer(board));
+                generator.generate(playerHand.get(i), i, playerHand);
+
+                List<PossibleTurn> expected = switch (playerHand.get(i)) {
+                    case WC_REMOVER -> player.allWildcardTurns_REMOVER(i, board.getGameBoard());
+                    case WC_MOVER -> player.allWildcardTurns_MOVER(i, board.getGameBoard());
+                    case WC_SWAPWITHHAND -> player.allWildcardTurns_SWAPWITHHAND(board.getGameBoard());
+                    default -> player.getAllTurns_basic(playerHand.get(i), i);
+                };
+
+                assertEquals(expected.size(), generator.size());
+                for (int j = 0; j < expected.size(); j++) {
+                    assertEquals(expected.get(j), MoveGenerator.toPossibleTurn(generator.get(j)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keepOnly_test() {
+        GameBoard board = new GameBoard(3);
+        MoveGenerator generator = new MoveGenerator(true);
+        generator.reset(board, new TurnScorer(board));
+
+        generator.generate(GameTiles.T_SUN, 0, List.of(GameTiles.T_SUN));
+        generator.generate(GameTiles.T_CROSS, 1, List.of(GameTiles.T_CROSS));
+        assertEquals(18, generator.size());
+
+        long kept = generator.get(13);
+        generator.keepOnly(9, 13);
+        assertEquals(10, generator.size());
+        assertEquals(kept, generator.get(9));
+
+        //Wildcards cannot be played on an EMPTY gameBoard
+        generator.reset(board, new TurnScorer(board));
+        generator.generate(GameTiles.WC_REMOVER, 0, List.of(GameTiles.WC_REMOVER));
+        assertEquals(0, generator.size());
+    }
+
+    @Test
+    public void cornerCell_hasFrom_test() {
+        int corner = MoveGenerator.MAX_SIZE - 1;
+        Assert.assertTrue(MoveGenerator.supports(MoveGenerator.MAX_SIZE));
+        //Cell (15,15) would be packed to NO_CELL
+        Assert.assertFalse(MoveGenerator.supports(MoveGenerator.CELL_BASE));
+
+        long move = MoveGenerator.pack(MoveGenerator.TYPE_MOVER, 0, 0, corner, corner, 0,
+                GameTiles.T_SUN, null, 0, 0, 0);
+        Assert.assertTrue(MoveGenerator.hasFrom(move));
+        assertEquals(corner, MoveGenerator.fromColumn(move));
+        assertEquals(corner, MoveGenerator.fromRow(move));
+
+        move = MoveGenerator.withCells(move, corner, corner, 1, 2);
+        Assert.assertTrue(MoveGenerator.hasFrom(move));
+        assertEquals(corner, MoveGenerator.toColumn(move));
+        assertEquals(corner, MoveGenerator.toRow(move));
+        assertEquals(new Position(1, 2), MoveGenerator.toPossibleTurn(move).lastPosition());
+
+        //MOVER from the corner of the biggest supported gameBoard keeps its last cell
+        GameBoard board = new GameBoard(MoveGenerator.MAX_SIZE);
+        board.placeTileOnBoard(GameTiles.T_STAR, new Position(corner, corner));
+        MoveGenerator generator = new MoveGenerator(true);
+        generator.reset(board, new TurnScorer(board));
+        generator.generate(GameTiles.WC_MOVER, 0, List.of(GameTiles.WC_MOVER));
+
+        Assert.assertTrue(generator.size() > 0);
+        for (int i = 0; i < generator.size(); i++) {
+            Assert.assertTrue(MoveGenerator.hasFrom(generator.get(i)));
+            assertEquals(corner, MoveGenerator.fromColumn(generator.get(i)));
+            assertEquals(corner, MoveGenerator.fromRow(generator.get(i)));
+        }
+    }
+
+    @Test
+    public void generate_deadline_test() {
+        GameBoard board = new GameBoard(MoveGenerator.MAX_SIZE);
+        board.placeTileOnBoard(GameTiles.T_STAR, new Position(0, 0));
+        board.placeTileOnBoard(GameTiles.T_SUN, new Position(3, 4));
+        MoveGenerator generator = new MoveGenerator(true);
+        generator.reset(board, new TurnScorer(board));
+
+        //Wildcard generation stops within its handSlot, once the deadline has passed
+        long passed = System.nanoTime() - 1;
+        generator.generate(GameTiles.WC_MOVER, 0, List.of(GameTiles.WC_MOVER), passed);
+        generator.generate(GameTiles.WC_SWAPONBOARD, 0, List.of(GameTiles.WC_SWAPONBOARD), passed);
+        assertEquals(0, generator.size());
+
+        //Basic moves are always generated completely
+        generator.generate(GameTiles.T_SUN, 0, List.of(GameTiles.T_SUN), passed);
+        assertEquals(MoveGenerator.MAX_SIZE * MoveGenerator.MAX_SIZE - 2, generator.size());
+
+        generator.reset(board, new TurnScorer(board));
+        generator.generate(GameTiles.WC_MOVER, 0, List.of(GameTiles.WC_MOVER), AI_Player.NO_DEADLINE);
+        assertEquals(2 * (MoveGenerator.MAX_SIZE * MoveGenerator.MAX_SIZE - 2), generator.size());
+    }
+}
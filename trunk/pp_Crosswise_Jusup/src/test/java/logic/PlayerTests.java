@@ -117,4 +117,46 @@ public class PlayerTests {
     }
 
 
+    @Test
+    public void counts_test() {
+        Player player = new Player("dummyName", true, false, new int[]{1, 1, 8, 0});
+
+        Assert.assertEquals(2, player.getNumberOfGameTiles(GameTiles.T_SUN));
+        Assert.assertEquals(1, player.getNumberOfGameTiles(GameTiles.WC_MOVER));
+        Assert.assertEquals(1, player.getNumberOfGameTiles(GameTiles.EMPTY));
+        Assert.assertEquals(2, player.getNumberOfStandardGameTiles());
+
+        //Counts follow removing and adding
+        player.removeGameTileAt(0);
+        player.addGameTileAt(GameTiles.T_STAR, 0);
+        Assert.assertEquals(1, player.getNumberOfGameTiles(GameTiles.T_SUN));
+        Assert.assertEquals(1, player.getNumberOfGameTiles(GameTiles.T_STAR));
+        Assert.assertEquals(2, player.getNumberOfStandardGameTiles());
+
+        player.removeGameTileAt(2);
+        Assert.assertEquals(0, player.getNumberOfGameTiles(GameTiles.WC_MOVER));
+        Assert.assertEquals(-1, player.indexOfGameTile(GameTiles.WC_MOVER));
+        Assert.assertEquals(3, player.getHandSize());
+    }
+
+    @Test
+    public void handView_test() {
+        Player player = new Player("dummyName", true, false, new int[]{1, 2, 3, 4});
+        List<GameTiles> view = player.getHandView();
+
+        Assert.assertEquals(player.getHand(), view);
+
+        //View reflects changes of the playerHand, copy does not
+        List<GameTiles> copy = player.getHand();
+        player.removeGameTileAt(1);
+        player.addGameTileAt(GameTiles.WC_REMOVER, 1);
+        Assert.assertEquals(GameTiles.WC_REMOVER, view.get(1));
+        Assert.assertEquals(GameTiles.T_CROSS, copy.get(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void handView_readOnly_test() {
+        Player player = new Player("dummyName", true, false, new int[]{1, 2, 3, 4});
+        player.getHandView().set(0, GameTiles.T_STAR);
+    }
 }
@@ -0,0 +1,70 @@
+package logic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * PointsTable Test class for testing the precomputed segment points
+ * of the game Crosswise.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class PointsTableTests {
+
+    @Test
+    public void points_test() {
+        assertEquals(0, PointsTable.points(new int[]{0, 0, 0, 0, 0, 0}));
+        assertEquals(6, PointsTable.points(new int[]{1, 1, 1, 1, 1, 1}));
+        assertEquals(1, PointsTable.points(new int[]{2, 1, 1, 1, 1, 0}));
+        assertEquals(3, PointsTable.points(new int[]{0, 3, 0, 1, 0, 0}));
+        assertEquals(6, PointsTable.points(new int[]{0, 0, 4, 0, 0, 2}));
+        assertEquals(7, PointsTable.points(new int[]{0, 0, 0, 0, 5, 1}));
+        assertEquals(6, PointsTable.points(new int[]{3, 3, 0, 0, 0, 0}));
+        assertEquals(Integer.MAX_VALUE, PointsTable.points(new int[]{0, 0, 0, 0, 0, 6}));
+    }
+
+    @Test
+    public void points_allSegmentsOfStandardLength_test() {
+        int[] gameTiles = new int[GameTiles.STANDARD_GAMETILES_TYPES];
+
+        //Every histogram of a segment with length 6 (including EMPTY cells)
+        for (int key = 0; key < 7 * 7 * 7 * 7 * 7 * 7; key++) {
+            int rest = key;
+            int sum = 0;
+            for (int i = 0; i < gameTiles.length; i++) {
+                gameTiles[i] = rest % 7;
+                rest /= 7;
+                sum += gameTiles[i];
+            }
+
+            if (sum <= PointsTable.STANDARD_SEGMENT_LENGTH) {
+                assertEquals(PointsTable.calculatePointsGeneric(gameTiles), PointsTable.points(gameTiles));
+                assertEquals(key, PointsTable.keyOf(gameTiles));
+            }
+        }
+    }
+
+    @Test
+    public void points_nonStandardSize_test() {
+        //Counts above 6 cannot be packed and use generic calculation
+        int[] gameTiles = new int[]{7, 2, 0, 0, 0, 0};
+        assertEquals(-1, PointsTable.keyOf(gameTiles));
+        assertEquals(1, PointsTable.points(gameTiles));
+
+        gameTiles = new int[]{1, 1, 1};
+        assertEquals(-1, PointsTable.keyOf(gameTiles));
+        assertEquals(6, PointsTable.points(gameTiles));
+    }
+
+    @Test
+    public void keyWeight_test() {
+        int[] gameTiles = new int[]{1, 0, 2, 0, 0, 1};
+        int key = PointsTable.keyOf(gameTiles);
+
+        assertEquals(PointsTable.keyOf(new int[]{1, 0, 3, 0, 0, 1}),
+                key + PointsTable.keyWeight(GameTiles.T_TRIANGLE));
+        assertEquals(PointsTable.keyOf(new int[]{0, 0, 2, 0, 0, 1}),
+                key - PointsTable.keyWeight(GameTiles.T_SUN));
+    }
+}
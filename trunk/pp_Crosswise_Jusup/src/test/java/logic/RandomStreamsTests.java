@@ -0,0 +1,60 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests of the RandomStreams.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class RandomStreamsTests {
+
+    @Test
+    public void equalSeeds_test() {
+        RandomStreams first = new RandomStreams(42L);
+        RandomStreams second = new RandomStreams(42L);
+
+        assertEquals(first.bag().nextLong(), second.bag().nextLong());
+        assertEquals(first.worker(3).nextLong(), second.worker(3).nextLong());
+        assertEquals(first.game(7).bag().nextLong(), second.game(7).bag().nextLong());
+
+        //Derived streams do not depend on the order of derivation
+        SplittableRandom worker = first.worker(1);
+        first.worker(0);
+        assertEquals(worker.nextLong(), second.worker(1).nextLong());
+    }
+
+    @Test
+    public void independentStreams_test() {
+        RandomStreams streams = new RandomStreams(42L);
+
+        assertNotEquals(streams.bag().nextLong(), streams.worker(0).nextLong());
+        assertNotEquals(streams.worker(0).nextLong(), streams.worker(1).nextLong());
+        assertNotEquals(streams.game(0).bag().nextLong(), streams.game(1).bag().nextLong());
+        assertNotEquals(streams.bag().nextLong(), streams.game(0).bag().nextLong());
+        assertNotEquals(streams.bag().nextLong(), new RandomStreams(43L).bag().nextLong());
+    }
+
+    @Test
+    public void gameEngine_test() {
+        GameEngine[] engines = new GameEngine[2];
+        for (int i = 0; i < engines.length; i++) {
+            Player[] players = new Player[4];
+            for (int j = 0; j < players.length; j++) {
+                players[j] = new AI_Player("AI_" + j, true, true, Utilities.isVerticalTeam(j));
+            }
+            engines[i] = new GameEngine(6, players, new RandomStreams(9L).game(5), null);
+        }
+
+        //Equal master seed and game index result in equal tileBags and playerHands
+        assertEquals(engines[0].getTileBag().getTileBag(), engines[1].getTileBag().getTileBag());
+        for (int j = 0; j < 4; j++) {
+            assertEquals(engines[0].getPlayer(j).getHand(), engines[1].getPlayer(j).getHand());
+        }
+    }
+}
@@ -2,10 +2,13 @@ package logic;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Public Tile Bag Test for the game Crosswise.
@@ -102,7 +105,7 @@ public class TileBagTest {
     public void existing_tileBagConstructor_test() {
         int[] toFillWith = new int[] {3, 4, 5, 6, 7, 8, 9, 10};
 
-        TileBag tileBag = new TileBag(toFillWith, false);
+        TileBag tileBag = new TileBag(toFillWith);
 
         assertEquals(1, tileBag.getTileBag().stream().filter(tile -> tile.equals(GameTiles.T_SQUARE)).count());
         assertEquals(1, tileBag.getTileBag().stream().filter(tile -> tile.equals(GameTiles.T_TRIANGLE)).count());
@@ -139,4 +142,85 @@ public class TileBagTest {
 
         assertEquals("After Poll", 0, tileBag.getTileBagSize());
     }
+
+    @Test
+    public void seededTileBag_test() {
+        TileBag tileBag = new TileBag(7L);
+
+        assertEquals("Test Tile Bag Size", 54, tileBag.getTileBagSize());
+        assertEquals("Equal seeds", tileBag.getTileBag().stream().toList(),
+                new TileBag(7L).getTileBag().stream().toList());
+    }
+
+    @Test
+    public void tileBagPeek_test() {
+        TileBag tileBag = new TileBag(List.of(GameTiles.T_SUN, GameTiles.WC_MOVER), false);
+
+        assertEquals(GameTiles.T_SUN, tileBag.peek());
+        assertEquals(GameTiles.T_SUN, tileBag.getTile());
+        assertEquals(GameTiles.WC_MOVER, tileBag.peek());
+        assertEquals(GameTiles.WC_MOVER, tileBag.getTile());
+
+        assertNull(tileBag.peek());
+        assertNull(tileBag.getTile());
+        assertEquals(0, tileBag.getTileBagSize());
+    }
+
+    @Test
+    public void tileBagShuffle_test() {
+        TileBag tileBag = new TileBag(1L);
+        tileBag.getTile();
+        int[] before = tileBag.toOrdinals();
+
+        //Shuffle keeps the remaining GameTiles
+        tileBag.shuffle(new Random(2L));
+        int[] after = tileBag.toOrdinals();
+        assertEquals(53, after.length);
+        Arrays.sort(before);
+        Arrays.sort(after);
+        assertArrayEquals(before, after);
+    }
+
+    @Test
+    public void tileBagFork_test() {
+        TileBag tileBag = new TileBag(3L);
+        tileBag.getTile();
+        List<GameTiles> remaining = tileBag.getTileBag();
+
+        //Fork contains the same GameTiles in the same order
+        TileBag fork = tileBag.fork();
+        assertEquals(remaining, fork.getTileBag());
+
+        //Drawing and shuffling the fork does not affect the origin
+        fork.getTile();
+        fork.shuffle(new Random(4L));
+        assertEquals(52, fork.getTileBagSize());
+        assertEquals(remaining, tileBag.getTileBag());
+
+        //Shuffling the origin does not affect another fork
+        TileBag secondFork = tileBag.fork();
+        tileBag.shuffle(new Random(5L));
+        assertEquals(remaining, secondFork.getTileBag());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void tileBagSnapshot_test() {
+        new TileBag().getTileBag().clear();
+    }
+
+    @Test
+    public void loadedTileBag_test() {
+        TileBag tileBag = new TileBag(new int[]{10, 1, 6});
+        assertEquals(List.of(GameTiles.WC_SWAPWITHHAND, GameTiles.T_SUN, GameTiles.T_STAR), tileBag.getTileBag());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadedTileBag_badOrdinal_test() {
+        new TileBag(new int[]{1, 11, 2});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadedTileBag_emptyOrdinal_test() {
+        new TileBag(new int[]{0});
+    }
 }
@@ -0,0 +1,104 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static logic.GameTiles.EMPTY;
+import static logic.GameTiles.T_CROSS;
+import static logic.GameTiles.T_STAR;
+import static logic.GameTiles.T_SUN;
+import static logic.GameTiles.WC_MOVER;
+import static logic.GameTiles.WC_REMOVER;
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the TileInventory.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class TileInventoryTests {
+
+    @Test
+    public void fullInventory_test() {
+        TileInventory inventory = new TileInventory();
+
+        assertEquals(GameTiles.STANDARD_GAMETILES_COUNT, inventory.getCount(T_SUN));
+        assertEquals(GameTiles.WILDCARDS_COUNT, inventory.getCount(WC_MOVER));
+        assertEquals(0, inventory.getCount(EMPTY));
+        assertEquals(42, inventory.getStandardTotal());
+        assertEquals(54, inventory.getTotal());
+        assertEquals(Zobrist.bagKey(new TileBag(1L).getTileBag()), inventory.getKey());
+    }
+
+    @Test
+    public void removeAndAdd_test() {
+        TileInventory inventory = new TileInventory();
+
+        inventory.removeAll(List.of(T_SUN, T_SUN, WC_REMOVER, EMPTY));
+        assertEquals(5, inventory.getCount(T_SUN));
+        assertEquals(2, inventory.getCount(WC_REMOVER));
+        assertEquals(40, inventory.getStandardTotal());
+        assertEquals(51, inventory.getTotal());
+
+        inventory.add(T_SUN);
+        assertEquals(6, inventory.getCount(T_SUN));
+        assertEquals(41, inventory.getStandardTotal());
+
+        //Counts never fall below 0
+        for (int i = 0; i < 10; i++) {
+            inventory.remove(T_STAR);
+        }
+        assertEquals(0, inventory.getCount(T_STAR));
+        assertEquals(34, inventory.getStandardTotal());
+    }
+
+    @Test
+    public void removeBoardAndWildcards_test() {
+        int[][] board = new int[][]{
+                {1, 1, 0},
+                {0, 2, 0},
+                {6, 0, 1}
+        };
+        TileInventory inventory = new TileInventory();
+        inventory.removeBoard(new GameBoard(transposeBoard(board)));
+        inventory.removeUsedWildcards(new int[]{3, 1, 0, 0});
+
+        assertEquals(4, inventory.getCount(T_SUN));
+        assertEquals(6, inventory.getCount(T_CROSS));
+        assertEquals(6, inventory.getCount(T_STAR));
+        assertEquals(0, inventory.getCount(WC_REMOVER));
+        assertEquals(2, inventory.getCount(WC_MOVER));
+        assertEquals(37, inventory.getStandardTotal());
+        assertEquals(45, inventory.getTotal());
+    }
+
+    @Test
+    public void copy_test() {
+        TileInventory inventory = new TileInventory();
+        inventory.remove(T_SUN);
+
+        TileInventory copy = new TileInventory(inventory);
+        copy.remove(T_SUN);
+        assertEquals(6, inventory.getCount(T_SUN));
+        assertEquals(5, copy.getCount(T_SUN));
+
+        copy.copyFrom(inventory);
+        assertEquals(6, copy.getCount(T_SUN));
+        assertEquals(inventory.getTotal(), copy.getTotal());
+    }
+
+    @Test
+    public void toOrdinals_test() {
+        TileInventory inventory = new TileInventory();
+        inventory.clear();
+        inventory.add(WC_MOVER);
+        inventory.add(T_SUN);
+        inventory.add(T_SUN);
+
+        assertArrayEquals(new int[]{1, 1, 8}, inventory.toOrdinals());
+        assertEquals(List.of(T_SUN, T_SUN, WC_MOVER), inventory.toList());
+    }
+}
@@ -0,0 +1,117 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the TranspositionTable.
+ *
+ * @author Jonathan El Jusup (cgt104707)
+ */
+public class TranspositionTableTests {
+
+    @Test
+    public void capacity_test() {
+        //48 bytes per bucket of two entries, rounded down to a power of two
+        assertEquals(2 * 16384, new TranspositionTable(1).getCapacity());
+        assertEquals(2 * 262144, new TranspositionTable(16).getCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacity_invalid_test() {
+        new TranspositionTable(0);
+    }
+
+    @Test
+    public void storeAndProbe_test() {
+        TranspositionTable table = new TranspositionTable(1);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+
+        Assert.assertFalse(table.probe(42L, entry));
+        table.store(42L, 3, TranspositionTable.LOWER, 17, -12.5);
+
+        Assert.assertTrue(table.probe(42L, entry));
+        assertEquals(3, entry.depth);
+        assertEquals(TranspositionTable.LOWER, entry.bound);
+        assertEquals(17, entry.bestMove);
+        assertEquals(-12.5, entry.score, 0);
+
+        assertEquals(1, table.getHits());
+        assertEquals(1, table.getMisses());
+        assertEquals(0, table.getCollisions());
+    }
+
+    @Test
+    public void replacement_test() {
+        TranspositionTable table = new TranspositionTable(1);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        long buckets = table.getCapacity() / 2;
+
+        //Three positions of the same bucket
+        long deep = 5L;
+        long shallow = 5L + buckets;
+        long other = 5L + 2 * buckets;
+
+        table.store(deep, 4, TranspositionTable.EXACT, 1, 1.0);
+        table.store(shallow, 1, TranspositionTable.EXACT, 2, 2.0);
+        Assert.assertTrue(table.probe(deep, entry));
+        Assert.assertTrue(table.probe(shallow, entry));
+        assertEquals(0, table.getCollisions());
+
+        //Shallow search replaces the replace-always entry, deep entry is kept
+        table.store(other, 2, TranspositionTable.EXACT, 3, 3.0);
+        Assert.assertTrue(table.probe(deep, entry));
+        Assert.assertFalse(table.probe(shallow, entry));
+        Assert.assertTrue(table.probe(other, entry));
+        assertEquals(1, table.getCollisions());
+
+        //Deeper search replaces the depth-preferred entry
+        table.store(shallow, 6, TranspositionTable.UPPER, 4, 4.0);
+        Assert.assertFalse(table.probe(deep, entry));
+        Assert.assertTrue(table.probe(shallow, entry));
+        assertEquals(6, entry.depth);
+        assertEquals(2, table.getCollisions());
+
+        table.clear();
+        Assert.assertFalse(table.probe(shallow, entry));
+        assertEquals(0, table.getHits());
+    }
+
+    @Test
+    public void concurrentStores_test() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        long buckets = table.getCapacity() / 2;
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+
+        //All threads write the same few buckets, probes must never see a mixed entry
+        for (int t = 0; t < 4; t++) {
+            long hashBase = t;
+            Thread thread = new Thread(() -> {
+                TranspositionTable.Entry entry = new TranspositionTable.Entry();
+                for (int i = 0; i < 100_000; i++) {
+                    long hash = hashBase + (i % 8) * buckets;
+                    table.store(hash, (int) (hash % 200), TranspositionTable.EXACT, (int) (hash % 256), hash);
+                    if (table.probe(hash, entry)
+                            && (entry.score != hash || entry.depth != hash % 200 || entry.bestMove != hash % 256)) {
+                        synchronized (errors) {
+                            errors.add(new AssertionError("Torn entry of " + hash));
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertTrue(errors.isEmpty());
+    }
+}
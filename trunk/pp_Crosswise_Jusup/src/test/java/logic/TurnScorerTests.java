@@ -0,0 +1,140 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static logic.GameTiles.T_CROSS;
+import static logic.GameTiles.T_SUN;
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+
+public class TurnScorerTests {
+
+    /**
+     * Creates a random gameBoard with EMPTY and standard GameTiles.
+     *
+     * @param size   gameBoard size
+     * @param random random generator
+     * @return random gameBoard
+     */
+    private static GameBoard randomBoard(int size, Random random) {
+        GameBoard board = new GameBoard(size);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                board.placeTileOnBoard(GameTiles.values()[random.nextInt(GameTiles.STANDARD_GAMETILES_TYPES + 1)],
+                        new Position(x, y));
+            }
+        }
+
+        return board;
+    }
+
+    /**
+     * Scores a segment by recalculating it from the gameBoard.
+     *
+     * @param board      gameBoard
+     * @param segment    segment Index
+     * @param isVertical isVertical Flag, if Column or Row
+     * @return points of segment
+     */
+    private static int recalculated(GameBoard board, int segment, boolean isVertical) {
+        return Game.calculatePoints(board.getTilesPerSegment(segment, isVertical));
+    }
+
+    @Test
+    public void currentPoints_test() {
+        int[][] input = new int[][]{
+                {1, 1, 1, 0, 0, 0},
+                {1, 2, 3, 4, 5, 6},
+                {2, 0, 0, 0, 0, 0},
+                {3, 0, 0, 0, 0, 0},
+                {4, 0, 0, 0, 0, 0},
+                {5, 0, 0, 0, 0, 0}
+        };
+
+        TurnScorer scorer = new TurnScorer(new GameBoard(transposeBoard(input)));
+
+        assertEquals(3, scorer.currentPoints(0, false));
+        assertEquals(6, scorer.currentPoints(1, false));
+        assertEquals(1, scorer.currentPoints(0, true));
+        assertEquals(0, scorer.currentPoints(2, false));
+    }
+
+    @Test
+    public void pointsAfterPlacement_winOfSixes_test() {
+        int[][] input = new int[][]{
+                {1, 1, 1, 1, 1, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0},
+                {0, 0, 0, 0, 0, 0}
+        };
+
+        GameBoard board = new GameBoard(transposeBoard(input));
+        TurnScorer scorer = new TurnScorer(board);
+
+        assertEquals(Integer.MAX_VALUE, scorer.pointsAfterPlacement(T_SUN, 5, 0, false));
+        assertEquals(7, scorer.pointsAfterPlacement(T_CROSS, 5, 0, false));
+        assertEquals(0, scorer.pointsAfterPlacement(T_SUN, 5, 0, true));
+        assertEquals(5, scorer.pointsAfterRemove(0, 0, false));
+
+        //Scoring never manipulates the gameBoard
+        assertEquals(5, board.usedSpaces());
+    }
+
+    @Test
+    public void pointsAfter_matchesRecalculation_test() {
+        Random random = new Random(42);
+
+        for (int size : new int[]{3, 6, 9}) {
+            GameBoard board = randomBoard(size, random);
+            TurnScorer scorer = new TurnScorer(board);
+
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    for (boolean isVertical : new boolean[]{true, false}) {
+                        int segment = isVertical ? x : y;
+
+                        long token = board.applyPlacement(T_CROSS, x, y);
+                        int expected = recalculated(board, segment, isVertical);
+                        board.undo(token);
+                        assertEquals(expected, scorer.pointsAfterPlacement(T_CROSS, x, y, isVertical));
+
+                        token = board.applyRemove(x, y);
+                        expected = recalculated(board, segment, isVertical);
+                        board.undo(token);
+                        assertEquals(expected, scorer.pointsAfterRemove(x, y, isVertical));
+                    }
+
+                    //Moves and swaps with a second cell on every position, scored on all segments
+                    for (int x2 = 0; x2 < size; x2++) {
+                        for (int y2 = 0; y2 < size; y2++) {
+                            if (x == x2 && y == y2) {
+                                continue;
+                            }
+
+                            for (int segment = 0; segment < size; segment++) {
+                                for (boolean isVertical : new boolean[]{true, false}) {
+                                    long token = board.applySwap(x, y, x2, y2);
+                                    int expected = recalculated(board, segment, isVertical);
+                                    board.undo(token);
+                                    assertEquals(expected, scorer.pointsAfterSwap(x, y, x2, y2, segment, isVertical));
+
+                                    if (board.isFreeAt(new Position(x2, y2))) {
+                                        token = board.applyMove(x, y, x2, y2);
+                                        expected = recalculated(board, segment, isVertical);
+                                        board.undo(token);
+                                        assertEquals(expected,
+                                                scorer.pointsAfterMove(x, y, x2, y2, segment, isVertical));
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
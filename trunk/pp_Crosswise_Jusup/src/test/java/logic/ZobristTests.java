@@ -0,0 +1,105 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static logic.GameTiles.EMPTY;
+import static logic.GameTiles.T_CROSS;
+import static logic.GameTiles.T_STAR;
+import static logic.GameTiles.T_SUN;
+import static logic.GameTiles.WC_MOVER;
+import static logic.Utilities.transposeBoard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ZobristTests {
+
+    @Test
+    public void emptyBoard_test() {
+        assertEquals(0, new GameBoard(6).getZobristKey());
+        assertEquals(0, new GameBoard(20).getZobristKey());
+        assertEquals(0, Zobrist.tileKey(3, 4, EMPTY));
+    }
+
+    @Test
+    public void sameBoard_sameKey_test() {
+        int[][] input = new int[][]{
+                {1, 2, 0},
+                {0, 3, 0},
+                {4, 0, 5}
+        };
+
+        GameBoard loaded = new GameBoard(transposeBoard(input));
+
+        //Same GameTiles placed in a different order, with an intermediate GameTile
+        GameBoard placed = new GameBoard(3);
+        placed.placeTileOnBoard(GameTiles.T_PENTAGON, new Position(2, 2));
+        placed.placeTileOnBoard(T_STAR, new Position(1, 1));
+        placed.placeTileOnBoard(GameTiles.T_SQUARE, new Position(0, 2));
+        placed.placeTileOnBoard(T_CROSS, new Position(1, 0));
+        placed.placeTileOnBoard(GameTiles.T_TRIANGLE, new Position(1, 1));
+        placed.placeTileOnBoard(T_SUN, new Position(0, 0));
+
+        assertEquals(loaded.getZobristKey(), placed.getZobristKey());
+
+        placed.placeTileOnBoard(EMPTY, new Position(0, 0));
+        assertNotEquals(loaded.getZobristKey(), placed.getZobristKey());
+    }
+
+    @Test
+    public void undo_restoresKey_test() {
+        GameBoard board = new GameBoard(6);
+        board.placeTileOnBoard(T_SUN, new Position(0, 0));
+        board.placeTileOnBoard(T_CROSS, new Position(5, 5));
+        long key = board.getZobristKey();
+
+        long first = board.applyMove(0, 0, 3, 3);
+        long second = board.applySwap(3, 3, 5, 5);
+        assertNotEquals(key, board.getZobristKey());
+
+        board.undo(second);
+        board.undo(first);
+        assertEquals(key, board.getZobristKey());
+    }
+
+    @Test
+    public void handKey_ignoresOrder_test() {
+        long key = Zobrist.handKey(List.of(T_SUN, T_SUN, WC_MOVER, T_STAR));
+
+        assertEquals(key, Zobrist.handKey(List.of(T_STAR, T_SUN, WC_MOVER, T_SUN)));
+        assertEquals(key, Zobrist.handKey(List.of(T_STAR, EMPTY, T_SUN, WC_MOVER, T_SUN)));
+        assertNotEquals(key, Zobrist.handKey(List.of(T_SUN, WC_MOVER, T_STAR)));
+        assertNotEquals(key, Zobrist.bagKey(List.of(T_SUN, T_SUN, WC_MOVER, T_STAR)));
+        assertEquals(0, Zobrist.handKey(List.of()));
+    }
+
+    @Test
+    public void positionKey_test() {
+        Player[] players = new Player[]{
+                new Player("P1", true, false, new int[]{1, 2, 3, 4}),
+                new Player("P2", true, false, new int[]{1, 2, 3, 5}),
+                new Player("P3", false, false, new int[]{}),
+                new Player("P4", false, false, new int[]{})
+        };
+        Game game = new Game(new int[6][6], players, new FakeGUI());
+
+        assertEquals(0, game.getPositionKey(false, false, false));
+        assertEquals(Zobrist.sideToMoveKey(0), game.getPositionKey(false, false, true));
+        assertEquals(Zobrist.handKey(players[0].getHand()), game.getPositionKey(true, false, false));
+        assertNotEquals(Zobrist.sideToMoveKey(0), Zobrist.sideToMoveKey(1));
+    }
+
+    @Test
+    public void bagKey_counts_test() {
+        int[] counts = new int[GameTiles.values().length];
+        counts[T_SUN.ordinal()] = 2;
+        counts[WC_MOVER.ordinal()] = 1;
+        counts[T_STAR.ordinal()] = 1;
+
+        //Counts and GameTiles of the same multiset have the same key
+        assertEquals(Zobrist.bagKey(List.of(T_SUN, T_STAR, T_SUN, WC_MOVER)), Zobrist.bagKey(counts));
+        assertEquals(0, Zobrist.bagKey(new int[GameTiles.values().length]));
+        assertNotEquals(Zobrist.drawnTileKey(T_SUN), Zobrist.drawnTileKey(T_STAR));
+    }
+}